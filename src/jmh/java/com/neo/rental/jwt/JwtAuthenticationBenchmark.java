@@ -0,0 +1,104 @@
+package com.neo.rental.jwt;
+
+import com.neo.rental.security.LoginMember;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * [요청당 JWT 인증 비용 비교]
+ * - legacyDoubleParse: 변경 전 - validateToken / getAuthentication 에서 매번 파서를 새로 만들어 두 번 파싱
+ * - singleParse: 재사용 파서로 한 번만 파싱 (캐시 사용 안 함, 처음 보는 토큰의 비용)
+ * - cachedAuthentication: 검증된 토큰 캐시 적중 (같은 토큰의 두 번째 이후 요청)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtAuthenticationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationBenchmark {
+
+    // 동시에 활동 중인 사용자(토큰) 수 - 요청마다 돌아가며 사용
+    @Param({"1000"})
+    public int activeTokens;
+
+    private Key key;
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[64];
+        Arrays.fill(secret, (byte) 7);
+        String encodedSecret = Base64.getEncoder().encodeToString(secret);
+
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(encodedSecret));
+        cachedProvider = new JwtTokenProvider(JwtKeyManager.hmac(encodedSecret), new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000));
+        uncachedProvider = new JwtTokenProvider(JwtKeyManager.hmac(encodedSecret), new VerifiedTokenCache(new SimpleMeterRegistry(), 0));
+
+        tokens = new String[activeTokens];
+        for (int i = 0; i < activeTokens; i++) {
+            LoginMember member = new LoginMember((long) i + 1, "user" + i + "@test.com", "사용자" + i, null);
+            tokens[i] = cachedProvider.generateAccessToken(
+                    new UsernamePasswordAuthenticationToken(member, null, List.of()));
+            cachedProvider.getAuthentication(tokens[i]); // 캐시 채우기
+        }
+    }
+
+    private String nextToken() {
+        String token = tokens[next];
+        next = (next + 1 == tokens.length) ? 0 : next + 1;
+        return token;
+    }
+
+    @Benchmark
+    public Authentication legacyDoubleParse() {
+        String token = nextToken();
+        // validateToken
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        // getAuthentication -> parseClaims
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+
+        String authString = claims.get("auth").toString();
+        Collection<? extends GrantedAuthority> authorities = authString.isEmpty()
+                ? Collections.emptyList()
+                : Arrays.stream(authString.split(",")).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(new User(claims.getSubject(), "", authorities), "", authorities);
+    }
+
+    @Benchmark
+    public Authentication singleParse() {
+        return uncachedProvider.getAuthentication(nextToken());
+    }
+
+    @Benchmark
+    public Authentication cachedAuthentication() {
+        return cachedProvider.getAuthentication(nextToken());
+    }
+}
@@ -0,0 +1,53 @@
+package com.neo.rental.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * [chat_room_member 백필]
+ * 요약 테이블 도입 이전에 만든 채팅방에 참여자 행을 만들고 마지막 메시지를 채웁니다. (이미 있는 행은 건너뜀)
+ * 이전 대화의 읽음 여부는 알 수 없으므로 안 읽은 수는 0 으로 시작
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatRoomMemberBackfill implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int inserted = insertMissing("buyer_id", "seller_id") + insertMissing("seller_id", "buyer_id");
+            if (inserted == 0) return;
+
+            int updated = jdbcTemplate.update(
+                    "UPDATE chat_room_member m " +
+                            "JOIN (SELECT room_id, MAX(message_id) AS last_id FROM chat_message GROUP BY room_id) x " +
+                            "ON x.room_id = m.room_id " +
+                            "JOIN chat_message c ON c.message_id = x.last_id " +
+                            "SET m.last_message_id = c.message_id, m.last_message_preview = LEFT(c.message, 100), " +
+                            "m.last_message_at = c.send_date, m.last_activity_at = GREATEST(m.last_activity_at, c.send_date), " +
+                            "m.last_read_message_id = c.message_id " +
+                            "WHERE m.last_message_id IS NULL");
+            log.info("💬 chat_room_member 백필 완료: {}건 (마지막 메시지 {}건)", inserted, updated);
+        } catch (DataAccessException e) {
+            log.warn("chat_room_member 백필 실패: {}", e.getMessage());
+        }
+    }
+
+    private int insertMissing(String memberColumn, String partnerColumn) {
+        return jdbcTemplate.update(
+                "INSERT IGNORE INTO chat_room_member " +
+                        "(room_id, member_id, partner_id, last_activity_at, last_read_message_id, unread_count) " +
+                        "SELECT r.room_id, r." + memberColumn + ", r." + partnerColumn + ", COALESCE(r.created_at, NOW()), 0, 0 " +
+                        "FROM chat_room r " +
+                        "LEFT JOIN chat_room_member m ON m.room_id = r.room_id AND m.member_id = r." + memberColumn + " " +
+                        "WHERE m.chat_room_member_id IS NULL");
+    }
+}
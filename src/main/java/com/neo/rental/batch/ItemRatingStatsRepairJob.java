@@ -0,0 +1,62 @@
+package com.neo.rental.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * [item_rating_stats 복구 작업]
+ * 리뷰 작성/수정/삭제 시 증분으로 갱신되는 집계를 review_table 기준으로 다시 계산합니다.
+ * - 서버 시작 시 1회 (집계 테이블 도입 전 리뷰 백필 겸용)
+ * - 이후 매일 새벽 (search.rating-stats.repair-cron)
+ * 값이 어긋난 행만 갱신하고, 리뷰가 하나도 없는 상품(삭제된 상품 포함)의 집계 행은 지웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemRatingStatsRepairJob {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairOnStartup() {
+        repair();
+    }
+
+    @Scheduled(cron = "${search.rating-stats.repair-cron:0 0 4 * * *}")
+    public void repair() {
+        try {
+            // 1. 리뷰 기준 재계산 -> 다른 값인 행만 갱신/추가
+            int fixed = jdbcTemplate.update(
+                    "INSERT INTO item_rating_stats " +
+                            "(item_id, rating_sum, review_count, count1, count2, count3, count4, count5) " +
+                            "SELECT * FROM (" +
+                            "  SELECT r.item_id, SUM(r.rating) AS s_sum, COUNT(*) AS s_count, " +
+                            "    SUM(r.rating = 1) AS s1, SUM(r.rating = 2) AS s2, SUM(r.rating = 3) AS s3, " +
+                            "    SUM(r.rating = 4) AS s4, SUM(r.rating = 5) AS s5 " +
+                            "  FROM review_table r GROUP BY r.item_id" +
+                            ") AS agg " +
+                            "ON DUPLICATE KEY UPDATE " +
+                            "rating_sum = agg.s_sum, review_count = agg.s_count, " +
+                            "count1 = agg.s1, count2 = agg.s2, count3 = agg.s3, count4 = agg.s4, count5 = agg.s5");
+
+            // 2. 리뷰가 없는데 남아 있는 집계 행 정리
+            int removed = jdbcTemplate.update(
+                    "DELETE s FROM item_rating_stats s " +
+                            "LEFT JOIN review_table r ON r.item_id = s.item_id " +
+                            "WHERE r.review_id IS NULL");
+
+            // MySQL 은 ON DUPLICATE KEY UPDATE 로 실제 바뀐 행을 2, 그대로인 행을 0 으로 셈
+            if (fixed > 0 || removed > 0) {
+                log.info("⭐ 리뷰 집계 복구: 갱신 {} (affected rows), 정리 {}건", fixed, removed);
+            }
+        } catch (DataAccessException e) {
+            log.warn("리뷰 집계 복구 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.neo.rental.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * [item_table.trade_point 백필 + SPATIAL INDEX 생성]
+ * ddl-auto(update)는 컬럼만 NULL 허용으로 추가해 주므로, 서버 시작 시 아래 작업을 순서대로 보정합니다.
+ * 1. 기존 상품의 위도/경도로 trade_point 채우기
+ * 2. trade_point NOT NULL 로 변경 (MySQL 공간 인덱스는 NOT NULL 컬럼에만 생성 가능)
+ * 3. SPATIAL INDEX 생성
+ * 모든 단계는 이미 적용되어 있으면 건너뛰므로 매 기동마다 실행해도 안전합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemTradePointBackfill implements ApplicationRunner {
+
+    private static final String INDEX_NAME = "idx_item_trade_point";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            // 1. 좌표 백필 (좌표가 없는 상품은 (0, 0) - 검색 쿼리에서 위도/경도 NULL 조건으로 제외됨)
+            int updated = jdbcTemplate.update(
+                    "UPDATE item_table SET trade_point = " +
+                            "ST_SRID(POINT(COALESCE(trade_longitude, 0), COALESCE(trade_latitude, 0)), 4326) " +
+                            "WHERE trade_point IS NULL");
+            if (updated > 0) {
+                log.info("📍 trade_point 백필 완료: {}건", updated);
+            }
+
+            // 2. NOT NULL 변경
+            String nullable = jdbcTemplate.queryForObject(
+                    "SELECT IS_NULLABLE FROM information_schema.COLUMNS " +
+                            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'item_table' AND COLUMN_NAME = 'trade_point'",
+                    String.class);
+            if ("YES".equals(nullable)) {
+                jdbcTemplate.execute("ALTER TABLE item_table MODIFY trade_point POINT NOT NULL SRID 4326");
+            }
+
+            // 3. 공간 인덱스 생성
+            Integer indexCount = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'item_table' AND INDEX_NAME = ?",
+                    Integer.class, INDEX_NAME);
+            if (indexCount == null || indexCount == 0) {
+                jdbcTemplate.execute("CREATE SPATIAL INDEX " + INDEX_NAME + " ON item_table (trade_point)");
+                log.info("📍 SPATIAL INDEX 생성 완료: {}", INDEX_NAME);
+            }
+        } catch (DataAccessException e) {
+            // 인덱스가 없어도 검색 자체는 동작하므로 서버 기동은 막지 않음
+            log.warn("trade_point 백필/인덱스 생성 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.neo.rental.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [반납 기한 초과 감지 - 증분 배치]
+ * 대여중(RENTING)인데 end_date 가 지난 건을 찾아 overdue_at 을 표시하고, 주인/대여자 알림을 outbox 에 쌓습니다.
+ *
+ * - watermark: 지난 실행에서 마지막으로 처리한 (end_date, rental_id). 이번에는 (watermark, 지금] 구간만 읽음
+ * - idx_rental_status_end (status, end_date, rental_id) 범위 조회 -> 비용은 "새로 기한이 지난 건수" 에 비례
+ * - 한 번에 BATCH_SIZE 건씩: 표시(UPDATE ... IN) + 알림(batch INSERT) + watermark 갱신을 한 트랜잭션으로
+ * - watermark 행을 SELECT ... FOR UPDATE 로 잠그므로 여러 서버가 동시에 돌아도 같은 건을 두 번 처리하지 않음
+ * - 늦게 시작된 대여: end_date 가 watermark 보다 앞인데 나중에 RENTING 이 된 건은 구간 조회에 다시 걸리지 않으므로
+ *   대여 시작 커밋 직후(RentalStartedEvent) 그 한 건만 확인해서 같은 방식으로 표시/알림
+ */
+@Slf4j
+@Component
+public class OverdueRentalDetector {
+
+    private static final String JOB_NAME = "rental-overdue";
+    private static final String NOTIFICATION_TYPE = "RENTAL_OVERDUE";
+    private static final int BATCH_SIZE = 500;
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final RowMapper<OverdueRow> OVERDUE_ROW_MAPPER = (rs, rowNum) -> new OverdueRow(
+            rs.getLong("rental_id"),
+            rs.getObject("end_date", LocalDateTime.class),
+            rs.getLong("renter_id"),
+            rs.getObject("owner_id", Long.class),
+            rs.getString("title"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // 커밋 후 이벤트에서 쓰는 새 트랜잭션 (끝난 트랜잭션에 참여하지 않도록)
+    private final TransactionTemplate newTransactionTemplate;
+    private final Counter detectedCounter;
+
+    public OverdueRentalDetector(JdbcTemplate jdbcTemplate,
+                                 NamedParameterJdbcTemplate namedJdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.newTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.detectedCounter = Counter.builder("rental.overdue.detected")
+                .description("반납 기한 초과로 감지된 대여 건수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rental.overdue-check-interval:PT1M}")
+    public void detect() {
+        try {
+            int total = 0;
+            int processed;
+            do {
+                Integer result = transactionTemplate.execute(status -> processChunk());
+                processed = (result != null) ? result : 0;
+                total += processed;
+            } while (processed == BATCH_SIZE);
+
+            if (total > 0) {
+                detectedCounter.increment(total);
+                log.info("⏳ 반납 기한 초과 감지: {}건", total);
+            }
+        } catch (DataAccessException e) {
+            log.warn("반납 기한 초과 감지 실패: {}", e.getMessage());
+        }
+    }
+
+    // 대여 시작 시점에 이미 반납 기한이 지난 건 (watermark 가 지나간 뒤라 구간 조회로는 찾지 못함)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStarted(RentalStartedEvent event) {
+        try {
+            Integer flagged = newTransactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<OverdueRow> rows = jdbcTemplate.query(
+                        "SELECT r.rental_id, r.end_date, r.renter_id, i.member_id AS owner_id, i.title " +
+                                "FROM rental_table r JOIN item_table i ON i.item_id = r.item_id " +
+                                "WHERE r.rental_id = ? AND r.status = 'RENTING' AND r.end_date <= ? " +
+                                "AND r.overdue_at IS NULL FOR UPDATE OF r",
+                        OVERDUE_ROW_MAPPER, event.rentalId(), now);
+                if (!rows.isEmpty()) markOverdue(rows, now);
+                return rows.size();
+            });
+            if (flagged != null && flagged > 0) {
+                detectedCounter.increment(flagged);
+                log.info("⏳ 반납 기한이 지난 뒤 시작된 대여: {}", event.rentalId());
+            }
+        } catch (DataAccessException e) {
+            log.warn("반납 기한 초과 확인 실패 (rentalId: {}): {}", event.rentalId(), e.getMessage());
+        }
+    }
+
+    private int processChunk() {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. watermark 읽기 (행이 없으면 생성) + 잠금
+        jdbcTemplate.update("INSERT IGNORE INTO batch_watermark (job_name, watermark_at, watermark_id) VALUES (?, ?, 0)",
+                JOB_NAME, INITIAL_WATERMARK);
+        Watermark watermark = jdbcTemplate.queryForObject(
+                "SELECT watermark_at, watermark_id FROM batch_watermark WHERE job_name = ? FOR UPDATE",
+                (rs, rowNum) -> new Watermark(rs.getObject("watermark_at", LocalDateTime.class), rs.getLong("watermark_id")),
+                JOB_NAME);
+
+        // 2. (watermark, now] 구간에서 새로 기한이 지난 대여중 건
+        //    행 잠금 + overdue_at IS NULL -> 대여 시작 직후 확인(onStarted)과 같은 건을 두 번 알리지 않음
+        List<OverdueRow> rows = jdbcTemplate.query(
+                "SELECT r.rental_id, r.end_date, r.renter_id, i.member_id AS owner_id, i.title " +
+                        "FROM rental_table r JOIN item_table i ON i.item_id = r.item_id " +
+                        "WHERE r.status = 'RENTING' AND r.end_date <= ? " +
+                        "AND (r.end_date > ? OR (r.end_date = ? AND r.rental_id > ?)) AND r.overdue_at IS NULL " +
+                        "ORDER BY r.end_date, r.rental_id " +
+                        "LIMIT ? FOR UPDATE OF r",
+                OVERDUE_ROW_MAPPER,
+                now, watermark.at(), watermark.at(), watermark.id(), BATCH_SIZE);
+        if (rows.isEmpty()) return 0;
+
+        markOverdue(rows, now);
+
+        // 5. watermark 이동 (이번에 처리한 마지막 건)
+        OverdueRow last = rows.get(rows.size() - 1);
+        jdbcTemplate.update("UPDATE batch_watermark SET watermark_at = ?, watermark_id = ? WHERE job_name = ?",
+                last.endDate(), last.rentalId(), JOB_NAME);
+
+        return rows.size();
+    }
+
+    private void markOverdue(List<OverdueRow> rows, LocalDateTime now) {
+        // 3. 기한 초과 표시 (버전을 함께 올려 엔티티로 수정 중인 트랜잭션과 충돌을 감지하게 함)
+        List<Long> rentalIds = rows.stream().map(OverdueRow::rentalId).toList();
+        namedJdbcTemplate.update(
+                "UPDATE rental_table SET overdue_at = :now, version = version + 1 " +
+                        "WHERE rental_id IN (:ids) AND status = 'RENTING' AND overdue_at IS NULL",
+                new MapSqlParameterSource().addValue("now", now).addValue("ids", rentalIds));
+
+        // 4. 알림 적재 (주인, 대여자 각각) - JDBC batch insert
+        List<Object[]> notifications = new ArrayList<>(rows.size() * 2);
+        for (OverdueRow row : rows) {
+            notifications.add(new Object[]{row.renterId(), NOTIFICATION_TYPE, row.rentalId(),
+                    "[" + row.title() + "] 반납 기한이 지났습니다. 반납을 진행해 주세요.", now});
+            if (row.ownerId() != null) {
+                notifications.add(new Object[]{row.ownerId(), NOTIFICATION_TYPE, row.rentalId(),
+                        "[" + row.title() + "] 대여 물품이 반납 기한을 넘겼습니다.", now});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notification_outbox (member_id, type, rental_id, message, created_at) VALUES (?, ?, ?, ?, ?)",
+                notifications);
+    }
+
+    private record Watermark(LocalDateTime at, long id) {
+    }
+
+    private record OverdueRow(long rentalId, LocalDateTime endDate, long renterId, Long ownerId, String title) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.neo.rental.batch;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 기한 타이머 1건 (DelayQueue 원소) - deadlineMillis 가 지나면 꺼낼 수 있음
+ */
+record PaymentDeadline(Long rentalId, long deadlineMillis) implements Delayed {
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof PaymentDeadline o) return Long.compare(deadlineMillis, o.deadlineMillis);
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
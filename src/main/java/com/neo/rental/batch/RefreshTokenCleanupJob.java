@@ -0,0 +1,33 @@
+package com.neo.rental.batch;
+
+import com.neo.rental.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * [만료된 Refresh Token 정리]
+ * 만료된 토큰은 조회 시에도 거절되지만, 로그아웃하지 않고 떠난 기기의 행이 쌓이지 않도록 주기적으로 삭제
+ * (auth.refresh-token.cleanup-cron, 여러 서버에서 동시에 돌아도 같은 조건의 DELETE 라 문제없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenCleanupJob {
+
+    private final RefreshTokenService refreshTokenService;
+
+    @Scheduled(cron = "${auth.refresh-token.cleanup-cron:0 30 4 * * *}")
+    public void cleanup() {
+        try {
+            int removed = refreshTokenService.deleteExpired();
+            if (removed > 0) {
+                log.info("🔑 만료된 Refresh Token 정리: {}건", removed);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Refresh Token 정리 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.neo.rental.batch;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 대기(APPROVED) 대여 건의 승인 시각 - 결제 기한 타이머 복원용
+ */
+public record RentalApprovalRow(Long rentalId, LocalDateTime approvedAt) {
+}
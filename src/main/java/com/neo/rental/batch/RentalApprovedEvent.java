@@ -0,0 +1,9 @@
+package com.neo.rental.batch;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대여 신청이 승인(APPROVED, 결제 대기)되었음을 알리는 이벤트 - 커밋 후 결제 기한 타이머 등록용
+ */
+public record RentalApprovedEvent(Long rentalId, LocalDateTime approvedAt) {
+}
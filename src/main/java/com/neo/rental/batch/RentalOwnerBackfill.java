@@ -0,0 +1,36 @@
+package com.neo.rental.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * [rental_table.owner_id 백필]
+ * owner_id 컬럼 추가 이전에 생성된 대여 건에 상품 주인 ID 를 채웁니다. (이미 채워진 행은 건너뜀)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RentalOwnerBackfill implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int updated = jdbcTemplate.update(
+                    "UPDATE rental_table r JOIN item_table i ON i.item_id = r.item_id " +
+                            "SET r.owner_id = i.member_id " +
+                            "WHERE r.owner_id IS NULL");
+            if (updated > 0) {
+                log.info("📦 rental_table.owner_id 백필 완료: {}건", updated);
+            }
+        } catch (DataAccessException e) {
+            log.warn("rental_table.owner_id 백필 실패: {}", e.getMessage());
+        }
+    }
+}
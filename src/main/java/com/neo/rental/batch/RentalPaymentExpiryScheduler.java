@@ -0,0 +1,192 @@
+package com.neo.rental.batch;
+
+import com.neo.rental.constant.RentalStatus;
+import com.neo.rental.entity.ItemEntity;
+import com.neo.rental.repository.ItemRepository;
+import com.neo.rental.repository.RentalRepository;
+import com.neo.rental.search.ItemChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [결제 기한 만료 스케줄러]
+ * 승인(APPROVED) 후 rental.payment-window 안에 결제하지 않은 대여 건을 자동 취소하고 상품을 풀어줍니다.
+ *
+ * - 타이머: 승인 건마다 DelayQueue 에 기한을 등록, 전용 스레드가 기한이 된 것만 꺼냄 (주기적인 전체 스캔 없음)
+ * - 복원: 서버 시작 시 APPROVED 건을 한 번 읽어서 타이머 재등록
+ * - 일괄 처리: 동시에 만료된 건을 최대 BATCH_SIZE 개씩 모아 UPDATE ... WHERE id IN (...) 한 번으로 취소
+ * - 다른 서버에서 승인된 건: 최근 승인 구간만 인덱스로 읽어 보충 (rental.payment-sync-interval)
+ * - 메트릭: rental.expiry.pending (대기 중 타이머 수), rental.expiry.lag (기한 대비 실제 처리 지연), rental.expiry.canceled
+ */
+@Slf4j
+@Component
+public class RentalPaymentExpiryScheduler {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String EXPIRED_REASON = "결제 기한 만료로 자동 취소되었습니다.";
+
+    private final RentalRepository rentalRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration paymentWindow;
+
+    private final DelayQueue<PaymentDeadline> queue = new DelayQueue<>();
+    private final Map<Long, PaymentDeadline> pending = new ConcurrentHashMap<>(); // 같은 건 중복 등록 방지
+
+    private final Timer lagTimer;
+    private final Counter canceledCounter;
+
+    private volatile Thread worker;
+    private volatile LocalDateTime lastSyncedAt;
+
+    public RentalPaymentExpiryScheduler(RentalRepository rentalRepository,
+                                        ItemRepository itemRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        ApplicationEventPublisher eventPublisher,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${rental.payment-window:PT24H}") Duration paymentWindow) {
+        this.rentalRepository = rentalRepository;
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.paymentWindow = paymentWindow;
+
+        Gauge.builder("rental.expiry.pending", pending, Map::size)
+                .description("결제 기한 타이머 대기 건수")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("rental.expiry.lag")
+                .description("결제 기한 대비 실제 취소 처리 지연")
+                .register(meterRegistry);
+        this.canceledCounter = Counter.builder("rental.expiry.canceled")
+                .description("결제 기한 만료로 취소된 대여 건수")
+                .register(meterRegistry);
+    }
+
+    // [1. 시작 시 복원] 결제 대기 중인 승인 건을 전부 타이머로 등록 후 처리 스레드 시작
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastSyncedAt = LocalDateTime.now();
+        List<RentalApprovalRow> approvals = rentalRepository.findAllApprovals();
+        approvals.forEach(this::schedule);
+        log.info("⏰ 결제 기한 타이머 복원: {}건", approvals.size());
+
+        worker = new Thread(this::runLoop, "rental-payment-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        if (current != null) current.interrupt();
+    }
+
+    // [2. 승인 시 등록] 승인 트랜잭션이 커밋된 뒤에만 등록
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApproved(RentalApprovedEvent event) {
+        schedule(new RentalApprovalRow(event.rentalId(), event.approvedAt()));
+    }
+
+    // [3. 보충] 다른 서버에서 승인된 건 - 마지막 보충 이후 승인된 구간만 인덱스 범위 조회
+    @Scheduled(fixedDelayString = "${rental.payment-sync-interval:PT5M}",
+            initialDelayString = "${rental.payment-sync-interval:PT5M}")
+    public void syncFromOtherServers() {
+        if (lastSyncedAt == null) return;
+        // 커밋 지연을 고려해 구간을 약간 겹쳐서 읽음 (중복 등록은 pending 에서 걸러짐)
+        LocalDateTime from = lastSyncedAt.minusMinutes(1);
+        LocalDateTime to = LocalDateTime.now();
+        rentalRepository.findApprovalsBetween(from, to).forEach(this::schedule);
+        lastSyncedAt = to;
+    }
+
+    private void schedule(RentalApprovalRow row) {
+        if (row.approvedAt() == null) return;
+        long deadline = row.approvedAt().plus(paymentWindow)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        PaymentDeadline timer = new PaymentDeadline(row.rentalId(), deadline);
+        if (pending.putIfAbsent(row.rentalId(), timer) == null) {
+            queue.put(timer);
+        }
+    }
+
+    private void runLoop() {
+        List<PaymentDeadline> batch = new ArrayList<>(BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // 가장 이른 기한까지 대기 -> 그 시점에 함께 만료된 건을 모아서 한 번에 처리
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                expire(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // DB 장애 등: 잠시 뒤 다시 시도하도록 타이머를 되돌려 놓음
+                log.warn("결제 기한 만료 처리 실패 ({}건), 재시도 예정: {}", batch.size(), e.getMessage());
+                retryLater(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void expire(List<PaymentDeadline> batch) {
+        long now = System.currentTimeMillis();
+        List<Long> rentalIds = new ArrayList<>(batch.size());
+        for (PaymentDeadline timer : batch) {
+            rentalIds.add(timer.rentalId());
+            lagTimer.record(Math.max(0, now - timer.deadlineMillis()), TimeUnit.MILLISECONDS);
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(paymentWindow);
+
+        Integer canceled = transactionTemplate.execute(status -> {
+            List<Long> itemIds = rentalRepository.findExpiredItemIds(rentalIds, cutoff);
+            if (itemIds.isEmpty()) return 0; // 모두 기한 안에 결제/취소됨
+
+            int count = rentalRepository.expireApprovals(rentalIds, cutoff, EXPIRED_REASON);
+            if (itemRepository.releaseIfIdle(itemIds, RentalStatus.OCCUPYING) > 0) {
+                // 상태가 바뀐 상품은 검색 인덱스/상세 캐시에 반영 (커밋 후)
+                for (ItemEntity item : itemRepository.findAllById(itemIds)) {
+                    eventPublisher.publishEvent(ItemChangedEvent.statusChanged(item));
+                }
+            }
+            return count;
+        });
+
+        batch.forEach(timer -> pending.remove(timer.rentalId(), timer));
+        if (canceled != null && canceled > 0) {
+            canceledCounter.increment(canceled);
+            log.info("⏰ 결제 기한 만료 자동 취소: {}건", canceled);
+        }
+    }
+
+    private void retryLater(List<PaymentDeadline> batch) {
+        long retryAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        for (PaymentDeadline timer : batch) {
+            PaymentDeadline retry = new PaymentDeadline(timer.rentalId(), retryAt);
+            if (pending.replace(timer.rentalId(), timer, retry)) queue.put(retry);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.neo.rental.batch;
+
+/**
+ * 대여가 시작(RENTING)되었음을 알리는 이벤트 - 커밋 후 이미 반납 기한이 지난 건인지 확인용
+ */
+public record RentalStartedEvent(Long rentalId) {
+}
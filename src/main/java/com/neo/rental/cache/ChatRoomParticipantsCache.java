@@ -0,0 +1,48 @@
+package com.neo.rental.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neo.rental.chat.ChatRoomParticipants;
+import com.neo.rental.repository.ChatRoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * [채팅방 참여자 캐시 - read-through]
+ * 메시지마다 채팅방/회원을 조회하지 않도록 방별 참여자 ID 와 이름을 보관합니다.
+ *
+ * - 참여자는 방 생성 후 바뀌지 않음, 이름은 TTL(chat.participants-cache.ttl) 안에서 이전 값이 보일 수 있음
+ * - 메트릭: cache.gets{cache=chatRoomParticipants, result=hit|miss} 등
+ */
+@Component
+public class ChatRoomParticipantsCache {
+
+    private static final String CACHE_NAME = "chatRoomParticipants";
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final Cache<Long, ChatRoomParticipants> cache;
+
+    public ChatRoomParticipantsCache(ChatRoomRepository chatRoomRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${chat.participants-cache.max-size:10000}") long maxSize,
+                                     @Value("${chat.participants-cache.ttl:PT10M}") Duration ttl) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // 없는 방이면 EntityNotFoundException (캐시하지 않음)
+    public ChatRoomParticipants get(Long roomId) {
+        return cache.get(roomId, id -> chatRoomRepository.findParticipants(id)
+                .orElseThrow(() -> new EntityNotFoundException("존재하지 않는 채팅방입니다.")));
+    }
+}
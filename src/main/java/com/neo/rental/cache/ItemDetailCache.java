@@ -0,0 +1,87 @@
+package com.neo.rental.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neo.rental.dto.ItemResponseDto;
+import com.neo.rental.dto.ReviewResponseDto;
+import com.neo.rental.search.ItemChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * [상품 상세 캐시 - read-through]
+ * 사용자와 무관한 상세 정보(상품, 판매자, 리뷰 첫 페이지, 평점)만 캐시하고,
+ * 사용자별 값(isRequested, isReviewed)은 ItemService 에서 조회 후 복사본에 덧씌웁니다.
+ *
+ * - 크기 제한: 항목 수가 아니라 대략적인 바이트 크기(weigher) 합으로 제한
+ * - 만료: TTL (판매자 정보 변경 등 이벤트가 없는 변경의 안전장치)
+ * - 무효화: 상품/대여(ItemChangedEvent), 리뷰(ReviewChangedEvent) 변경이 커밋된 뒤
+ * - 메트릭: cache.gets{cache=itemDetail, result=hit|miss}, cache.evictions, cache.size 등
+ */
+@Component
+public class ItemDetailCache {
+
+    private static final String CACHE_NAME = "itemDetail";
+
+    private final Cache<Long, ItemResponseDto> cache;
+
+    public ItemDetailCache(MeterRegistry meterRegistry,
+                           @Value("${cache.item-detail.max-bytes:67108864}") long maxBytes,
+                           @Value("${cache.item-detail.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long itemId, ItemResponseDto dto) -> estimateBytes(dto))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 캐시에 없으면 loader 로 읽어서 저장 (같은 상품을 동시에 요청해도 DB 조회는 한 번)
+     * loader 가 예외를 던지면(없는 상품 등) 캐시하지 않고 그대로 전파
+     * 반환값은 공유 객체이므로 수정하지 말고 복사해서 사용
+     */
+    public ItemResponseDto get(Long itemId, Function<Long, ItemResponseDto> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public void invalidate(Long itemId) {
+        cache.invalidate(itemId);
+    }
+
+    // 상품 수정/삭제, 대여 승인/반납/취소에 따른 상태 변경
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        invalidate(event.itemId());
+    }
+
+    // 리뷰 작성/수정/삭제
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        invalidate(event.itemId());
+    }
+
+    // 문자열은 UTF-16 기준 글자당 2바이트 + 객체 헤더 등 고정 비용으로 대략 계산
+    private static int estimateBytes(ItemResponseDto dto) {
+        long bytes = 512;
+        bytes += 2L * (length(dto.getTitle()) + length(dto.getContent()) + length(dto.getLocation())
+                + length(dto.getItemImageUrl()) + length(dto.getTradeAddress()));
+        if (dto.getReviews() != null) {
+            for (ReviewResponseDto review : dto.getReviews()) {
+                bytes += 128 + 2L * (length(review.getContent()) + length(review.getReviewerName()));
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
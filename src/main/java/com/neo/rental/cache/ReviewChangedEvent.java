@@ -0,0 +1,7 @@
+package com.neo.rental.cache;
+
+/**
+ * 상품의 리뷰(목록/평점)가 바뀌었음을 알리는 이벤트 - 커밋 후 상품 상세 캐시 무효화용
+ */
+public record ReviewChangedEvent(Long itemId) {
+}
@@ -0,0 +1,136 @@
+package com.neo.rental.chat;
+
+import com.neo.rental.util.TimeOrderedIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * [채팅 메시지 ID 발급]
+ * 메시지를 DB 에 넣기 전에(브로드캐스트 시점에) ID 가 필요하므로 IDENTITY 대신 메모리에서 시간 순서 ID 를 만듭니다.
+ *
+ * - 서버 번호: id_worker_lease 에서 만료된(또는 새) 번호를 SELECT ... FOR UPDATE 로 잡아서 사용
+ * - 임대 연장: chat.message-id.lease-renew-interval 마다 lease_until 갱신
+ *   (연장에 실패하면 다른 서버가 가져간 것이므로 새 번호를 다시 잡음)
+ * - 임대 만료: DB 오류 등으로 연장하지 못한 채 lease_until 이 지나면 그 번호로는 ID 를 만들지 않음
+ *   (다른 서버가 같은 번호를 잡아 ID 가 겹칠 수 있음) -> 다음 요청에서 번호를 다시 잡고, 못 잡으면 전송 거절
+ * - 번호는 처음 ID 가 필요할 때 잡음 (채팅을 쓰지 않는 서버는 번호를 차지하지 않음)
+ */
+@Slf4j
+@Component
+public class ChatMessageIdGenerator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseDuration;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile TimeOrderedIdGenerator generator;
+    private volatile int workerId = -1;
+    // 이 시각(epoch ms)까지 연장에 성공하지 못하면 번호를 쓰지 않음 (DB 에 기록한 lease_until 과 같은 값)
+    private volatile long leaseExpiresAtMillis;
+
+    public ChatMessageIdGenerator(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${chat.message-id.lease-duration:PT1M}") Duration leaseDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseDuration = leaseDuration;
+    }
+
+    public long next() {
+        TimeOrderedIdGenerator current = generator;
+        if (current == null || System.currentTimeMillis() >= leaseExpiresAtMillis) current = acquire();
+        return current.next();
+    }
+
+    // [1. 번호 임대] DB 오류면 DataAccessException 그대로 (전송 거절)
+    private synchronized TimeOrderedIdGenerator acquire() {
+        TimeOrderedIdGenerator previous = generator;
+        if (previous != null && System.currentTimeMillis() < leaseExpiresAtMillis) return previous;
+        if (previous != null) {
+            log.warn("💬 채팅 메시지 ID 서버 번호 {} 임대가 만료되었습니다. 새 번호를 받습니다.", workerId);
+            generator = null;
+        }
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                Instant leaseUntil = Instant.now().plus(leaseDuration);
+                Integer claimed = transactionTemplate.execute(status -> claimWorkerId(leaseUntil));
+                if (claimed != null) {
+                    // 같은 번호를 다시 잡았으면 기존 생성기를 이어서 사용 (같은 ms 안의 순번이 겹치지 않게)
+                    TimeOrderedIdGenerator next = (previous != null && claimed == workerId)
+                            ? previous : new TimeOrderedIdGenerator(claimed);
+                    workerId = claimed;
+                    leaseExpiresAtMillis = leaseUntil.toEpochMilli();
+                    generator = next;
+                    log.info("💬 채팅 메시지 ID 서버 번호 임대: {}", claimed);
+                    return next;
+                }
+            } catch (DuplicateKeyException e) {
+                // 다른 서버가 같은 새 번호를 동시에 만듦 -> 다시 시도
+            }
+        }
+        throw new IllegalStateException("사용 가능한 채팅 메시지 ID 서버 번호가 없습니다. (최대 "
+                + (TimeOrderedIdGenerator.MAX_WORKER_ID + 1) + "대)");
+    }
+
+    private Integer claimWorkerId(Instant leaseUntilInstant) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = LocalDateTime.ofInstant(leaseUntilInstant, ZoneId.systemDefault());
+
+        List<Integer> expired = jdbcTemplate.queryForList(
+                "SELECT worker_id FROM id_worker_lease WHERE lease_until < ? ORDER BY worker_id LIMIT 1 FOR UPDATE",
+                Integer.class, now);
+        if (!expired.isEmpty()) {
+            jdbcTemplate.update("UPDATE id_worker_lease SET owner = ?, lease_until = ? WHERE worker_id = ?",
+                    owner, leaseUntil, expired.get(0));
+            return expired.get(0);
+        }
+
+        Integer max = jdbcTemplate.queryForObject("SELECT MAX(worker_id) FROM id_worker_lease", Integer.class);
+        int candidate = (max == null) ? 0 : max + 1;
+        if (candidate > TimeOrderedIdGenerator.MAX_WORKER_ID) return null;
+        jdbcTemplate.update("INSERT INTO id_worker_lease (worker_id, owner, lease_until) VALUES (?, ?, ?)",
+                candidate, owner, leaseUntil);
+        return candidate;
+    }
+
+    // [2. 임대 연장]
+    @Scheduled(fixedDelayString = "${chat.message-id.lease-renew-interval:PT15S}")
+    public void renewLease() {
+        if (generator == null) return;
+        try {
+            Instant leaseUntil = Instant.now().plus(leaseDuration);
+            int updated = jdbcTemplate.update(
+                    "UPDATE id_worker_lease SET lease_until = ? WHERE worker_id = ? AND owner = ?",
+                    LocalDateTime.ofInstant(leaseUntil, ZoneId.systemDefault()), workerId, owner);
+            if (updated == 0) {
+                log.warn("💬 채팅 메시지 ID 서버 번호 {} 임대를 잃었습니다. 새 번호를 받습니다.", workerId);
+                synchronized (this) {
+                    generator = null;
+                    leaseExpiresAtMillis = 0;
+                }
+                acquire();
+            } else {
+                leaseExpiresAtMillis = leaseUntil.toEpochMilli();
+            }
+        } catch (DataAccessException e) {
+            // 만료 시각까지는 기존 번호를 계속 사용, 그 뒤로는 next() 가 번호를 다시 잡음
+            log.warn("채팅 메시지 ID 서버 번호 임대 연장 실패 (만료까지 {}ms): {}",
+                    Math.max(0, leaseExpiresAtMillis - System.currentTimeMillis()), e.getMessage());
+        }
+    }
+}
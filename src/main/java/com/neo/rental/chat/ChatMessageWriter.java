@@ -0,0 +1,289 @@
+package com.neo.rental.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [채팅 메시지 write-behind 저장]
+ * 메시지는 먼저 브로드캐스트하고, 저장은 고정 크기 대기열에 넣어 전용 스레드가 모아서 씁니다.
+ * (STOMP 수신 스레드는 DB 를 기다리지 않음)
+ *
+ * - 일괄 저장: 대기열에 쌓인 만큼(최대 MAX_BATCH 건) 꺼내서 여러 행 INSERT 한 문장으로 저장
+ *   + 같은 트랜잭션에서 채팅방 요약(마지막 메시지, 안 읽은 수) 갱신 (ChatRoomSummaryStore)
+ * - 재시도: DB 오류 시 대기열을 비우지 않고 같은 묶음을 간격을 늘려 가며 다시 씀
+ * - 무결성 오류(INSERT IGNORE 를 쓰지 않음 -> 조용히 유실되는 행이 없음): 이미 있는 ID 를 확인해서
+ *   내용이 같으면 커밋이 끝났던 재시도이므로 건너뛰고, 다르면 ID 충돌로 chat.write-behind.collided 에 남기고 제외,
+ *   그 사이 삭제된 방의 메시지도 제외한 뒤 나머지를 다시 씀
+ * - 역압(backpressure): 대기열이 가득 차면 chat.write-behind.enqueue-timeout 만큼 기다린 뒤 거절
+ *   -> 호출 측은 브로드캐스트하지 않음 (저장되지 않을 메시지를 보내지 않음)
+ * - 종료: 새 메시지를 받지 않고 남은 대기열을 모두 쓴 뒤 종료 (chat.write-behind.shutdown-timeout 까지)
+ *   정상 종료가 아닌 프로세스 강제 종료 시에는 대기열에 있던 메시지(보통 수 ms 분량)가 유실될 수 있음
+ * - 메트릭: chat.write-behind.queue-depth, chat.write-behind.batch-size, chat.write-behind.rejected, chat.write-behind.dropped,
+ *   chat.write-behind.collided
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter {
+
+    private static final int MAX_BATCH = 500;
+    private static final int FAILED_ATTEMPTS_ON_SHUTDOWN = 3;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+    private static final String INSERT_PREFIX =
+            "INSERT INTO chat_message (message_id, room_id, sender_id, sender_name, message, send_date) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChatRoomSummaryStore chatRoomSummaryStore;
+    private final BlockingQueue<QueuedChatMessage> queue;
+    private final Duration enqueueTimeout;
+    private final Duration shutdownTimeout;
+
+    private final DistributionSummary batchSize;
+    private final Counter rejected;
+    private final Counter dropped;
+    private final Counter collided;
+
+    private volatile boolean stopping = false;
+    private Thread worker;
+
+    public ChatMessageWriter(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ChatRoomSummaryStore chatRoomSummaryStore,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${chat.write-behind.enqueue-timeout:PT1S}") Duration enqueueTimeout,
+                             @Value("${chat.write-behind.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chatRoomSummaryStore = chatRoomSummaryStore;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.enqueueTimeout = enqueueTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("chat.write-behind.queue-depth", queue, BlockingQueue::size)
+                .description("DB 저장을 기다리는 채팅 메시지 수")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("chat.write-behind.batch-size")
+                .description("한 번의 INSERT 로 저장한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("chat.write-behind.rejected")
+                .description("대기열이 가득 차서 거절된 채팅 메시지 수")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("chat.write-behind.dropped")
+                .description("종료 시 DB 오류로 저장하지 못한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.collided = Counter.builder("chat.write-behind.collided")
+                .description("다른 메시지와 ID 가 겹쳐 저장하지 못한 채팅 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::runLoop, "chat-message-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // [1. 종료] 남은 메시지를 모두 쓸 때까지 대기
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        try {
+            worker.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive() || !queue.isEmpty()) {
+            log.error("💬 종료 전에 저장하지 못한 채팅 메시지: {}건", queue.size());
+        }
+    }
+
+    // [2. 저장 요청] 대기열이 가득 차 있으면 잠시 기다린 뒤 거절
+    public void enqueue(QueuedChatMessage message) {
+        if (stopping) throw new IllegalStateException("서버 종료 중이라 메시지를 저장할 수 없습니다.");
+        try {
+            if (!queue.offer(message, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new IllegalStateException("메시지 저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메시지 저장 요청이 중단되었습니다.");
+        }
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    // [3. 저장 스레드] 하나 올 때까지 기다렸다가, 그 사이 쌓인 것까지 한 번에 꺼내서 저장
+    private void runLoop() {
+        List<QueuedChatMessage> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            QueuedChatMessage first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            if (first == null) {
+                if (stopping) return;
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH - 1);
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeWithRetry(List<QueuedChatMessage> messages) {
+        List<QueuedChatMessage> batch = messages;
+        long backoff = 100;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<QueuedChatMessage> toWrite = batch;
+                transactionTemplate.executeWithoutResult(status -> {
+                    insert(toWrite);
+                    chatRoomSummaryStore.applyMessages(toWrite);
+                });
+                batchSize.record(batch.size());
+                return;
+            } catch (DataAccessException e) {
+                if (e instanceof DataIntegrityViolationException) {
+                    List<QueuedChatMessage> remaining = withoutConflictsOrSame(batch);
+                    if (remaining.isEmpty()) return;
+                    if (remaining.size() < batch.size()) {
+                        batch = remaining;
+                        continue; // 원인이 된 메시지를 뺐으므로 바로 다시 씀
+                    }
+                }
+                if (stopping && attempt >= FAILED_ATTEMPTS_ON_SHUTDOWN) {
+                    dropped.increment(batch.size());
+                    log.error("💬 채팅 메시지 {}건 저장 실패 (ID {} ~ {}): {}", batch.size(),
+                            batch.get(0).messageId(), batch.get(batch.size() - 1).messageId(), e.getMessage());
+                    return;
+                }
+                log.warn("💬 채팅 메시지 저장 실패, {}ms 후 재시도 ({}회): {}", backoff, attempt, e.getMessage());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * [4. 무결성 오류 정리] 다시 써도 실패할 메시지를 묶음에서 제외
+     * - 같은 ID 의 행이 같은 내용으로 이미 있음: 커밋은 됐는데 응답을 못 받은 재시도 -> 조용히 제외
+     * - 같은 ID 의 행이 다른 내용으로 있음: ID 충돌 (서버 번호 중복 등) -> 에러 로그 + collided 메트릭
+     * - 그 사이 삭제된 방의 메시지 -> 제외
+     */
+    private List<QueuedChatMessage> withoutConflicts(List<QueuedChatMessage> batch) {
+        String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+        Map<Long, QueuedChatMessage> stored = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT message_id, room_id, sender_id, send_date FROM chat_message WHERE message_id IN (" + placeholders + ")",
+                rs -> {
+                    stored.put(rs.getLong(1), new QueuedChatMessage(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                            null, null, rs.getTimestamp(4).toLocalDateTime()));
+                },
+                batch.stream().map(QueuedChatMessage::messageId).toArray());
+
+        List<Long> roomIds = batch.stream().map(QueuedChatMessage::roomId).distinct().toList();
+        Set<Long> existingRooms = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT room_id FROM chat_room WHERE room_id IN ("
+                        + String.join(", ", Collections.nCopies(roomIds.size(), "?")) + ")",
+                Long.class, roomIds.toArray()));
+
+        List<QueuedChatMessage> remaining = new ArrayList<>(batch.size());
+        for (QueuedChatMessage message : batch) {
+            QueuedChatMessage existing = stored.get(message.messageId());
+            if (existing != null) {
+                if (!isSameMessage(existing, message)) {
+                    collided.increment();
+                    log.error("💬 채팅 메시지 ID 충돌로 저장하지 못함 (ID {}, 방 {}, 보낸 사람 {})",
+                            message.messageId(), message.roomId(), message.senderId());
+                }
+                continue;
+            }
+            if (!existingRooms.contains(message.roomId())) {
+                log.warn("💬 삭제된 채팅방의 메시지는 저장하지 않음 (ID {}, 방 {})", message.messageId(), message.roomId());
+                continue;
+            }
+            remaining.add(message);
+        }
+        return remaining;
+    }
+
+    // 정리 조회도 실패하면 묶음 그대로 두고 일반 재시도
+    private List<QueuedChatMessage> withoutConflictsOrSame(List<QueuedChatMessage> batch) {
+        try {
+            return withoutConflicts(batch);
+        } catch (DataAccessException e) {
+            return batch;
+        }
+    }
+
+    private static boolean isSameMessage(QueuedChatMessage stored, QueuedChatMessage message) {
+        return stored.roomId().equals(message.roomId())
+                && stored.senderId().equals(message.senderId())
+                && stored.sendDate().equals(message.sendDate());
+    }
+
+    private void insert(List<QueuedChatMessage> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(ROW_PLACEHOLDER);
+        }
+        jdbcTemplate.update(sql.toString(), ps -> bind(ps, batch));
+    }
+
+    private static void bind(PreparedStatement ps, List<QueuedChatMessage> batch) throws SQLException {
+        int index = 1;
+        for (QueuedChatMessage message : batch) {
+            ps.setLong(index++, message.messageId());
+            ps.setLong(index++, message.roomId());
+            ps.setLong(index++, message.senderId());
+            ps.setString(index++, message.senderName());
+            ps.setString(index++, message.message());
+            ps.setTimestamp(index++, Timestamp.valueOf(message.sendDate()));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
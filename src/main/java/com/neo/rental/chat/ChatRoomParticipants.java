@@ -0,0 +1,24 @@
+package com.neo.rental.chat;
+
+/**
+ * 채팅방 참여자 (구매자 + 판매자) - 메시지 발신자 확인과 이름 표시에 사용
+ */
+public record ChatRoomParticipants(
+        Long roomId,
+        Long buyerId,
+        String buyerName,
+        Long sellerId,
+        String sellerName
+) {
+
+    public boolean isParticipant(Long memberId) {
+        return buyerId.equals(memberId) || sellerId.equals(memberId);
+    }
+
+    // 참여자가 아니면 null
+    public String nameOf(Long memberId) {
+        if (buyerId.equals(memberId)) return buyerName;
+        if (sellerId.equals(memberId)) return sellerName;
+        return null;
+    }
+}
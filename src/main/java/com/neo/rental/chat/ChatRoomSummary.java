@@ -0,0 +1,18 @@
+package com.neo.rental.chat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내 채팅방 목록 한 줄 (chat_room_member + 방/상품/상대방 PK 조인)
+ */
+public record ChatRoomSummary(
+        Long roomId,
+        Long itemId,
+        String itemTitle,
+        String itemImageUrl,
+        String partnerName,
+        String lastMessage,
+        LocalDateTime lastMessageAt,
+        int unreadCount
+) {
+}
@@ -0,0 +1,86 @@
+package com.neo.rental.chat;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [채팅방 요약(chat_room_member) 증분 갱신]
+ * ChatMessageWriter 가 메시지를 INSERT 한 같은 트랜잭션 안에서 호출합니다.
+ *
+ * - 마지막 메시지: 방마다 이번 묶음의 가장 최신 메시지로, 더 최신 값이 이미 있으면 덮어쓰지 않음
+ *   (여러 서버의 묶음이 순서와 다르게 커밋돼도 뒤로 가지 않음)
+ * - 안 읽은 수: 이번 묶음에 메시지가 있는 방의 참여자 행마다 읽은 위치 뒤의 상대방 메시지 수로 다시 계산
+ *   (+1 증가가 아니므로 같은 묶음을 다시 써도, ID 가 더 작은 메시지가 나중에 커밋돼도 정확함)
+ *   (브로드캐스트로 먼저 보고 읽음 처리한 메시지는 읽은 위치 앞이므로 세지 않음)
+ * - 읽음 처리: 읽은 위치를 앞으로만 옮기고, 그 뒤의 상대방 메시지 수로 안 읽은 수를 다시 계산
+ *   읽은 위치는 아직 저장 대기 중인 메시지 ID 일 수 있으므로 마지막 메시지 ID 로 자르지 않음
+ *   (브로드캐스트로 받아 읽은 메시지가 나중에 INSERT 돼도 안 읽은 수에 들어가지 않음,
+ *    만들어질 수 없는 ID 는 ChatService.markAsRead 에서 먼저 거절)
+ *   (chat_message 의 (room_id, message_id) 인덱스 범위 조회 -> 비용은 안 읽은 메시지 수에 비례)
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatRoomSummaryStore {
+
+    public static final int PREVIEW_LENGTH = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void applyMessages(List<QueuedChatMessage> messages) {
+        Map<Long, QueuedChatMessage> latestByRoom = new LinkedHashMap<>();
+        for (QueuedChatMessage message : messages) {
+            latestByRoom.merge(message.roomId(), message,
+                    (current, candidate) -> candidate.messageId() > current.messageId() ? candidate : current);
+        }
+
+        List<Object[]> lastMessageArgs = new ArrayList<>(latestByRoom.size());
+        List<Object[]> unreadArgs = new ArrayList<>(latestByRoom.size());
+        for (QueuedChatMessage latest : latestByRoom.values()) {
+            Timestamp sentAt = Timestamp.valueOf(latest.sendDate());
+            lastMessageArgs.add(new Object[]{latest.messageId(), preview(latest.message()), sentAt, sentAt,
+                    latest.roomId(), latest.messageId()});
+            unreadArgs.add(new Object[]{latest.roomId()});
+        }
+
+        // 같은 트랜잭션에서 INSERT 한 메시지까지 포함해서 셈
+        jdbcTemplate.batchUpdate(
+                "UPDATE chat_room_member m SET m.unread_count = (SELECT COUNT(*) FROM chat_message c " +
+                        "WHERE c.room_id = m.room_id AND c.message_id > m.last_read_message_id " +
+                        "AND c.sender_id <> m.member_id) " +
+                        "WHERE m.room_id = ?",
+                unreadArgs);
+        jdbcTemplate.batchUpdate(
+                "UPDATE chat_room_member SET last_message_id = ?, last_message_preview = ?, last_message_at = ?, " +
+                        "last_activity_at = ? " +
+                        "WHERE room_id = ? AND (last_message_id IS NULL OR last_message_id < ?)",
+                lastMessageArgs);
+    }
+
+    // ReadCursorBuffer 가 모아 둔 읽음 위치를 한 번에 반영
+    public void markRead(List<ReadCursor> cursors) {
+        List<Object[]> args = new ArrayList<>(cursors.size());
+        for (ReadCursor cursor : cursors) {
+            args.add(new Object[]{cursor.roomId(), cursor.messageId(), cursor.memberId(), cursor.messageId(),
+                    cursor.roomId(), cursor.memberId(), cursor.messageId()});
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE chat_room_member SET " +
+                        "unread_count = (SELECT COUNT(*) FROM chat_message c " +
+                        "WHERE c.room_id = ? AND c.message_id > ? AND c.sender_id <> ?), " +
+                        "last_read_message_id = ? " +
+                        "WHERE room_id = ? AND member_id = ? AND last_read_message_id < ?",
+                args);
+    }
+
+    public static String preview(String message) {
+        if (message == null) return null;
+        return (message.length() <= PREVIEW_LENGTH) ? message : message.substring(0, PREVIEW_LENGTH);
+    }
+}
@@ -0,0 +1,16 @@
+package com.neo.rental.chat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 브로드캐스트는 끝났고 DB 저장을 기다리는 메시지 (chat_message 한 행)
+ */
+public record QueuedChatMessage(
+        long messageId,
+        Long roomId,
+        Long senderId,
+        String senderName,
+        String message,
+        LocalDateTime sendDate
+) {
+}
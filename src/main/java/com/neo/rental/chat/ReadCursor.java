@@ -0,0 +1,7 @@
+package com.neo.rental.chat;
+
+/**
+ * 채팅방 읽음 위치 - memberId 가 roomId 방에서 messageId 까지 읽음
+ */
+public record ReadCursor(Long roomId, Long memberId, long messageId) {
+}
@@ -0,0 +1,112 @@
+package com.neo.rental.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import com.neo.rental.security.LoginMember;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * [읽음 위치 메모리 버퍼]
+ * 읽음 이벤트마다 DB 를 쓰지 않고 (방, 회원)별 최신 읽음 위치만 메모리에 모아 두었다가 한 번에 반영합니다.
+ *
+ * - 병합: 같은 (방, 회원)의 읽음 이벤트는 가장 큰 messageId 하나로 합쳐짐 (뒤로 가지 않음)
+ * - 반영: chat.read-cursor.flush-interval 마다 batch UPDATE (ChatRoomSummaryStore.markRead)
+ *   + 회원이 소켓 연결을 끊거나(SessionDisconnectEvent) 방 목록을 조회할 때 그 회원 분만 즉시 반영
+ * - 실패: 꺼낸 위치를 다시 합쳐 두고 다음 주기에 재시도
+ * - 메트릭: chat.read-cursor.pending, chat.read-cursor.coalesced
+ */
+@Slf4j
+@Component
+public class ReadCursorBuffer {
+
+    private final ChatRoomSummaryStore chatRoomSummaryStore;
+    private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public ReadCursorBuffer(ChatRoomSummaryStore chatRoomSummaryStore, MeterRegistry meterRegistry) {
+        this.chatRoomSummaryStore = chatRoomSummaryStore;
+        Gauge.builder("chat.read-cursor.pending", pending, Map::size)
+                .description("DB 반영을 기다리는 읽음 위치 수")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("chat.read-cursor.coalesced")
+                .description("DB 반영 전에 합쳐진 읽음 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 읽음 위치 기록 - 이 서버가 아는 위치보다 앞으로 갔으면 true (읽음 표시 브로드캐스트 여부)
+     */
+    public boolean advance(Long roomId, Long memberId, long messageId) {
+        boolean[] advanced = {false};
+        pending.compute(new Key(roomId, memberId), (key, current) -> {
+            if (current != null) coalesced.increment();
+            if (current != null && current >= messageId) return current;
+            advanced[0] = true;
+            return messageId;
+        });
+        return advanced[0];
+    }
+
+    // 연결 종료 - CONNECT 때 인증된 회원 (StompAuthChannelInterceptor)
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (event.getUser() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof LoginMember loginMember) {
+            flushMember(loginMember.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.read-cursor.flush-interval:PT2S}")
+    public void flush() {
+        flushMatching(key -> true);
+    }
+
+    // 한 회원 분만 즉시 반영 (연결 종료, 방 목록 조회 직전)
+    public void flushMember(Long memberId) {
+        flushMatching(key -> key.memberId().equals(memberId));
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    private void flushMatching(Predicate<Key> filter) {
+        List<ReadCursor> cursors = new ArrayList<>();
+        for (Map.Entry<Key, Long> entry : pending.entrySet()) {
+            Key key = entry.getKey();
+            Long messageId = entry.getValue();
+            // 꺼내는 사이에 더 뒤의 위치가 들어왔으면 남겨 두고 다음 주기에 반영
+            if (filter.test(key) && pending.remove(key, messageId)) {
+                cursors.add(new ReadCursor(key.roomId(), key.memberId(), messageId));
+            }
+        }
+        if (cursors.isEmpty()) return;
+
+        try {
+            chatRoomSummaryStore.markRead(cursors);
+        } catch (DataAccessException e) {
+            log.warn("읽음 위치 반영 실패 ({}건), 다음 주기에 재시도: {}", cursors.size(), e.getMessage());
+            for (ReadCursor cursor : cursors) {
+                pending.merge(new Key(cursor.roomId(), cursor.memberId()), cursor.messageId(), Math::max);
+            }
+        }
+    }
+
+    private record Key(Long roomId, Long memberId) {
+    }
+}
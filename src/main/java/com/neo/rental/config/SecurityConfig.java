@@ -2,6 +2,7 @@ package com.neo.rental.config;
 
 import com.neo.rental.jwt.JwtAuthenticationFilter;
 import com.neo.rental.jwt.JwtTokenProvider;
+import com.neo.rental.jwt.RevokedTokenRegistry;
 import lombok.RequiredArgsConstructor; // [추가] 생성자 주입용
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedTokenRegistry revokedTokenRegistry;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -49,7 +51,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // 인증 없이 허용할 경로들 + Swagger 관련 주소 허용
                         .requestMatchers("/", "/api/auth/**", "/api/items/**", "/images/**", "/api/reviews/**",
-                                "/ws-stomp/**", "/v3/api-docs/**","/swagger-ui/**","/swagger-ui.html", "/api/payments/**").permitAll()
+                                "/ws-stomp/**", "/v3/api-docs/**","/swagger-ui/**","/swagger-ui.html", "/api/payments/**",
+                                "/.well-known/jwks.json").permitAll()
                         // 정적 리소스 허용
                         .requestMatchers("/css/**", "/images/**", "/js/**", "/favicon.ico").permitAll()
                         // 그 외 모든 요청은 인증 필요
@@ -58,7 +61,7 @@ public class SecurityConfig {
 
                 // 5. [핵심] JWT 인증 필터 추가
                 // UsernamePasswordAuthenticationFilter(기본 로그인 필터) 앞에서 동작하도록 설정
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, revokedTokenRegistry), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
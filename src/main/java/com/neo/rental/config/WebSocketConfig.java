@@ -1,6 +1,10 @@
 package com.neo.rental.config;
 
+import com.neo.rental.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.WebSocketMessage; // 추가됨
 import org.springframework.web.socket.WebSocketSession; // 추가됨
@@ -10,10 +14,18 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration; // 추가됨
 import org.springframework.web.socket.handler.WebSocketHandlerDecorator; // 추가됨
 
+import java.util.regex.Pattern;
+
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Pattern BEARER_TOKEN = Pattern.compile("Bearer [A-Za-z0-9._~+/=-]+");
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-stomp")
@@ -27,14 +39,23 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setApplicationDestinationPrefixes("/pub");
     }
 
+    // [추가] CONNECT 토큰 인증 + 채팅방 구독 권한 검사
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
     // 🚩 [추가] 소켓 통신 로그를 찍기 위한 설정 (이게 있어야 디버깅 가능)
     @Override
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
         registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
             @Override
             public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
-                // 들어오는 모든 데이터(Payload)를 콘솔에 출력
-                System.out.println("🔥 [Socket Raw Data] " + message.getPayload());
+                // [변경] 들어오는 모든 데이터(Payload)는 debug 로그로만 출력 (CONNECT 프레임의 Access Token 은 가림)
+                if (log.isDebugEnabled()) {
+                    log.debug("🔥 [Socket Raw Data] {}",
+                            BEARER_TOKEN.matcher(String.valueOf(message.getPayload())).replaceAll("Bearer ***"));
+                }
                 super.handleMessage(session, message);
             }
         });
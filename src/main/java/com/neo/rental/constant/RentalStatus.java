@@ -1,5 +1,7 @@
 package com.neo.rental.constant;
 
+import java.util.List;
+
 public enum RentalStatus {
     WAITING,    // 승인 대기 (신청 직후)
     APPROVED,   // 승인됨 (결제 대기중) - 주인이 수락함
@@ -7,5 +9,8 @@ public enum RentalStatus {
     RENTING,    // 대여중 (인계 완료) - 주인이 물건 건네줌
     RETURNED,   // 반납 완료
     CANCELED,   // 취소됨
-    REJECTED    // 거절됨
+    REJECTED;   // 거절됨
+
+    // 예약 기간을 점유하는 상태 (승인 대기 WAITING 은 점유하지 않음 -> 같은 기간에 여러 명 신청 가능)
+    public static final List<RentalStatus> OCCUPYING = List.of(APPROVED, PAID, RENTING);
 }
\ No newline at end of file
@@ -3,13 +3,19 @@ package com.neo.rental.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.neo.rental.dto.ChatMessageDto;
 import com.neo.rental.dto.ChatMessageResponseDto; // [추가]
+import com.neo.rental.dto.ChatReadDto;
 import com.neo.rental.dto.ChatRoomListDto;
+import com.neo.rental.security.LoginMember;
+import com.neo.rental.security.StompAuthChannelInterceptor;
 import com.neo.rental.service.ChatService;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
@@ -28,9 +34,9 @@ public class ChatController {
 
     // [3-1] 채팅방 생성 또는 입장 (유지)
     @PostMapping("/api/chat/room")
-    public ResponseEntity<?> createRoom(@RequestBody Map<String, Long> payload, Principal principal) {
+    public ResponseEntity<?> createRoom(@RequestBody Map<String, Long> payload, @AuthenticationPrincipal LoginMember loginMember) {
         Long itemId = payload.get("itemId");
-        Long roomId = chatService.createOrGetChatRoom(itemId, principal.getName());
+        Long roomId = chatService.createOrGetChatRoom(itemId, loginMember.getId());
 
         Map<String, Object> data = new HashMap<>();
         data.put("roomId", roomId);
@@ -45,18 +51,17 @@ public class ChatController {
 
     // [3-2] 실시간 메시지 전송 (Socket) - [수정됨]
     @MessageMapping("/chat/message")
-    public void message(String rawMessage) {
-        log.info("📦 [Socket 수신 원본]: {}", rawMessage);
-
+    public void message(String rawMessage, Principal principal) {
         try {
             // 1. 수동 파싱
             ChatMessageDto messageDto = objectMapper.readValue(rawMessage, ChatMessageDto.class);
+            // [추가] 보낸 사람은 CONNECT 때 인증된 회원 (payload 의 senderId 는 무시)
+            messageDto.setSenderId(StompAuthChannelInterceptor.loginMemberOf(principal).getId());
 
-            // 2. 로그 확인
-            log.info("🔍 [파싱 데이터 확인] RoomId: {}, SenderId: {}, Msg: {}",
+            // 2. 로그 확인 (메시지 본문은 남기지 않음)
+            log.debug("🔍 [파싱 데이터 확인] RoomId: {}, SenderId: {}",
                     messageDto.getRoomId(),
-                    messageDto.getSenderId(),
-                    messageDto.getMessage());
+                    messageDto.getSenderId());
 
             // 3. 유효성 검사
             if (messageDto.getRoomId() == null || messageDto.getSenderId() == null) {
@@ -64,22 +69,42 @@ public class ChatController {
                 return;
             }
 
-            // 4. [수정] DB 저장 후 'DTO'를 반환받음 (Entity 아님!)
-            ChatMessageResponseDto savedMessage = chatService.saveMessage(messageDto);
+            // 4. [변경] ID 발급 + 저장 대기열 등록 (DB 저장은 ChatMessageWriter 가 모아서 처리)
+            ChatMessageResponseDto sentMessage = chatService.sendMessage(messageDto);
 
-            // 5. [수정] 구독자에게 DTO 전송 (안전함)
-            messagingTemplate.convertAndSend("/sub/chat/room/" + messageDto.getRoomId(), savedMessage);
+            // 5. 구독자에게 바로 전송 (저장을 기다리지 않음)
+            messagingTemplate.convertAndSend("/sub/chat/room/" + messageDto.getRoomId(), sentMessage);
 
         } catch (Exception e) {
-            log.error("❌ [메시지 처리 중 예외 발생]: {}", e.getMessage());
-            e.printStackTrace();
+            log.error("❌ [메시지 처리 중 예외 발생]: {}", e.getMessage(), e);
         }
     }
 
+    // [추가] 실시간 읽음 처리 (Socket) - payload: { "roomId", "messageId" } (읽은 회원은 CONNECT 때 인증된 회원)
+    // DB 반영은 모아서 나중에 하고, 읽음 위치가 앞으로 간 경우에만 방 구독자에게 읽음 표시 전송
+    @MessageMapping("/chat/read")
+    public void read(String rawMessage, Principal principal) {
+        try {
+            ChatReadDto readDto = objectMapper.readValue(rawMessage, ChatReadDto.class);
+            readDto.setMemberId(StompAuthChannelInterceptor.loginMemberOf(principal).getId());
+
+            if (chatService.markAsRead(readDto.getRoomId(), readDto.getMemberId(), readDto.getMessageId())) {
+                broadcastRead(readDto);
+            }
+
+        } catch (Exception e) {
+            log.error("❌ [읽음 처리 중 예외 발생]: {}", e.getMessage());
+        }
+    }
+
+    private void broadcastRead(ChatReadDto readDto) {
+        messagingTemplate.convertAndSend("/sub/chat/room/" + readDto.getRoomId() + "/read", readDto);
+    }
+
     // [3-3] 내 채팅방 목록 조회 (유지)
     @GetMapping("/api/chat/rooms")
-    public ResponseEntity<?> getMyChatRooms(Principal principal) {
-        List<ChatRoomListDto> rooms = chatService.findAllRoom(principal.getName());
+    public ResponseEntity<?> getMyChatRooms(@AuthenticationPrincipal LoginMember loginMember) {
+        List<ChatRoomListDto> rooms = chatService.findAllRoom(loginMember.getId());
 
         return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -88,19 +113,55 @@ public class ChatController {
                 "data", rooms
         ));
     }
+    // [추가] 읽음 처리 (HTTP POST) - body: { "messageId": 화면에 표시한 마지막 메시지 ID }
+    @PostMapping("/api/chat/room/{roomId}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable Long roomId,
+                                        @RequestBody Map<String, Long> payload,
+                                        @AuthenticationPrincipal LoginMember loginMember) {
+        Long messageId = payload.get("messageId");
+        try {
+            if (chatService.markAsRead(roomId, loginMember.getId(), messageId)) {
+                broadcastRead(new ChatReadDto(roomId, loginMember.getId(), messageId));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "code", 400, "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("success", false, "code", 403, "message", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("success", false, "code", 404, "message", e.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of("success", true, "code", 200, "message", "읽음 처리되었습니다."));
+    }
+
     // [3-4] 채팅방 이전 대화 내역 조회 (HTTP GET)
     // URL: /api/chat/room/{roomId}/messages
+    // [추가] before 또는 size 를 넘기면 커서 페이지 ({content, nextCursor, hasNext}) - 최근 size 건부터, 위로 스크롤 시 before=nextCursor
     @GetMapping("/api/chat/room/{roomId}/messages")
-    public ResponseEntity<?> getRoomMessages(@PathVariable Long roomId) {
-
-        // Service에서 이미 DTO 리스트로 변환되어 넘어옴 (안전함)
-        List<ChatMessageResponseDto> messages = chatService.getMessages(roomId);
+    public ResponseEntity<?> getRoomMessages(@PathVariable Long roomId,
+                                             @RequestParam(required = false) String before,
+                                             @RequestParam(required = false) Integer size,
+                                             @AuthenticationPrincipal LoginMember loginMember) {
+        Object data;
+        try {
+            if (before != null || size != null) {
+                data = chatService.getMessagePage(roomId, loginMember.getId(), before, size);
+            } else {
+                // Service에서 이미 DTO 리스트로 변환되어 넘어옴 (안전함)
+                data = chatService.getMessages(roomId, loginMember.getId());
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "code", 400, "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("success", false, "code", 403, "message", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("success", false, "code", 404, "message", e.getMessage()));
+        }
 
         return ResponseEntity.ok(Map.of(
                 "success", true,
                 "code", 200,
                 "message", "이전 대화 내역 조회 성공",
-                "data", messages
+                "data", data
         ));
     }
 }
\ No newline at end of file
@@ -1,11 +1,19 @@
 package com.neo.rental.controller;
 
 import com.neo.rental.constant.ItemCategory;
+import com.neo.rental.dto.CursorPageDto;
 import com.neo.rental.dto.ItemResponseDto;
+import com.neo.rental.dto.ItemSummaryDto;
+import com.neo.rental.dto.RentalPeriodDto;
 import com.neo.rental.dto.ItemFormDto;
+import com.neo.rental.security.LoginMember;
 import com.neo.rental.service.S3Service; // FileService 대신 S3Service 로 변경
 import com.neo.rental.service.ItemService;
+import com.neo.rental.service.RentalService;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -13,7 +21,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +32,7 @@ import java.util.Map;
 public class ItemController {
 
     private final ItemService itemService;
+    private final RentalService rentalService;
     private final S3Service s3Service; // s3 사용을 위해 교체
 
     // 1. 상품 등록
@@ -31,8 +40,8 @@ public class ItemController {
     public ResponseEntity<?> createItem(
             @RequestPart(value = "itemData") ItemFormDto itemFormDto,
             @RequestPart(value = "itemImage", required = false) MultipartFile itemImage,
-            Principal principal) {
-        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "로그인 필요"));
+            @AuthenticationPrincipal LoginMember loginMember) {
+        if (loginMember == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "로그인 필요"));
 
         try {
             String imageUrl = null;
@@ -40,7 +49,7 @@ public class ItemController {
             if (itemImage != null && !itemImage.isEmpty()) imageUrl = s3Service.uploadImage(itemImage);
             itemFormDto.setItemImageUrl(imageUrl);
 
-            Long savedItemId = itemService.saveItem(itemFormDto, principal.getName());
+            Long savedItemId = itemService.saveItem(itemFormDto, loginMember.getId());
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "상품 등록 완료");
@@ -53,17 +62,31 @@ public class ItemController {
         }
     }
 
-    // 2. 상품 목록 조회
+    // 2. 상품 목록 조회 - 카드용 요약(ItemSummaryDto)으로 응답
+    // [추가] cursor 또는 size 를 넘기면 커서 페이지({content, nextCursor, hasNext})로 응답
     @GetMapping
-    public ResponseEntity<List<ItemResponseDto>> searchItems(
+    public ResponseEntity<?> searchItems(
             @RequestParam(required = false) ItemCategory category,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) Double lat,
             @RequestParam(required = false) Double lng,
             @RequestParam(required = false) Integer radius,
-            @RequestParam(required = false) Integer limit
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
-        List<ItemResponseDto> items = itemService.searchItems(
+        if (cursor != null || size != null) {
+            try {
+                CursorPageDto<ItemSummaryDto> page = itemService.searchItemPage(
+                        category, keyword, lat, lng, radius, cursor, size
+                );
+                return ResponseEntity.ok(page);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+        }
+
+        List<ItemSummaryDto> items = itemService.searchItems(
                 category, keyword, lat, lng, radius, limit
         );
         return ResponseEntity.ok(items);
@@ -73,10 +96,27 @@ public class ItemController {
     @GetMapping("/{itemId}")
     public ResponseEntity<ItemResponseDto> getItemDetail(
             @PathVariable Long itemId,
-            Principal principal // 로그인 안 했으면 null
+            @AuthenticationPrincipal LoginMember loginMember // 로그인 안 했으면 null
     ) {
-        String email = (principal != null) ? principal.getName() : null;
-        return ResponseEntity.ok(itemService.getItemDetail(itemId, email));
+        Long memberId = (loginMember != null) ? loginMember.getId() : null;
+        return ResponseEntity.ok(itemService.getItemDetail(itemId, memberId));
+    }
+
+    // 3-1. [추가] 예약 달력 - 기간 안에서 이미 확정된 예약 구간 (기본: 지금부터 3개월)
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<?> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        try {
+            List<RentalPeriodDto> occupied = rentalService.getOccupiedPeriods(itemId, from, to);
+            return ResponseEntity.ok(Map.of("itemId", itemId, "occupied", occupied));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        }
     }
 
     // 4. 수정
@@ -84,8 +124,8 @@ public class ItemController {
     public ResponseEntity<?> updateItem(@PathVariable Long itemId,
                                         @RequestPart(value = "itemData") ItemFormDto itemFormDto,
                                         @RequestPart(value = "itemImage", required = false) MultipartFile itemImage,
-                                        Principal principal) {
-        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "로그인 필요"));
+                                        @AuthenticationPrincipal LoginMember loginMember) {
+        if (loginMember == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "로그인 필요"));
 
         try {
             if (itemImage != null && !itemImage.isEmpty()) {
@@ -93,12 +133,16 @@ public class ItemController {
                 String imageUrl = s3Service.uploadImage(itemImage);
                 itemFormDto.setItemImageUrl(imageUrl);
             }
-            itemService.updateItem(itemId, itemFormDto, principal.getName());
+            itemService.updateItem(itemId, itemFormDto, loginMember.getId());
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "상품 수정 완료");
             response.put("itemId", itemId);
             return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            // 다른 요청이 먼저 수정함 (@Version) -> 최신 내용을 다시 불러와 수정하도록
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "다른 곳에서 먼저 수정되었습니다. 다시 시도해 주세요."));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", "수정 실패", "error", e.getMessage()));
         }
@@ -106,11 +150,11 @@ public class ItemController {
 
     // 5. 삭제
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<?> deleteItem(@PathVariable Long itemId, Principal principal) {
-        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "로그인 필요"));
+    public ResponseEntity<?> deleteItem(@PathVariable Long itemId, @AuthenticationPrincipal LoginMember loginMember) {
+        if (loginMember == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "로그인 필요"));
 
         try {
-            itemService.deleteItem(itemId, principal.getName());
+            itemService.deleteItem(itemId, loginMember.getId());
             return ResponseEntity.ok(Map.of("message", "상품 삭제 완료", "itemId", itemId));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", "삭제 실패", "error", e.getMessage()));
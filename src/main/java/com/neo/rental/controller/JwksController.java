@@ -0,0 +1,30 @@
+package com.neo.rental.controller;
+
+import com.neo.rental.jwt.JwtKeyManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * [JWKS 공개키 엔드포인트]
+ * RS256/ES256 로 서명할 때, 검증 전용 서버(API/채팅)가 서명 비밀키 없이 토큰을 검증할 수 있도록 공개키를 공개합니다.
+ * HS256 설정이면 공개할 키가 없으므로 빈 목록입니다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyManager jwtKeyManager;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeyManager.jwks());
+    }
+}
@@ -5,13 +5,18 @@ import com.neo.rental.dto.MemberUpdateDto;
 import com.neo.rental.dto.PasswordUpdateDto;
 import com.neo.rental.dto.RefreshTokenRequestDto; // [필수] 임포트 확인
 import com.neo.rental.dto.TokenInfo;
+import com.neo.rental.security.LoginMember;
+import com.neo.rental.security.LoginRateLimiter;
 import com.neo.rental.service.MemberService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -22,6 +27,7 @@ import java.util.Map;
 public class MemberController {
 
     private final MemberService memberService;
+    private final LoginRateLimiter loginRateLimiter;
 
     // 1. 회원가입 API
     @PostMapping("/auth/signup")
@@ -36,10 +42,23 @@ public class MemberController {
 
     // 2. 로그인 API
     @PostMapping("/auth/login")
-    public ResponseEntity<?> login(@RequestBody MemberDTO memberDTO) {
+    // [추가] X-Device-Id: 이전 로그인 응답의 deviceId (없으면 새 기기로 발급, 기기마다 로그인 유지)
+    public ResponseEntity<?> login(@RequestBody MemberDTO memberDTO,
+                                   @RequestHeader(value = "X-Device-Id", required = false) String deviceId,
+                                   HttpServletRequest request) {
+        // [추가] 계정/IP 별 시도 횟수 제한 - 한도를 넘으면 비밀번호 해시 계산 없이 바로 429
+        Duration retryAfter = loginRateLimiter.tryAcquire(memberDTO.getEmail(), request.getRemoteAddr());
+        if (!retryAfter.isZero()) {
+            long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                    .body("로그인 시도가 너무 많습니다. " + seconds + "초 후에 다시 시도해 주세요.");
+        }
+
         try {
             // 이메일과 비밀번호로 로그인 시도 -> Access + Refresh Token 반환
-            TokenInfo tokenInfo = memberService.login(memberDTO.getEmail(), memberDTO.getPassword());
+            TokenInfo tokenInfo = memberService.login(memberDTO.getEmail(), memberDTO.getPassword(), deviceId);
+            loginRateLimiter.onSuccess(memberDTO.getEmail());
             return ResponseEntity.ok(tokenInfo);
         } catch (Exception e) {
             // 콘솔에는 원래 에러를 찍어두어 개발자가 확인할 수 있게 합니다.
@@ -50,8 +69,11 @@ public class MemberController {
     }
 
     // 3. 로그아웃 API
+    // [수정] 요청에 쓴 Access Token 을 폐기 (만료 전이라도 더 이상 사용 불가) + body 의 Refresh Token 삭제
     @PostMapping("/auth/logout")
-    public ResponseEntity<String> logout() {
+    public ResponseEntity<String> logout(@AuthenticationPrincipal LoginMember loginMember,
+                                         @RequestBody(required = false) RefreshTokenRequestDto requestDto) {
+        memberService.logout(loginMember, (requestDto != null) ? requestDto.getRefreshToken() : null);
         return ResponseEntity.ok("로그아웃 되었습니다.");
     }
 
@@ -60,11 +82,13 @@ public class MemberController {
     public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequestDto requestDto) {
         try {
             // 서비스에서 리프레시 토큰 검증 후 새 엑세스 토큰 발급
-            String newAccessToken = memberService.refreshAccessToken(requestDto.getRefreshToken());
+            // [변경] 리프레시 토큰도 매번 새로 발급 (이전 토큰은 더 이상 사용 불가) -> 응답의 refreshToken 으로 교체 저장
+            TokenInfo newTokenInfo = memberService.refreshAccessToken(requestDto.getRefreshToken());
 
-            // 응답 포맷 생성 ({ success: true, data: { accessToken: ... } })
+            // 응답 포맷 생성 ({ success: true, data: { accessToken: ..., refreshToken: ... } })
             Map<String, Object> data = new HashMap<>();
-            data.put("accessToken", newAccessToken);
+            data.put("accessToken", newTokenInfo.getAccessToken());
+            data.put("refreshToken", newTokenInfo.getRefreshToken());
 
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("success", true);
@@ -81,22 +105,22 @@ public class MemberController {
 
     // 5. 내 정보 조회
     @GetMapping("/members/me")
-    public ResponseEntity<?> getMyInfo(Principal principal) {
-        if (principal == null) {
+    public ResponseEntity<?> getMyInfo(@AuthenticationPrincipal LoginMember loginMember) {
+        if (loginMember == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
         }
-        MemberDTO myInfo = memberService.getMyInfo(principal.getName());
+        MemberDTO myInfo = memberService.getMyInfo(loginMember.getId());
         return ResponseEntity.ok(myInfo);
     }
 
     // 6. 내 정보 수정
     @PutMapping("/members/me")
-    public ResponseEntity<?> updateMyInfo(@RequestBody MemberUpdateDto updateDto, Principal principal) {
-        if (principal == null) {
+    public ResponseEntity<?> updateMyInfo(@RequestBody MemberUpdateDto updateDto, @AuthenticationPrincipal LoginMember loginMember) {
+        if (loginMember == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
         }
         try {
-            memberService.updateMemberInfo(principal.getName(), updateDto);
+            memberService.updateMemberInfo(loginMember.getId(), updateDto);
             return ResponseEntity.ok("회원 정보 수정 완료");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -105,12 +129,12 @@ public class MemberController {
 
     // 7. 비밀번호 변경
     @PatchMapping("/members/password")
-    public ResponseEntity<?> updatePassword(@RequestBody PasswordUpdateDto passDto, Principal principal) {
-        if (principal == null) {
+    public ResponseEntity<?> updatePassword(@RequestBody PasswordUpdateDto passDto, @AuthenticationPrincipal LoginMember loginMember) {
+        if (loginMember == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
         }
         try {
-            memberService.updatePassword(principal.getName(), passDto);
+            memberService.updatePassword(loginMember.getId(), passDto);
             return ResponseEntity.ok("비밀번호 변경 완료");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -1,14 +1,19 @@
 package com.neo.rental.controller;
 
+import com.neo.rental.constant.RentalStatus;
+import com.neo.rental.dto.CursorPageDto;
+import com.neo.rental.dto.RentalBulkDecisionDto;
 import com.neo.rental.dto.RentalDecisionDto;
+import com.neo.rental.dto.RentalDecisionResultDto;
 import com.neo.rental.dto.RentalRequestDto;
 import com.neo.rental.dto.RentalResponseDto;
+import com.neo.rental.security.LoginMember;
 import com.neo.rental.service.RentalService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,51 +36,89 @@ public class RentalController {
 
     // 1. 대여 신청
     @PostMapping
-    public ResponseEntity<?> createRental(@RequestBody RentalRequestDto requestDto, Principal principal) {
-        RentalResponseDto result = rentalService.createRental(principal.getName(), requestDto);
+    public ResponseEntity<?> createRental(@RequestBody RentalRequestDto requestDto, @AuthenticationPrincipal LoginMember loginMember) {
+        RentalResponseDto result = rentalService.createRental(loginMember.getId(), requestDto);
         return ResponseEntity.ok(createResponse(200, "대여 신청이 완료되었습니다.", result));
     }
 
     // 2. 내 대여 내역
+    // [추가] status 로 상태 필터 (여러 개 가능), cursor 또는 size 를 넘기면 커서 페이지({content, nextCursor, hasNext})
     @GetMapping("/my")
-    public ResponseEntity<?> getMyRentals(Principal principal) {
-        List<RentalResponseDto> list = rentalService.getMyRentals(principal.getName());
+    public ResponseEntity<?> getMyRentals(@RequestParam(required = false) List<RentalStatus> status,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer size,
+                                          @AuthenticationPrincipal LoginMember loginMember) {
+        if (cursor != null || size != null) {
+            try {
+                CursorPageDto<RentalResponseDto> page = rentalService.getMyRentalPage(loginMember.getId(), status, cursor, size);
+                return ResponseEntity.ok(createResponse(200, "내 대여 내역 조회 성공", page));
+            } catch (IllegalArgumentException e) {
+                // 잘못된 커서
+                return ResponseEntity.badRequest().body(Map.of("success", false, "code", 400, "message", e.getMessage()));
+            }
+        }
+        List<RentalResponseDto> list = rentalService.getMyRentals(loginMember.getId(), status);
         return ResponseEntity.ok(createResponse(200, "내 대여 내역 조회 성공", list));
     }
 
-    // 3. 받은 예약 요청
+    // 3. 받은 예약 요청 (필터/페이지 파라미터는 내 대여 내역과 동일)
     @GetMapping("/requests")
-    public ResponseEntity<?> getReceivedRequests(Principal principal) {
-        List<RentalResponseDto> list = rentalService.getReceivedRequests(principal.getName());
+    public ResponseEntity<?> getReceivedRequests(@RequestParam(required = false) List<RentalStatus> status,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer size,
+                                                 @AuthenticationPrincipal LoginMember loginMember) {
+        if (cursor != null || size != null) {
+            try {
+                CursorPageDto<RentalResponseDto> page = rentalService.getReceivedRequestPage(loginMember.getId(), status, cursor, size);
+                return ResponseEntity.ok(createResponse(200, "받은 요청 목록 조회 성공", page));
+            } catch (IllegalArgumentException e) {
+                // 잘못된 커서
+                return ResponseEntity.badRequest().body(Map.of("success", false, "code", 400, "message", e.getMessage()));
+            }
+        }
+        List<RentalResponseDto> list = rentalService.getReceivedRequests(loginMember.getId(), status);
         return ResponseEntity.ok(createResponse(200, "받은 요청 목록 조회 성공", list));
     }
 
     // 4. 승인 및 거절 처리
     @PostMapping("/{rentalId}/decision")
-    public ResponseEntity<?> handleDecision(@PathVariable Long rentalId, @RequestBody RentalDecisionDto decisionDto, Principal principal) {
-        RentalResponseDto result = rentalService.handleDecision(rentalId, principal.getName(), decisionDto);
+    public ResponseEntity<?> handleDecision(@PathVariable Long rentalId, @RequestBody RentalDecisionDto decisionDto, @AuthenticationPrincipal LoginMember loginMember) {
+        RentalResponseDto result = rentalService.handleDecision(rentalId, loginMember.getId(), decisionDto);
         String msg = decisionDto.isApproved() ? "예약이 승인되었습니다. (결제 대기)" : "예약이 거절되었습니다.";
         return ResponseEntity.ok(createResponse(200, msg, result));
     }
 
+    // 4-1. 일괄 승인/거절 - 건별 결과 목록 (일부 건이 실패해도 나머지는 처리됨)
+    @PostMapping("/decisions")
+    public ResponseEntity<?> handleBulkDecision(@RequestBody RentalBulkDecisionDto bulkDto, @AuthenticationPrincipal LoginMember loginMember) {
+        List<RentalDecisionResultDto> results = rentalService.handleBulkDecision(loginMember.getId(), bulkDto);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("results", results);
+        data.put("approved", results.stream().filter(r -> r.isSuccess() && r.getStatus() == RentalStatus.APPROVED).count());
+        data.put("rejected", results.stream().filter(r -> r.isSuccess() && r.getStatus() == RentalStatus.REJECTED).count());
+        data.put("failed", results.stream().filter(r -> !r.isSuccess()).count());
+        return ResponseEntity.ok(createResponse(200, "일괄 처리가 완료되었습니다.", data));
+    }
+
     // [NEW] 5. 대여 시작 (인계 확인) - 주인이 호출
     @PostMapping("/{rentalId}/start")
-    public ResponseEntity<?> startRental(@PathVariable Long rentalId, Principal principal) {
-        RentalResponseDto result = rentalService.startRental(rentalId, principal.getName());
+    public ResponseEntity<?> startRental(@PathVariable Long rentalId, @AuthenticationPrincipal LoginMember loginMember) {
+        RentalResponseDto result = rentalService.startRental(rentalId, loginMember.getId());
         return ResponseEntity.ok(createResponse(200, "대여가 시작되었습니다. (인계 확인)", result));
     }
 
     // 6. 취소
     @PostMapping("/{rentalId}/cancel")
-    public ResponseEntity<?> cancel(@PathVariable Long rentalId, Principal principal) {
-        RentalResponseDto result = rentalService.cancelRental(rentalId, principal.getName());
+    public ResponseEntity<?> cancel(@PathVariable Long rentalId, @AuthenticationPrincipal LoginMember loginMember) {
+        RentalResponseDto result = rentalService.cancelRental(rentalId, loginMember.getId());
         return ResponseEntity.ok(createResponse(200, "예약이 취소되었습니다.", result));
     }
 
     // 7. 반납 완료 처리
     @PostMapping("/{rentalId}/return")
-    public ResponseEntity<?> returnItem(@PathVariable Long rentalId, Principal principal) {
-        RentalResponseDto result = rentalService.returnItem(rentalId, principal.getName());
+    public ResponseEntity<?> returnItem(@PathVariable Long rentalId, @AuthenticationPrincipal LoginMember loginMember) {
+        RentalResponseDto result = rentalService.returnItem(rentalId, loginMember.getId());
         return ResponseEntity.ok(createResponse(200, "반납이 완료되었습니다.", result));
     }
 }
\ No newline at end of file
@@ -2,12 +2,13 @@ package com.neo.rental.controller;
 
 import com.neo.rental.dto.ReviewRequestDto;
 import com.neo.rental.dto.ReviewResponseDto;
+import com.neo.rental.security.LoginMember;
 import com.neo.rental.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -21,15 +22,23 @@ public class ReviewController {
 
     // 1. 리뷰 작성 (POST /api/reviews)
     @PostMapping
-    public ResponseEntity<?> createReview(@RequestBody ReviewRequestDto dto, Principal principal) {
-        ReviewResponseDto result = reviewService.createReview(principal.getName(), dto);
+    public ResponseEntity<?> createReview(@RequestBody ReviewRequestDto dto, @AuthenticationPrincipal LoginMember loginMember) {
+        ReviewResponseDto result = reviewService.createReview(loginMember.getId(), dto);
         return ResponseEntity.ok(createResponse(true, "리뷰 작성이 완료되었습니다.", result));
     }
 
-    // 2. 상품 리뷰 조회 (GET /api/reviews/item/{itemId})
+    // 2. 상품 리뷰 조회 (GET /api/reviews/item/{itemId}?cursor=&size=)
+    // data: { content, nextCursor, hasNext } - 다음 페이지는 nextCursor 를 cursor 로 전달
     @GetMapping("/item/{itemId}")
-    public ResponseEntity<?> getItemReviews(@PathVariable Long itemId) {
-        return ResponseEntity.ok(createResponse(true, "리뷰 목록 조회 성공", reviewService.getReviewsByItem(itemId)));
+    public ResponseEntity<?> getItemReviews(@PathVariable Long itemId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(createResponse(true, "리뷰 목록 조회 성공",
+                    reviewService.getReviewsByItem(itemId, cursor, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createResponse(false, e.getMessage(), null));
+        }
     }
 
     // 3. 리뷰 수정
@@ -37,9 +46,9 @@ public class ReviewController {
     public ResponseEntity<?> updateReview(
             @PathVariable Long reviewId,
             @RequestBody ReviewRequestDto requestDto,
-            Principal principal) {
+            @AuthenticationPrincipal LoginMember loginMember) {
 
-        ReviewResponseDto updatedReview = reviewService.updateReview(reviewId, requestDto, principal.getName());
+        ReviewResponseDto updatedReview = reviewService.updateReview(reviewId, requestDto, loginMember.getId());
         return ResponseEntity.ok(createResponse(true, "리뷰가 수정되었습니다.", updatedReview));
     }
 
@@ -47,9 +56,9 @@ public class ReviewController {
     @DeleteMapping("/{reviewId}")
     public ResponseEntity<?> deleteReview(
             @PathVariable Long reviewId,
-            Principal principal) {
+            @AuthenticationPrincipal LoginMember loginMember) {
 
-        reviewService.deleteReview(reviewId, principal.getName());
+        reviewService.deleteReview(reviewId, loginMember.getId());
 
         // 삭제된 ID만 데이터로 넘겨줌 (프론트 처리용)
         Map<String, Object> data = new HashMap<>();
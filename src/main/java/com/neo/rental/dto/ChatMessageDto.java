@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
 @JsonIgnoreProperties(ignoreUnknown = true) // 👈 [핵심] 알 수 없는 필드(예: timestamp 등)가 와도 에러 안 나게 무시함
 public class ChatMessageDto {
     private Long roomId;
-    private Long senderId;
+    private Long senderId;  // [변경] 서버가 소켓 인증 정보로 채움 (클라이언트 값은 무시)
     private String message;
 
     // 👇 [추가] 프론트엔드에서 보내는 "type": "TALK" 등을 받기 위한 필드
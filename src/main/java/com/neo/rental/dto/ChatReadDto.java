@@ -0,0 +1,19 @@
+package com.neo.rental.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// [추가] 읽음 표시 - 수신(/pub/chat/read)과 방 구독자 알림(/sub/chat/room/{roomId}/read)에 같이 사용
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ChatReadDto {
+    private Long roomId;
+    private Long memberId;  // 읽은 회원 (서버가 인증 정보로 채움)
+    private Long messageId; // 이 메시지까지 읽음
+}
@@ -1,11 +1,14 @@
 package com.neo.rental.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter @Setter
 @Builder
 @NoArgsConstructor
@@ -16,5 +19,11 @@ public class ChatRoomListDto {
     private String itemTitle;  // 상품 제목
     private String itemImageUrl; // 상품 썸네일 (옵션)
     private String partnerName;// 대화 상대방 이름
-    private String lastMessage;// (선택사항) 마지막 메시지 내용
+    private String lastMessage;// (선택사항) 마지막 메시지 내용 (앞 100자)
+
+    // [추가] 마지막 메시지 시각 (메시지가 없으면 null)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private LocalDateTime lastMessageAt;
+
+    private int unreadCount;   // [추가] 안 읽은 메시지 수
 }
\ No newline at end of file
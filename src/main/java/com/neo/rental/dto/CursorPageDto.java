@@ -0,0 +1,36 @@
+package com.neo.rental.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * [커서 기반 페이지 응답]
+ * - nextCursor: 다음 페이지 요청 시 cursor 파라미터로 그대로 전달 (마지막 페이지면 null)
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    // 요청 size -> 페이지 크기 (없거나 0 이하면 기본값, 최대값 제한)
+    public static int pageSize(Integer size, int defaultSize, int maxSize) {
+        return (size != null && size > 0) ? Math.min(size, maxSize) : defaultSize;
+    }
+
+    // pageSize + 1 건 조회 결과 -> 페이지 (남는 한 건으로 다음 페이지 존재 여부 판단, 커서는 이 페이지의 마지막 행)
+    public static <E, T> CursorPageDto<T> of(List<E> rows, int pageSize,
+                                             Function<E, String> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) rows = rows.subList(0, pageSize);
+
+        String nextCursor = hasNext ? cursorOf.apply(rows.get(rows.size() - 1)) : null;
+        List<T> content = rows.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPageDto<>(content, nextCursor, hasNext);
+    }
+}
@@ -34,9 +34,11 @@ public class ItemResponseDto {
     private OwnerInfo owner;
 
     // 리뷰 관련
-    private List<ReviewResponseDto> reviews;
+    private List<ReviewResponseDto> reviews; // 최신 리뷰 첫 페이지
+    private String reviewCursor;             // [추가] 다음 리뷰 페이지 커서 (없으면 null)
     private Double averageRating;
     private int reviewCount;
+    private List<Long> ratingHistogram; // [추가] 1점 ~ 5점 개수
 
     // ✅ [신청 상태 필드] (True면 신청 버튼 비활성화)
     @JsonProperty("isRequested")
@@ -79,6 +81,32 @@ public class ItemResponseDto {
         }
     }
 
+    // [추가] 캐시된 상세 정보를 사용자별 값(isRequested, isReviewed)과 함께 내려주기 위한 복사 생성자
+    // (리뷰 목록/판매자 정보는 읽기 전용으로 공유)
+    public ItemResponseDto(ItemResponseDto other) {
+        this.itemId = other.itemId;
+        this.title = other.title;
+        this.content = other.content;
+        this.price = other.price;
+        this.location = other.location;
+        this.itemImageUrl = other.itemImageUrl;
+        this.itemStatus = other.itemStatus;
+        this.createdAt = other.createdAt;
+        this.category = other.category;
+        this.categoryName = other.categoryName;
+        this.tradeLatitude = other.tradeLatitude;
+        this.tradeLongitude = other.tradeLongitude;
+        this.tradeAddress = other.tradeAddress;
+        this.owner = other.owner;
+        this.reviews = other.reviews;
+        this.reviewCursor = other.reviewCursor;
+        this.averageRating = other.averageRating;
+        this.reviewCount = other.reviewCount;
+        this.ratingHistogram = other.ratingHistogram;
+        this.isRequested = other.isRequested;
+        this.isReviewed = other.isReviewed;
+    }
+
     @Getter @Setter
     public static class OwnerInfo {
         private Long id;
@@ -0,0 +1,42 @@
+package com.neo.rental.dto;
+
+import com.neo.rental.constant.ItemStatus;
+import com.neo.rental.entity.ItemRatingStatsEntity;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * [상품 목록/검색 카드용 요약 DTO]
+ * 목록 화면에 필요한 값만 담습니다. (본문 content, 판매자 연락처 등은 상세 조회에서만)
+ * ItemRepository.findSummariesByIdIn() 의 JPQL 생성자 조회로 판매자 이름까지 한 번에 가져옵니다.
+ */
+@Getter @Setter
+public class ItemSummaryDto {
+
+    private Long itemId;
+    private String title;
+    private Integer price;
+    private String itemImageUrl; // 썸네일
+    private ItemStatus itemStatus;
+    private String ownerName;
+
+    // 위치 검색일 때만 값이 있음 (미터)
+    private Double distance;
+
+    // 리뷰 요약
+    private Double averageRating;
+    private long reviewCount;
+
+    public ItemSummaryDto(Long itemId, String title, Integer price, String itemImageUrl, ItemStatus itemStatus,
+                          String ownerName, Long ratingSum, Long reviewCount) {
+        this.itemId = itemId;
+        this.title = title;
+        this.price = price;
+        this.itemImageUrl = itemImageUrl;
+        this.itemStatus = itemStatus;
+        this.ownerName = (ownerName == null || ownerName.trim().isEmpty()) ? "이름 없음" : ownerName;
+        // 집계 행이 없으면(리뷰 0건) LEFT JOIN 결과가 null
+        this.reviewCount = (reviewCount != null) ? reviewCount : 0L;
+        this.averageRating = ItemRatingStatsEntity.averageOf(ratingSum != null ? ratingSum : 0L, this.reviewCount);
+    }
+}
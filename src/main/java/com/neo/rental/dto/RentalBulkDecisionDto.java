@@ -0,0 +1,21 @@
+package com.neo.rental.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * [일괄 승인/거절] 받은 요청 여러 건을 한 번에 처리
+ */
+@Getter @Setter
+public class RentalBulkDecisionDto {
+    private List<Decision> decisions;
+
+    @Getter @Setter
+    public static class Decision {
+        private Long rentalId;
+        private boolean approved;    // true: 승인, false: 거절
+        private String rejectReason; // 거절일 때만 값이 들어옴
+    }
+}
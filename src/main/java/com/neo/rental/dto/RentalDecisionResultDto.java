@@ -0,0 +1,19 @@
+package com.neo.rental.dto;
+
+import com.neo.rental.constant.RentalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * [일괄 승인/거절] 건별 처리 결과
+ * - 실패한 건은 success = false, status 는 처리 전 상태 (신청 정보가 없으면 null)
+ */
+@Getter
+@AllArgsConstructor
+public class RentalDecisionResultDto {
+    private Long rentalId;
+    private Long itemId;
+    private boolean success;
+    private RentalStatus status;
+    private String message;
+}
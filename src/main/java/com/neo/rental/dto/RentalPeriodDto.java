@@ -0,0 +1,18 @@
+package com.neo.rental.dto;
+
+import com.neo.rental.constant.RentalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * [예약 달력] 상품이 점유된 기간 [startDate, endDate)
+ */
+@Getter
+@AllArgsConstructor
+public class RentalPeriodDto {
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private RentalStatus status;
+}
@@ -22,6 +22,7 @@ public class RentalResponseDto {
     private LocalDateTime createdAt;
 
     private String rejectReason;
+    private LocalDateTime overdueAt; // [추가] 반납 기한 초과 감지 시각 (null 이면 정상)
 
     public RentalResponseDto(RentalEntity rental) {
         this.rentalId = rental.getId();
@@ -38,5 +39,6 @@ public class RentalResponseDto {
 
         this.totalPrice = rental.getTotalPrice();
         this.rejectReason = rental.getRejectReason();
+        this.overdueAt = rental.getOverdueAt();
     }
 }
\ No newline at end of file
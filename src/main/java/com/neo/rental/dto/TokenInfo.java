@@ -11,4 +11,5 @@ public class TokenInfo {
     private String grantType;   // "Bearer"
     private String accessToken; // 실제 토큰
     private String refreshToken;
+    private String deviceId;    // [추가] 기기 ID - 다음 로그인 때 X-Device-Id 헤더로 보내면 같은 기기로 처리
 }
\ No newline at end of file
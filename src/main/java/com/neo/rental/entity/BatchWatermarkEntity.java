@@ -0,0 +1,29 @@
+package com.neo.rental.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * [배치 작업 진행 위치(watermark)]
+ * 증분 배치가 "어디까지 처리했는지" 를 (시각, ID) 쌍으로 기록합니다. 작업 이름당 한 행.
+ * 값 갱신은 배치 작업에서 JdbcTemplate 으로 수행 (SELECT ... FOR UPDATE 로 여러 서버 중 한 곳만 진행)
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "batch_watermark")
+public class BatchWatermarkEntity {
+
+    @Id
+    @Column(name = "job_name", length = 50)
+    private String jobName;
+
+    @Column(name = "watermark_at", nullable = false)
+    private LocalDateTime watermarkAt;
+
+    @Column(name = "watermark_id", nullable = false)
+    private long watermarkId;
+}
@@ -10,10 +10,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "chat_message")
+// [추가] 방별 대화 내역 keyset 페이지 (room_id = ? AND message_id < ? ORDER BY message_id DESC)
+@Table(name = "chat_message", indexes = {
+        @Index(name = "idx_chat_message_room_id", columnList = "room_id, message_id")
+})
 public class ChatMessageEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // [변경] IDENTITY 대신 ChatMessageIdGenerator 가 발급한 시간 순서 ID (저장은 ChatMessageWriter 가 일괄 INSERT)
+    @Id
     @Column(name = "message_id")
     private Long id;
 
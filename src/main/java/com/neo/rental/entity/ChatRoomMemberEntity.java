@@ -0,0 +1,63 @@
+package com.neo.rental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * [채팅방 참여자별 요약] 방 목록 화면용 비정규화 테이블 (방 하나당 구매자/판매자 두 행)
+ * - 마지막 메시지 / 안 읽은 메시지 수를 메시지 저장(ChatMessageWriter), 읽음 처리 때 증분 갱신
+ * - 방 목록은 (member_id, last_activity_at) 인덱스 한 번 조회로 최근 대화순 정렬
+ * - 증분 갱신은 ChatRoomSummaryStore 에서 JdbcTemplate 으로 수행
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "chat_room_member",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_chat_room_member", columnNames = {"room_id", "member_id"})
+        },
+        indexes = {
+                // 내 채팅방 목록 (최근 대화순)
+                @Index(name = "idx_chat_room_member_activity", columnList = "member_id, last_activity_at, room_id")
+        })
+public class ChatRoomMemberEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "chat_room_member_id")
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    // 대화 상대방
+    @Column(name = "partner_id", nullable = false)
+    private Long partnerId;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_preview", length = 100)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    // 정렬 기준: 마지막 메시지 시각 (메시지가 없으면 방 생성 시각)
+    @Column(name = "last_activity_at", nullable = false)
+    private LocalDateTime lastActivityAt;
+
+    // 이 회원이 마지막으로 읽은 메시지 ID (이보다 큰 상대방 메시지 = 안 읽음)
+    @Column(name = "last_read_message_id", nullable = false)
+    private long lastReadMessageId;
+
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+}
@@ -0,0 +1,30 @@
+package com.neo.rental.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * [ID 생성 서버 번호 임대]
+ * 서버마다 겹치지 않는 번호(0~31)를 빌려 시간 순서 ID(TimeOrderedIdGenerator)를 만듭니다.
+ * 임대는 lease_until 까지 유효하고 주기적으로 연장 (서버가 죽으면 만료 후 다른 서버가 재사용)
+ * 값 갱신은 ChatMessageIdGenerator 에서 JdbcTemplate 으로 수행
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "id_worker_lease")
+public class IdWorkerLeaseEntity {
+
+    @Id
+    @Column(name = "worker_id")
+    private int workerId;
+
+    @Column(name = "owner", length = 64, nullable = false)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
@@ -2,7 +2,9 @@ package com.neo.rental.entity;
 
 import com.neo.rental.constant.ItemStatus;
 import jakarta.persistence.*;
+import com.neo.rental.search.GeoUtils;
 import lombok.*;
+import org.hibernate.annotations.ColumnTransformer;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import com.neo.rental.constant.ItemCategory; // import 필수!
@@ -15,7 +17,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "item_table")
+@Table(name = "item_table", indexes = {
+        // 최신순 목록 커서 페이지용 (created_at, item_id) 범위 조회
+        @Index(name = "idx_item_created_at", columnList = "created_at, item_id")
+})
 public class ItemEntity {
 
     @Id
@@ -23,6 +28,11 @@ public class ItemEntity {
     @Column(name = "item_id")
     private Long id;
 
+    // [추가] 낙관적 락 버전 - 동시에 같은 행을 수정하면 나중 커밋이 실패 (기존 행은 0 으로 채워짐)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private long version;
+
     // 제목: 100자 제한
     @Column(nullable = false, length = 100)
     private String title;
@@ -53,6 +63,15 @@ public class ItemEntity {
     @Column(name = "trade_address")
     private String tradeAddress;    // 지도에서 선택한 상세 주소
 
+    // [추가] 공간 인덱스(SPATIAL INDEX)용 좌표 컬럼 (MySQL POINT, SRID 4326)
+    // - 위도/경도 컬럼과 항상 같은 값을 유지하도록 저장/수정 직전에 syncTradePoint()에서 채움
+    // - 검색 쿼리에서만 쓰고 엔티티로 읽을 일은 없으므로 조회 시에는 NULL로 대체 (공간 데이터 변환 비용 제거)
+    @ColumnTransformer(read = "NULL", write = "ST_GeomFromText(?, 4326, 'axis-order=long-lat')")
+    @Column(name = "trade_point", columnDefinition = "POINT SRID 4326")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String tradePoint;
+
     // 이미지URL
     @Column(columnDefinition = "TEXT")
     private String itemImageUrl;
@@ -86,4 +105,11 @@ public class ItemEntity {
         this.tradeLongitude = tradeLongitude;
         this.tradeAddress = tradeAddress;
     }
+
+    // [추가] 위도/경도 -> 공간 컬럼 동기화 (INSERT/UPDATE 직전에 자동 호출)
+    @PrePersist
+    @PreUpdate
+    private void syncTradePoint() {
+        this.tradePoint = GeoUtils.toPointWkt(tradeLatitude, tradeLongitude);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.neo.rental.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * [상품별 리뷰 집계] - 리뷰 작성/수정/삭제 시 ItemRatingStatsRepository 의 원자적 UPDATE 로만 변경
+ * 상세/목록 조회는 리뷰를 전부 읽지 않고 이 한 행으로 평균/개수/분포를 계산합니다.
+ * (상품 삭제를 막지 않도록 item_table 과 FK 없이 item_id 만 보관, 고아 행은 복구 작업에서 정리)
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "item_rating_stats")
+public class ItemRatingStatsEntity {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    // 별점 분포 (1점 ~ 5점 개수)
+    @Column(name = "count1", nullable = false)
+    private long count1;
+
+    @Column(name = "count2", nullable = false)
+    private long count2;
+
+    @Column(name = "count3", nullable = false)
+    private long count3;
+
+    @Column(name = "count4", nullable = false)
+    private long count4;
+
+    @Column(name = "count5", nullable = false)
+    private long count5;
+
+    // 소수점 첫째 자리 반올림 평균 (리뷰가 없으면 0.0)
+    public double getAverageRating() {
+        return averageOf(ratingSum, reviewCount);
+    }
+
+    public List<Long> getHistogram() {
+        return List.of(count1, count2, count3, count4, count5);
+    }
+
+    public static double averageOf(long ratingSum, long reviewCount) {
+        if (reviewCount <= 0) return 0.0;
+        return Math.round((double) ratingSum / reviewCount * 10.0) / 10.0;
+    }
+}
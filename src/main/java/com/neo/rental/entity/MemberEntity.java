@@ -46,15 +46,6 @@ public class MemberEntity {
     @LastModifiedDate
     private LocalDateTime modifiedAt;
 
-    // [추가] 리프레시 토큰 저장용 필드
-    @Column(length = 1000) // 토큰 길이가 길 수 있으므로 넉넉하게
-    private String refreshToken;
-
-    // [추가] 리프레시 토큰 업데이트 메서드
-    public void updateRefreshToken(String refreshToken) {
-        this.refreshToken = refreshToken;
-    }
-
     // DTO -> Entity 변환 메서드
     public static MemberEntity toMemberEntity(MemberDTO memberDTO) {
         MemberEntity memberEntity = new MemberEntity();
@@ -0,0 +1,49 @@
+package com.neo.rental.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * [알림 발송 대기열(outbox)]
+ * 배치 작업이 보낼 알림을 같은 트랜잭션 안에서 이 테이블에 쌓아 두고, 발송은 별도로 처리합니다.
+ * (상태 변경은 커밋됐는데 알림만 유실되는 일이 없도록)
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "notification_outbox", indexes = {
+        // 미발송 알림 순서대로 읽기
+        @Index(name = "idx_outbox_unsent", columnList = "sent_at, notification_id")
+})
+public class NotificationOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notification_id")
+    private Long id;
+
+    // 받는 회원
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    // 알림 종류 (예: RENTAL_OVERDUE)
+    @Column(nullable = false, length = 30)
+    private String type;
+
+    // 관련 대여 건
+    @Column(name = "rental_id")
+    private Long rentalId;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 발송 완료 시각 (null 이면 미발송)
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
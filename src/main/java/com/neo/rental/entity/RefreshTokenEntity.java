@@ -0,0 +1,55 @@
+package com.neo.rental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * [Refresh Token 저장소] 기기(device)당 한 행
+ * - 토큰 원문은 저장하지 않고 SHA-256 해시(hex)만 저장 -> DB 가 유출돼도 토큰을 재사용할 수 없음
+ * - 조회는 token_hash 유니크 인덱스로 한 건만 읽음
+ * - 사용(갱신)할 때마다 새 토큰으로 교체 (rotation)
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "refresh_token",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+                @UniqueConstraint(name = "uk_refresh_token_device", columnNames = {"member_id", "device_id"})
+        },
+        indexes = {
+                // 만료된 토큰 정리
+                @Index(name = "idx_refresh_token_expires", columnList = "expires_at")
+        })
+public class RefreshTokenEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "refresh_token_id")
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "device_id", nullable = false, length = 64)
+    private String deviceId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -14,7 +14,17 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "rental_table")
+@Table(name = "rental_table", indexes = {
+        // 예약 기간 겹침 검사 (item_id 일치 + start_date 범위)
+        @Index(name = "idx_rental_item_period", columnList = "item_id, start_date, end_date"),
+        // 결제 기한이 지난 승인 건 조회 (status = APPROVED + approved_at 범위)
+        @Index(name = "idx_rental_status_approved", columnList = "status, approved_at"),
+        // 반납 기한 초과 감지 (status = RENTING + end_date 범위)
+        @Index(name = "idx_rental_status_end", columnList = "status, end_date, rental_id"),
+        // 내 대여 내역 / 받은 요청 최신순 페이지
+        @Index(name = "idx_rental_renter_created", columnList = "renter_id, created_at, rental_id"),
+        @Index(name = "idx_rental_owner_created", columnList = "owner_id, created_at, rental_id")
+})
 public class RentalEntity {
 
     @Id
@@ -22,6 +32,11 @@ public class RentalEntity {
     @Column(name = "rental_id")
     private Long id;
 
+    // [추가] 낙관적 락 버전 - 동시에 같은 행을 수정하면 나중 커밋이 실패 (기존 행은 0 으로 채워짐)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private long version;
+
     // ★ 어떤 물건? (필수)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
@@ -32,6 +47,10 @@ public class RentalEntity {
     @JoinColumn(name = "renter_id", nullable = false)
     private MemberEntity renter;
 
+    // [추가] 상품 주인 ID (item_table.member_id 비정규화) - 받은 요청 목록을 조인 없이 인덱스로 찾기 위함
+    @Column(name = "owner_id")
+    private Long ownerId;
+
     // ★ 추가됨: 총 대여 금액 (DB 1.3)
     @Column(name = "total_price")
     private int totalPrice;
@@ -52,6 +71,14 @@ public class RentalEntity {
     @Column(nullable = false)
     private LocalDateTime endDate;
 
+    // [추가] 승인 시각 - 결제 기한(approvedAt + rental.payment-window) 계산용
+    @Column(name = "approved_at")
+    private LocalDateTime approvedAt;
+
+    // [추가] 반납 기한 초과로 감지된 시각 (null 이면 정상)
+    @Column(name = "overdue_at")
+    private LocalDateTime overdueAt;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt; // 예약 신청 시간
@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "review_table")
+@Table(name = "review_table", indexes = {
+        // 상품별 리뷰 커서 페이지 (item_id 일치 + created_at, review_id 역순 범위 조회)
+        @Index(name = "idx_review_item_created", columnList = "item_id, created_at, review_id")
+})
 public class ReviewEntity {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
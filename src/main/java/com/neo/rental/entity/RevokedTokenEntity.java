@@ -0,0 +1,36 @@
+package com.neo.rental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * [폐기된 Access Token] 로그아웃 등으로 만료 전에 무효화된 토큰의 jti
+ * - expires_at(토큰 원래 만료 시각)이 지나면 토큰 자체가 거절되므로 행도 정리
+ * - revoked_at 으로 다른 서버가 새로 폐기된 토큰만 가져감 (증분 동기화)
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_token_expires", columnList = "expires_at")
+})
+public class RevokedTokenEntity {
+
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
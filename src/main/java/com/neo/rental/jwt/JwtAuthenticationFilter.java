@@ -1,5 +1,6 @@
 package com.neo.rental.jwt;
 
+import com.neo.rental.security.LoginMember;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -17,16 +18,22 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends GenericFilterBean {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedTokenRegistry revokedTokenRegistry;
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
         // 1. 헤더에서 토큰 꺼내기
         String token = resolveToken((HttpServletRequest) request);
 
-        // 2. 유효하면 인증 정보 저장
-        if (token != null && jwtTokenProvider.validateToken(token)) {
+        // 2. 유효하면 인증 정보 저장 (principal = LoginMember, 회원 조회 없음)
+        // 검증과 클레임 추출은 getAuthentication 안에서 한 번에 (검증된 토큰은 캐시)
+        if (token != null) {
             Authentication authentication = jwtTokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            // 로그아웃으로 폐기된 토큰은 제외 (대부분 메모리 필터에서 끝나고 DB 조회 없음)
+            if (authentication != null
+                    && !revokedTokenRegistry.isRevoked(((LoginMember) authentication.getPrincipal()).getTokenId())) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         chain.doFilter(request, response);
     }
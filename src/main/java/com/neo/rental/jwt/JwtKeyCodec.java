@@ -0,0 +1,197 @@
+package com.neo.rental.jwt;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * [서명 키 변환 유틸]
+ * PEM 파일 <-> Java 키 객체 <-> JWK(JSON Web Key) 변환을 외부 라이브러리 없이 처리합니다.
+ *
+ * - 개인키: PKCS#8 (BEGIN PRIVATE KEY) / PKCS#1 RSA (BEGIN RSA PRIVATE KEY)
+ * - 공개키: X.509 (BEGIN PUBLIC KEY)
+ * - EC 는 P-256 (ES256) 만 지원
+ */
+public final class JwtKeyCodec {
+
+    private static final String EC_CURVE = "secp256r1";
+    private static final int EC_COORDINATE_BYTES = 32;
+
+    // PKCS#1 RSA 키를 PKCS#8 로 감쌀 때 쓰는 AlgorithmIdentifier (rsaEncryption OID + NULL)
+    private static final byte[] RSA_ALGORITHM_IDENTIFIER = {
+            0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x01, 0x05, 0x00
+    };
+
+    private JwtKeyCodec() {
+    }
+
+    // [1. PEM -> 키]
+    public static PrivateKey parsePrivateKey(String pem, String keyAlgorithm) {
+        try {
+            byte[] der = decodePem(pem);
+            if (pem.contains("BEGIN RSA PRIVATE KEY")) {
+                der = wrapPkcs1(der);
+                keyAlgorithm = "RSA";
+            }
+            return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(der));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("개인키 형식이 올바르지 않습니다: " + e.getMessage(), e);
+        }
+    }
+
+    public static PublicKey parsePublicKey(String pem, String keyAlgorithm) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("공개키 형식이 올바르지 않습니다: " + e.getMessage(), e);
+        }
+    }
+
+    // RSA 개인키(CRT)에는 공개 지수가 들어 있으므로 공개키 파일 없이도 공개키를 만들 수 있음
+    public static PublicKey rsaPublicKeyOf(PrivateKey privateKey) {
+        if (!(privateKey instanceof RSAPrivateCrtKey crt)) {
+            throw new IllegalArgumentException("공개키를 계산할 수 없는 RSA 개인키입니다. 공개키 파일을 함께 지정해 주세요.");
+        }
+        try {
+            return KeyFactory.getInstance("RSA")
+                    .generatePublic(new RSAPublicKeySpec(crt.getModulus(), crt.getPublicExponent()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("RSA 공개키 생성 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * [2. kid] 공개키 DER 의 SHA-256 지문 (앞 16자)
+     * 설정 없이도 모든 서버가 같은 키에 같은 kid 를 붙이므로, 키를 교체해도 kid 가 겹치지 않음
+     */
+    public static String keyId(PublicKey publicKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // [3. 키 -> JWK] JWKS 엔드포인트 응답용
+    public static Map<String, Object> toJwk(String kid, PublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (publicKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("n", base64Url(unsigned(rsa.getModulus())));
+            jwk.put("e", base64Url(unsigned(rsa.getPublicExponent())));
+        } else if (publicKey instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(fixedLength(ec.getW().getAffineX(), EC_COORDINATE_BYTES)));
+            jwk.put("y", base64Url(fixedLength(ec.getW().getAffineY(), EC_COORDINATE_BYTES)));
+        } else {
+            throw new IllegalArgumentException("JWK 로 변환할 수 없는 키입니다: " + publicKey.getAlgorithm());
+        }
+        return jwk;
+    }
+
+    // [4. JWK -> 키] 검증 전용 서버가 JWKS 응답을 읽을 때 사용
+    public static PublicKey fromJwk(Map<String, ?> jwk) {
+        try {
+            String kty = String.valueOf(jwk.get("kty"));
+            if ("RSA".equals(kty)) {
+                return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                        new BigInteger(1, base64UrlDecode(jwk.get("n"))),
+                        new BigInteger(1, base64UrlDecode(jwk.get("e")))));
+            }
+            if ("EC".equals(kty) && "P-256".equals(jwk.get("crv"))) {
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(EC_CURVE));
+                ECPoint point = new ECPoint(
+                        new BigInteger(1, base64UrlDecode(jwk.get("x"))),
+                        new BigInteger(1, base64UrlDecode(jwk.get("y"))));
+                return KeyFactory.getInstance("EC").generatePublic(
+                        new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+            }
+            throw new IllegalArgumentException("지원하지 않는 JWK 형식입니다: " + kty);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("JWK 형식이 올바르지 않습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        String body = pem.replaceAll("-----(BEGIN|END)[^-]*-----", "").replaceAll("\\s", "");
+        if (body.isEmpty()) throw new IllegalArgumentException("PEM 내용이 비어 있습니다.");
+        return Base64.getDecoder().decode(body.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // PKCS#8 PrivateKeyInfo ::= SEQUENCE { version INTEGER(0), algorithm AlgorithmIdentifier, privateKey OCTET STRING }
+    private static byte[] wrapPkcs1(byte[] pkcs1) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(new byte[]{0x02, 0x01, 0x00});
+        body.writeBytes(RSA_ALGORITHM_IDENTIFIER);
+        body.write(0x04);
+        writeDerLength(body, pkcs1.length);
+        body.writeBytes(pkcs1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0x30);
+        writeDerLength(out, body.size());
+        out.writeBytes(body.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static void writeDerLength(ByteArrayOutputStream out, int length) {
+        if (length < 0x80) {
+            out.write(length);
+            return;
+        }
+        int bytes = (Integer.SIZE - Integer.numberOfLeadingZeros(length) + 7) / 8;
+        out.write(0x80 | bytes);
+        for (int i = bytes - 1; i >= 0; i--) out.write(length >>> (i * 8));
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return (bytes.length > 1 && bytes[0] == 0) ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static byte[] fixedLength(BigInteger value, int length) {
+        byte[] bytes = unsigned(value);
+        if (bytes.length == length) return bytes;
+        byte[] padded = new byte[length];
+        System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+        return padded;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] base64UrlDecode(Object value) {
+        if (value == null) throw new IllegalArgumentException("JWK 필드가 비어 있습니다.");
+        return Base64.getUrlDecoder().decode(value.toString());
+    }
+}
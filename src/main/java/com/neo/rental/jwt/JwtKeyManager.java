@@ -0,0 +1,264 @@
+package com.neo.rental.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * [JWT 서명/검증 키 관리]
+ * jwt.signing.algorithm 에 따라 HS256(공유 비밀키) 또는 RS256/ES256(개인키 서명 + 공개키 검증)을 사용합니다.
+ *
+ * - 발급 서버: 개인키(jwt.signing.private-key)로 서명하고 헤더에 kid(공개키 지문)를 붙임
+ * - 검증 전용 서버: 개인키 없이 공개키(jwt.signing.public-key) 또는 발급 서버의 JWKS(jwt.verification.jwks-uri)로 검증
+ * - 키 교체: 새 키로 바꾸고 이전 공개키를 jwt.signing.previous-public-keys 에 Access Token 유효기간(1일)만큼 남겨 둠
+ *   검증 전용 서버는 모르는 kid 를 만나면 JWKS 를 다시 받아옴 (jwks-refresh-min-interval 에 한 번까지)
+ *   조회는 한 번에 한 요청만 하고, 그동안 모르는 kid 로 들어온 다른 요청은 기다리지 않고 바로 거절
+ * - kid 가 없는 토큰(HS256)은 jwt.secret 이 설정된 서버에서만 검증 (RS256 전환 전에 발급된 토큰)
+ */
+@Slf4j
+@Component
+public class JwtKeyManager extends SigningKeyResolverAdapter {
+
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final Key signingKey;
+    private final String signingKeyId;
+    private final Key hmacKey;
+    // 이 서버 설정에 있는 공개키 (kid -> 키, 현재 키가 먼저)
+    private final Map<String, PublicKey> localKeys;
+
+    // JWKS 에서 받아온 공개키 (통째로 교체)
+    private final String jwksUri;
+    private final long jwksRefreshMinIntervalNanos;
+    private final RestTemplate restTemplate = createRestTemplate();
+    private final AtomicBoolean jwksRefreshing = new AtomicBoolean();
+    private volatile Map<String, PublicKey> remoteKeys = Map.of();
+    private volatile long lastJwksFetchNanos;
+    private volatile boolean jwksFetched = false;
+
+    @Autowired
+    public JwtKeyManager(ResourceLoader resourceLoader,
+                         @Value("${jwt.secret:}") String secret,
+                         @Value("${jwt.signing.algorithm:HS256}") String algorithm,
+                         @Value("${jwt.signing.private-key:}") String privateKeyLocation,
+                         @Value("${jwt.signing.public-key:}") String publicKeyLocation,
+                         @Value("${jwt.signing.previous-public-keys:}") List<String> previousPublicKeyLocations,
+                         @Value("${jwt.verification.jwks-uri:}") String jwksUri,
+                         @Value("${jwt.verification.jwks-refresh-min-interval:PT30S}") Duration jwksRefreshMinInterval) {
+        SignatureAlgorithm alg = SignatureAlgorithm.forName(algorithm);
+        if (alg != SignatureAlgorithm.HS256 && alg != SignatureAlgorithm.RS256 && alg != SignatureAlgorithm.ES256) {
+            throw new IllegalArgumentException("지원하지 않는 서명 알고리즘입니다: " + algorithm);
+        }
+        this.hmacKey = StringUtils.hasText(secret) ? Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)) : null;
+        this.jwksUri = StringUtils.hasText(jwksUri) ? jwksUri : null;
+        this.jwksRefreshMinIntervalNanos = jwksRefreshMinInterval.toNanos();
+
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        if (alg == SignatureAlgorithm.HS256) {
+            if (hmacKey == null) throw new IllegalStateException("HS256 서명에는 jwt.secret 이 필요합니다.");
+            this.signatureAlgorithm = alg;
+            this.signingKey = hmacKey;
+            this.signingKeyId = null;
+        } else {
+            String keyAlgorithm = alg.isRsa() ? "RSA" : "EC";
+            PublicKey publicKey = StringUtils.hasText(publicKeyLocation)
+                    ? JwtKeyCodec.parsePublicKey(read(resourceLoader, publicKeyLocation), keyAlgorithm)
+                    : null;
+
+            if (StringUtils.hasText(privateKeyLocation)) {
+                PrivateKey privateKey = JwtKeyCodec.parsePrivateKey(read(resourceLoader, privateKeyLocation), keyAlgorithm);
+                if (publicKey == null) {
+                    if (!alg.isRsa()) throw new IllegalStateException("ES256 은 jwt.signing.public-key 도 지정해야 합니다.");
+                    publicKey = JwtKeyCodec.rsaPublicKeyOf(privateKey);
+                }
+                this.signatureAlgorithm = alg;
+                this.signingKey = privateKey;
+                this.signingKeyId = JwtKeyCodec.keyId(publicKey);
+            } else {
+                // 개인키가 없으면 검증 전용 서버
+                this.signatureAlgorithm = null;
+                this.signingKey = null;
+                this.signingKeyId = null;
+            }
+            if (publicKey != null) keys.put(JwtKeyCodec.keyId(publicKey), publicKey);
+        }
+
+        if (previousPublicKeyLocations != null) {
+            for (String location : previousPublicKeyLocations) {
+                if (!StringUtils.hasText(location)) continue;
+                PublicKey previous = parseAnyPublicKey(read(resourceLoader, location.trim()));
+                keys.putIfAbsent(JwtKeyCodec.keyId(previous), previous);
+            }
+        }
+        this.localKeys = Collections.unmodifiableMap(keys);
+
+        if (hmacKey == null && localKeys.isEmpty() && this.jwksUri == null) {
+            throw new IllegalStateException("토큰을 검증할 키가 없습니다. (jwt.secret / jwt.signing.* / jwt.verification.jwks-uri)");
+        }
+        log.info("🔑 JWT 키 설정: 서명={}, kid={}, 검증 공개키 {}개, JWKS={}",
+                (signatureAlgorithm != null) ? signatureAlgorithm : "없음(검증 전용)", signingKeyId, localKeys.size(), this.jwksUri);
+    }
+
+    // HS256 공유 비밀키만 쓰는 구성 (벤치마크/테스트용)
+    public static JwtKeyManager hmac(String secret) {
+        return new JwtKeyManager(new DefaultResourceLoader(), secret, "HS256",
+                "", "", List.of(), "", Duration.ofSeconds(30));
+    }
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    // HS256 이면 null (헤더에 kid 를 붙이지 않음)
+    public String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    // [1. JWKS] 이 서버가 알고 있는 공개키 목록 (현재 키 + 교체 전 키)
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        localKeys.forEach((kid, key) -> keys.add(JwtKeyCodec.toJwk(kid, key)));
+        return Map.of("keys", keys);
+    }
+
+    // [2. 검증 키 선택] 토큰 헤더의 kid 로 공개키 조회
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return resolve(header);
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+        return resolve(header);
+    }
+
+    private Key resolve(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (hmacKey != null) return hmacKey;
+            throw new UnsupportedJwtException("kid 가 없는 토큰입니다.");
+        }
+
+        PublicKey key = localKeys.get(kid);
+        if (key == null) key = remoteKeys.get(kid);
+        if (key == null && jwksUri != null) {
+            refreshRemoteKeys();
+            key = remoteKeys.get(kid);
+        }
+        if (key == null) throw new UnsupportedJwtException("알 수 없는 서명 키입니다: " + kid);
+        return key;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (jwksUri != null) refreshRemoteKeys();
+    }
+
+    /**
+     * [3. JWKS 갱신] 요청 스레드에서 호출되므로 오래 붙잡지 않음
+     * - 모르는 kid 가 계속 들어와도 발급 서버를 두드리지 않도록 최소 간격 유지
+     * - 한 번에 한 스레드만 조회하고, 조회 중에 들어온 다른 스레드는 기다리지 않고 돌아감 (기존 키로만 판단)
+     * - 발급 서버가 느려도 연결/응답 제한 시간 안에 끝남
+     */
+    private void refreshRemoteKeys() {
+        if (!refreshDue() || !jwksRefreshing.compareAndSet(false, true)) return;
+        try {
+            // 앞선 스레드가 방금 조회를 끝냈을 수 있음
+            if (!refreshDue()) return;
+            jwksFetched = true;
+            lastJwksFetchNanos = System.nanoTime();
+            fetchRemoteKeys();
+        } finally {
+            jwksRefreshing.set(false);
+        }
+    }
+
+    private boolean refreshDue() {
+        return !jwksFetched || System.nanoTime() - lastJwksFetchNanos >= jwksRefreshMinIntervalNanos;
+    }
+
+    private void fetchRemoteKeys() {
+        try {
+            Map<?, ?> response = restTemplate.getForObject(jwksUri, Map.class);
+            Object keys = (response != null) ? response.get("keys") : null;
+            if (!(keys instanceof List<?> list)) return;
+
+            Map<String, PublicKey> fetched = new HashMap<>();
+            for (Object item : list) {
+                if (!(item instanceof Map<?, ?> jwk) || jwk.get("kid") == null) continue;
+                try {
+                    @SuppressWarnings("unchecked")
+                    PublicKey key = JwtKeyCodec.fromJwk((Map<String, ?>) jwk);
+                    fetched.put(jwk.get("kid").toString(), key);
+                } catch (IllegalArgumentException e) {
+                    log.warn("JWKS 키를 읽을 수 없습니다 (kid={}): {}", jwk.get("kid"), e.getMessage());
+                }
+            }
+            remoteKeys = Map.copyOf(fetched);
+            log.info("🔑 JWKS 갱신: {}개", fetched.size());
+        } catch (RestClientException e) {
+            log.warn("JWKS 조회 실패 ({}): {}", jwksUri, e.getMessage());
+        }
+    }
+
+    private static RestTemplate createRestTemplate() {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(Duration.ofSeconds(1));
+        factory.setReadTimeout(Duration.ofSeconds(2));
+        return new RestTemplate(factory);
+    }
+
+    // 이전 키는 RSA/EC 어느 쪽이든 올 수 있음
+    private static PublicKey parseAnyPublicKey(String pem) {
+        try {
+            return JwtKeyCodec.parsePublicKey(pem, "RSA");
+        } catch (IllegalArgumentException e) {
+            return JwtKeyCodec.parsePublicKey(pem, "EC");
+        }
+    }
+
+    private static String read(ResourceLoader resourceLoader, String location) {
+        try {
+            return resourceLoader.getResource(location).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("키 파일을 읽을 수 없습니다: " + location, e);
+        }
+    }
+}
@@ -1,39 +1,51 @@
 package com.neo.rental.jwt;
 
-import com.neo.rental.dto.TokenInfo;
+import com.neo.rental.security.CustomUserDetails;
+import com.neo.rental.security.LoginMember;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
-    private final Key key;
-
-    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey) {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        this.key = Keys.hmacShaKeyFor(keyBytes);
+    // [추가] 회원 식별 클레임 (요청마다 이메일로 회원을 조회하지 않도록)
+    private static final String MEMBER_ID_CLAIM = "mid";
+    private static final String NAME_CLAIM = "name";
+
+    // [변경] 서명 키는 JwtKeyManager 가 관리 (HS256 공유 비밀키 또는 RS256/ES256 개인키)
+    private final JwtKeyManager keyManager;
+    // [추가] 파서는 한 번만 만들어 재사용 (불변 객체라 여러 스레드에서 공유 가능)
+    // 검증 키는 토큰 헤더의 kid 로 선택 -> 키 교체 중에도 이전 키로 서명된 토큰 검증 가능
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenProvider(JwtKeyManager keyManager, VerifiedTokenCache verifiedTokenCache) {
+        this.keyManager = keyManager;
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(keyManager).build();
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
-    // 1. 토큰 생성 (Access Token + Refresh Token)
-    public TokenInfo generateToken(Authentication authentication) {
+    // 1. Access Token 생성 (유효기간: 1일) - 회원 ID/이름 포함
+    // [변경] Refresh Token 은 서명 토큰이 아니라 RefreshTokenService 가 발급하는 임의 값 (기기별 저장/교체)
+    public String generateAccessToken(Authentication authentication) {
+        if (!keyManager.canSign()) {
+            throw new IllegalStateException("토큰 발급 키가 없는 서버입니다. (검증 전용)");
+        }
+
         // 권한 가져오기
         String authorities = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
@@ -41,37 +53,67 @@ public class JwtTokenProvider {
 
         long now = (new Date()).getTime();
 
-        // 1) Access Token 생성 (유효기간: 1일)
+        LoginMember member = toLoginMember(authentication);
         Date accessTokenExpiresIn = new Date(now + 86400000);
-        String accessToken = Jwts.builder()
-                .setSubject(authentication.getName())
+        JwtBuilder builder = Jwts.builder();
+        if (keyManager.getSigningKeyId() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, keyManager.getSigningKeyId()); // [추가] 검증 서버가 공개키를 고르는 기준
+        }
+        return builder
+                .setId(UUID.randomUUID().toString()) // [추가] 토큰 ID (jti) - 로그아웃 시 이 토큰만 폐기
+                .setIssuedAt(new Date(now))
+                .setSubject(member.getEmail())
+                .claim(MEMBER_ID_CLAIM, member.getId())
+                .claim(NAME_CLAIM, member.getName())
                 .claim("auth", authorities)
                 .setExpiration(accessTokenExpiresIn)
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
-
-        // 2) [추가] Refresh Token 생성 (유효기간: 7일)
-        // Refresh Token은 보통 권한 정보 없이 만료 시간만 설정하거나, 필요한 최소 정보만 담습니다.
-        Date refreshTokenExpiresIn = new Date(now + 604800000);
-        String refreshToken = Jwts.builder()
-                .setExpiration(refreshTokenExpiresIn)
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(keyManager.getSigningKey(), keyManager.getSignatureAlgorithm())
                 .compact();
+    }
 
-        // 3) TokenInfo에 담아 반환
-        return TokenInfo.builder()
-                .grantType("Bearer")
-                .accessToken(accessToken)
-                .refreshToken(refreshToken) // [필수] TokenInfo DTO에 필드가 추가되어 있어야 함
-                .build();
+    // 로그인(CustomUserDetails) / 토큰 갱신(LoginMember) 양쪽에서 회원 정보 추출
+    private static LoginMember toLoginMember(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof LoginMember loginMember) {
+            return loginMember;
+        }
+        if (principal instanceof CustomUserDetails userDetails) {
+            return new LoginMember(userDetails.getId(), userDetails.getUsername(), userDetails.getName(), null);
+        }
+        throw new IllegalStateException("회원 정보가 없는 인증 객체입니다.");
     }
 
-    // 2. 토큰에서 인증 정보 추출
+    /**
+     * 2. 토큰 검증 + 인증 정보 추출 (DB 조회 없이 클레임만 사용)
+     * - 서명 검증과 클레임 추출을 한 번의 파싱으로 처리
+     * - 검증된 토큰은 만료 시각까지 캐시 -> 같은 토큰의 다음 요청은 파싱/서명 검증 없이 처리
+     * - 유효하지 않은 토큰, 권한 정보가 없는 토큰(Refresh Token), 회원 ID 가 없는 예전 형식의 토큰이면 null
+     *   (인증되지 않은 요청으로 처리 -> 토큰 갱신 유도)
+     */
     public Authentication getAuthentication(String accessToken) {
-        Claims claims = parseClaims(accessToken);
+        LoginMember cached = verifiedTokenCache.get(accessToken);
+        if (cached != null) {
+            return new UsernamePasswordAuthenticationToken(cached, "", cached.getAuthorities());
+        }
+
+        Claims claims = parseVerifiedClaims(accessToken);
+        if (claims == null) return null;
 
+        LoginMember principal = toLoginMember(claims);
+        if (principal == null) return null;
+        if (claims.getExpiration() != null) {
+            verifiedTokenCache.put(accessToken, principal, claims.getExpiration().toInstant());
+        }
+        return new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities());
+    }
+
+    private static LoginMember toLoginMember(Claims claims) {
         if (claims.get("auth") == null) {
-            throw new RuntimeException("권한 정보가 없는 토큰입니다.");
+            return null;
+        }
+        Object memberId = claims.get(MEMBER_ID_CLAIM);
+        if (!(memberId instanceof Number)) {
+            return null;
         }
 
         // 권한 정보가 비어있을 경우를 대비한 로직
@@ -82,15 +124,20 @@ public class JwtTokenProvider {
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
 
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
-        return new UsernamePasswordAuthenticationToken(principal, "", authorities);
+        return new LoginMember(((Number) memberId).longValue(), claims.getSubject(),
+                claims.get(NAME_CLAIM, String.class), authorities, claims.getId(),
+                (claims.getExpiration() != null) ? claims.getExpiration().toInstant() : null);
     }
 
-    // 3. 토큰 검증
+    // 3. 토큰 검증 (서명/만료)
     public boolean validateToken(String token) {
+        return parseVerifiedClaims(token) != null;
+    }
+
+    // 서명/만료 검증 후 클레임 반환 (실패하면 null)
+    private Claims parseVerifiedClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (SecurityException | MalformedJwtException e) {
             log.info("잘못된 JWT 서명입니다.", e);
         } catch (ExpiredJwtException e) {
@@ -100,14 +147,6 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException e) {
             log.info("JWT 토큰이 잘못되었습니다.", e);
         }
-        return false;
-    }
-
-    private Claims parseClaims(String accessToken) {
-        try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
-        } catch (ExpiredJwtException e) {
-            return e.getClaims();
-        }
+        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.neo.rental.jwt;
+
+import com.neo.rental.entity.RevokedTokenEntity;
+import com.neo.rental.repository.RevokedTokenRepository;
+import com.neo.rental.security.LoginMember;
+import com.neo.rental.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * [Access Token 폐기 목록]
+ * 로그아웃한 토큰의 jti 를 revoked_token 테이블에 기록하고, 요청마다의 확인은 메모리 Bloom filter 로 처리합니다.
+ *
+ * - 필터가 "없음" 이라고 하면(대부분의 요청) DB 조회 없이 통과
+ * - "있을 수도 있음" 일 때만 DB 에서 정확히 확인 (폐기된 토큰 + 약 1% 오탐)
+ * - 이 서버에서 폐기한 토큰은 즉시, 다른 서버에서 폐기한 토큰은 동기화 주기(jwt.revocation.sync-interval) 안에 반영
+ * - Bloom filter 는 삭제가 안 되므로 주기적으로(jwt.revocation.rebuild-interval) 만료 안 된 항목만으로 다시 만들고 만료 행 정리
+ * - 메트릭: jwt.revocation.db-checks (필터를 통과하지 못해 DB 로 확인한 횟수)
+ */
+@Slf4j
+@Component
+public class RevokedTokenRegistry {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // 다른 서버의 폐기가 커밋 지연/서버 시계 차이로 늦게 보일 수 있으므로 동기화 구간을 겹쳐서 조회
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(2);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final Counter dbChecks;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready = false;
+    private LocalDateTime lastSyncAt;
+
+    public RevokedTokenRegistry(RevokedTokenRepository revokedTokenRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${jwt.revocation.expected-revocations:100000}") int expectedRevocations) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+        this.dbChecks = Counter.builder("jwt.revocation.db-checks")
+                .description("Bloom filter 가 폐기 가능성을 알려 DB 로 확인한 횟수")
+                .register(meterRegistry);
+    }
+
+    // [1. 폐기] 로그아웃 - 토큰의 원래 만료 시각까지만 보관
+    @Transactional
+    public void revoke(LoginMember member) {
+        // jti 가 없는 예전 형식 토큰은 원래 만료 시각까지 유효
+        if (member.getTokenId() == null || member.getTokenExpiresAt() == null) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(member.getTokenExpiresAt(), ZoneId.systemDefault());
+        if (!expiresAt.isAfter(now) || revokedTokenRepository.existsById(member.getTokenId())) return;
+
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .jti(member.getTokenId())
+                .memberId(member.getId())
+                .expiresAt(expiresAt)
+                .revokedAt(now)
+                .build());
+        filter.put(member.getTokenId());
+    }
+
+    // [2. 폐기 여부] 필터 적재 전에는 DB 로 확인
+    public boolean isRevoked(String jti) {
+        if (jti == null) return false;
+        if (ready && !filter.mightContain(jti)) return false;
+        dbChecks.increment();
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    // [3. 재구성] 만료된 행 정리 + 남은 항목으로 필터를 새로 만들어 교체
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:PT1H}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:PT1H}")
+    public synchronized void rebuild() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.deleteExpired(now);
+
+            List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, jtis.size() * 2), FALSE_POSITIVE_RATE);
+            jtis.forEach(rebuilt::put);
+
+            // 교체 직전에 이전 필터에만 들어간 폐기 건은 다음 동기화(겹치는 구간)에서 다시 반영됨
+            filter = rebuilt;
+            lastSyncAt = now.minus(SYNC_OVERLAP);
+            ready = true;
+            log.info("🔒 폐기 토큰 필터 재구성: {}건", jtis.size());
+        } catch (DataAccessException e) {
+            log.warn("폐기 토큰 필터 재구성 실패: {}", e.getMessage());
+        }
+    }
+
+    // [4. 증분 동기화] 다른 서버에서 폐기한 토큰 반영
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT5S}")
+    public synchronized void sync() {
+        if (!ready) return;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            BloomFilter current = filter;
+            revokedTokenRepository.findJtisRevokedSince(lastSyncAt, now).forEach(current::put);
+            lastSyncAt = now.minus(SYNC_OVERLAP);
+        } catch (DataAccessException e) {
+            log.warn("폐기 토큰 동기화 실패: {}", e.getMessage());
+        }
+    }
+}
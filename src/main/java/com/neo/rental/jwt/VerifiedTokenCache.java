@@ -0,0 +1,97 @@
+package com.neo.rental.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.neo.rental.security.LoginMember;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * [검증된 Access Token 캐시]
+ * 같은 토큰으로 들어오는 요청마다 서명 검증 + Base64/JSON 파싱을 반복하지 않도록,
+ * 한 번 검증한 토큰의 회원 정보(LoginMember)를 토큰 자신의 만료 시각(exp)까지 보관합니다.
+ *
+ * - 키: 토큰 원문이 아니라 SHA-256 digest (메모리 절약 + 원문 토큰을 힙에 오래 남기지 않음)
+ * - 크기 제한: 최대 항목 수 (넘치면 오래 안 쓰인 토큰부터 제거 -> 다음 요청에서 다시 검증할 뿐), 0 이면 캐시 사용 안 함
+ * - 검증에 실패한 토큰은 캐시하지 않음
+ * - 메트릭: cache.gets{cache=jwtAuth, result=hit|miss}, cache.size 등
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "jwtAuth";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${jwt.auth-cache.max-size:10000}") long maxSize) {
+        if (maxSize <= 0) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // 캐시에 있고 아직 만료되지 않았으면 회원 정보, 아니면 null
+    public LoginMember get(String token) {
+        if (cache == null) return null;
+        VerifiedToken verified = cache.getIfPresent(digest(token));
+        if (verified == null || !verified.expiresAt().isAfter(Instant.now())) return null;
+        return verified.member();
+    }
+
+    public void put(String token, LoginMember member, Instant expiresAt) {
+        if (cache == null || !expiresAt.isAfter(Instant.now())) return;
+        cache.put(digest(token), new VerifiedToken(member, expiresAt));
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private record VerifiedToken(LoginMember member, Instant expiresAt) {
+    }
+
+    // 항목마다 "토큰 만료 시각 - 현재" 만큼만 보관
+    private static final class UntilTokenExpires implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
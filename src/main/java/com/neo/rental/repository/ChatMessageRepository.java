@@ -1,11 +1,19 @@
 package com.neo.rental.repository;
 
 import com.neo.rental.entity.ChatMessageEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List; // List 임포트 필수
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessageEntity, Long> {
 
-    // [수정] Entity의 필드명이 'sendDate'이므로 메서드 이름도 'SendDate'여야 합니다.
-    List<ChatMessageEntity> findAllByChatRoomIdOrderBySendDateAsc(Long roomId);
+    // [변경] 메시지 ID 가 보낸 시각 순서이므로 (room_id, message_id) 인덱스 순서 그대로 조회 (정렬 없음)
+    List<ChatMessageEntity> findAllByChatRoom_IdOrderByIdAsc(Long roomId);
+
+    // [추가] 커서 페이지 - beforeId 보다 오래된 메시지를 최신순으로 limit 건 (인덱스 범위 조회, 내역 길이와 무관)
+    @Query("SELECT m FROM ChatMessageEntity m WHERE m.chatRoom.id = :roomId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<ChatMessageEntity> findPageBefore(@Param("roomId") Long roomId, @Param("beforeId") Long beforeId, Limit limit);
 }
\ No newline at end of file
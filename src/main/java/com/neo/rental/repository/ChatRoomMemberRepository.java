@@ -0,0 +1,23 @@
+package com.neo.rental.repository;
+
+import com.neo.rental.chat.ChatRoomSummary;
+import com.neo.rental.entity.ChatRoomMemberEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMemberEntity, Long> {
+
+    // 내 채팅방 목록 - idx_chat_room_member_activity 역순 조회 + 방/상품/상대방은 PK 조인 (방마다 추가 조회 없음)
+    @Query("SELECT new com.neo.rental.chat.ChatRoomSummary(m.roomId, i.id, i.title, i.itemImageUrl, p.name, " +
+            "m.lastMessagePreview, m.lastMessageAt, m.unreadCount) " +
+            "FROM ChatRoomMemberEntity m " +
+            "JOIN ChatRoomEntity r ON r.id = m.roomId " +
+            "JOIN r.item i " +
+            "JOIN MemberEntity p ON p.id = m.partnerId " +
+            "WHERE m.memberId = :memberId " +
+            "ORDER BY m.lastActivityAt DESC, m.roomId DESC")
+    List<ChatRoomSummary> findRoomList(@Param("memberId") Long memberId);
+}
@@ -1,7 +1,10 @@
 package com.neo.rental.repository;
 
+import com.neo.rental.chat.ChatRoomParticipants;
 import com.neo.rental.entity.ChatRoomEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +15,9 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoomEntity, Long>
 
     // 내가 참여중인 모든 방 찾기 (구매자 or 판매자)
     List<ChatRoomEntity> findByBuyer_IdOrSeller_Id(Long buyerId, Long sellerId);
+
+    // [추가] 메시지 발신자 확인용 - 방 + 두 참여자의 ID/이름만 한 번에 조회
+    @Query("SELECT new com.neo.rental.chat.ChatRoomParticipants(r.id, b.id, b.name, s.id, s.name) " +
+            "FROM ChatRoomEntity r JOIN r.buyer b JOIN r.seller s WHERE r.id = :roomId")
+    Optional<ChatRoomParticipants> findParticipants(@Param("roomId") Long roomId);
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.neo.rental.repository;
+
+import com.neo.rental.entity.ItemRatingStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ItemRatingStatsRepository extends JpaRepository<ItemRatingStatsEntity, Long> {
+
+    /**
+     * [리뷰 1건 반영] delta = +1 (작성) / -1 (삭제), 수정은 (기존 별점, -1) + (새 별점, +1)
+     * 읽고-계산하고-쓰는 방식이 아니라 DB 에서 원자적으로 더하므로 동시에 리뷰가 달려도 값이 유실되지 않음
+     * 집계 행이 없으면 새로 만듦 (INSERT ... ON DUPLICATE KEY UPDATE)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO item_rating_stats " +
+            "(item_id, rating_sum, review_count, count1, count2, count3, count4, count5) " +
+            "VALUES (:itemId, GREATEST(:rating * :delta, 0), GREATEST(:delta, 0), " +
+            "  IF(:rating = 1, GREATEST(:delta, 0), 0), IF(:rating = 2, GREATEST(:delta, 0), 0), " +
+            "  IF(:rating = 3, GREATEST(:delta, 0), 0), IF(:rating = 4, GREATEST(:delta, 0), 0), " +
+            "  IF(:rating = 5, GREATEST(:delta, 0), 0)) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "rating_sum = rating_sum + :rating * :delta, " +
+            "review_count = review_count + :delta, " +
+            "count1 = count1 + IF(:rating = 1, :delta, 0), " +
+            "count2 = count2 + IF(:rating = 2, :delta, 0), " +
+            "count3 = count3 + IF(:rating = 3, :delta, 0), " +
+            "count4 = count4 + IF(:rating = 4, :delta, 0), " +
+            "count5 = count5 + IF(:rating = 5, :delta, 0)",
+            nativeQuery = true)
+    int applyRating(@Param("itemId") Long itemId, @Param("rating") int rating, @Param("delta") int delta);
+}
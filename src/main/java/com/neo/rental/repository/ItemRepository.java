@@ -1,11 +1,25 @@
 package com.neo.rental.repository;
 
+import com.neo.rental.constant.ItemCategory;
+import com.neo.rental.constant.RentalStatus;
+import com.neo.rental.dto.ItemSummaryDto;
 import com.neo.rental.entity.ItemEntity;
+import com.neo.rental.search.ItemSearchDocument;
+import com.neo.rental.search.ItemSearchHit;
+import com.neo.rental.search.KeywordSource;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<ItemEntity, Long> {
 
@@ -14,28 +28,107 @@ public interface ItemRepository extends JpaRepository<ItemEntity, Long> {
      * 수정사항: item_status 조건을 'AVAILABLE' 단일 체크에서
      * ('AVAILABLE', 'RENTED') 포함 체크로 변경하거나,
      * 상태 조건을 제거하여 모든 상품을 노출시킴.
+     * 좌표 조건이 없는 경우 전용 (최신순 정렬)
+     * [커서 페이지] (created_at, item_id) 가 커서보다 뒤인 행만 -> idx_item_created_at 인덱스 범위 조회
      */
-    @Query(value = "SELECT * FROM item_table i " +
-            "WHERE i.item_status IN ('AVAILABLE', 'RENTED','SOLD_OUT') " + // [핵심 수정] RENTED 상태도 조회 목록에 포함
+    @Query("SELECT new com.neo.rental.search.ItemSearchHit(i.id, 0.0, i.createdAt, 0) " +
+            "FROM ItemEntity i " +
+            "WHERE i.itemStatus IN (com.neo.rental.constant.ItemStatus.AVAILABLE, " + // [핵심 수정] RENTED 상태도 조회 목록에 포함
+            "       com.neo.rental.constant.ItemStatus.RENTED, com.neo.rental.constant.ItemStatus.SOLD_OUT) " +
             "AND (:category IS NULL OR i.category = :category) " +
             "AND (:keyword IS NULL OR i.title LIKE CONCAT('%', :keyword, '%')) " +
-            "AND (" +
-            "   (:lat IS NULL OR :lng IS NULL) " +
-            "   OR ST_Distance_Sphere(POINT(:lng, :lat), POINT(i.trade_longitude, i.trade_latitude)) <= :radius" +
-            ") " +
-            "ORDER BY " +
-            "   CASE WHEN (:lat IS NOT NULL AND :lng IS NOT NULL) " +
-            "       THEN ST_Distance_Sphere(POINT(:lng, :lat), POINT(i.trade_longitude, i.trade_latitude)) " +
-            "       ELSE i.created_at END " +
-            "   ASC, i.created_at DESC " +
+            "AND (i.createdAt < :afterCreatedAt OR (i.createdAt = :afterCreatedAt AND i.id < :afterId)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<ItemSearchHit> searchItems(
+            @Param("category") ItemCategory category,
+            @Param("keyword") String keyword,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    /**
+     * [위치 기반 검색 쿼리]
+     * 1차: 반경을 감싸는 사각형(boundingBox)으로 MBRContains -> trade_point 의 SPATIAL INDEX 사용
+     * 2차: 사각형 안에 들어온 후보만 ST_Distance_Sphere 로 정확한 거리 계산 후 반경 필터
+     * (예전처럼 전체 행에 대해 거리 계산을 WHERE/ORDER BY 에서 두 번씩 하지 않음)
+     * [커서 페이지] (distance, created_at, item_id) 가 커서보다 뒤인 행만
+     * - 거리 조건을 HAVING 이 아닌 파생 테이블 바깥 WHERE 에 두어, 커서 앞의 행은 정렬 전에 걸러냄
+     */
+    @Query(value = "SELECT n.itemId, n.createdAt, n.distance FROM (" +
+            "SELECT i.item_id AS itemId, i.created_at AS createdAt, " +
+            "ST_Distance_Sphere(i.trade_point, ST_SRID(POINT(:lng, :lat), 4326)) AS distance " +
+            "FROM item_table i " +
+            "WHERE MBRContains(ST_GeomFromText(:boundingBox, 4326, 'axis-order=long-lat'), i.trade_point) " +
+            "AND i.trade_latitude IS NOT NULL AND i.trade_longitude IS NOT NULL " +
+            "AND i.item_status IN ('AVAILABLE', 'RENTED','SOLD_OUT') " +
+            "AND (:category IS NULL OR i.category = :category) " +
+            "AND (:keyword IS NULL OR i.title LIKE CONCAT('%', :keyword, '%'))" +
+            ") n " +
+            "WHERE n.distance <= :radius " +
+            "AND (n.distance > :afterDistance OR (n.distance = :afterDistance " +
+            "     AND (n.createdAt < :afterCreatedAt OR (n.createdAt = :afterCreatedAt AND n.itemId < :afterId)))) " +
+            "ORDER BY n.distance ASC, n.createdAt DESC, n.itemId DESC " +
             "LIMIT :limit",
             nativeQuery = true)
-    List<ItemEntity> searchItems(
+    List<NearbyItemRow> searchItemsNearby(
             @Param("category") String category,
             @Param("keyword") String keyword,
             @Param("lat") Double lat,
             @Param("lng") Double lng,
             @Param("radius") Double radius,
+            @Param("boundingBox") String boundingBox,
+            @Param("afterDistance") Double afterDistance,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
             @Param("limit") int limit
     );
-}
\ No newline at end of file
+
+    // 위치 검색 결과 행 (상품 ID + 정렬 키)
+    interface NearbyItemRow {
+        Long getItemId();
+        Double getDistance();
+        LocalDateTime getCreatedAt();
+    }
+
+    // [동시성] 상품 버전을 강제로 올림 - 같은 상품의 예약을 동시에 확정하면 나중 커밋이 충돌로 실패
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT i FROM ItemEntity i WHERE i.id = :itemId")
+    Optional<ItemEntity> findByIdForVersionBump(@Param("itemId") Long itemId);
+
+    // [결제 기한 만료 등 일괄 처리] 확정된 예약이 더 이상 없는 상품만 AVAILABLE 로 복구 (버전 함께 증가)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ItemEntity i SET i.itemStatus = com.neo.rental.constant.ItemStatus.AVAILABLE, i.version = i.version + 1 " +
+            "WHERE i.id IN :itemIds AND i.itemStatus = com.neo.rental.constant.ItemStatus.RENTED " +
+            "AND NOT EXISTS (SELECT r.id FROM RentalEntity r WHERE r.item = i AND r.status IN :occupyingStatuses)")
+    int releaseIfIdle(@Param("itemIds") Collection<Long> itemIds,
+                      @Param("occupyingStatuses") Collection<RentalStatus> occupyingStatuses);
+
+    // [목록 카드용 요약 조회] 판매자 이름 + 리뷰 집계(item_rating_stats)까지 한 번의 쿼리로 (상품마다 member 를 따로 읽지 않음)
+    @Query("SELECT new com.neo.rental.dto.ItemSummaryDto(i.id, i.title, i.price, i.itemImageUrl, i.itemStatus, m.name, " +
+            "s.ratingSum, s.reviewCount) " +
+            "FROM ItemEntity i LEFT JOIN i.member m " +
+            "LEFT JOIN ItemRatingStatsEntity s ON s.itemId = i.id " +
+            "WHERE i.id IN :ids")
+    List<ItemSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [검색 인덱스 적재용] 검색에 필요한 컬럼만 조회 (본문/이미지/주인 정보 제외)
+    @Query("SELECT new com.neo.rental.search.ItemSearchDocument(" +
+            "i.id, i.tradeLatitude, i.tradeLongitude, i.category, i.itemStatus, i.price, i.createdAt) " +
+            "FROM ItemEntity i")
+    List<ItemSearchDocument> findAllSearchDocuments();
+
+    @Query("SELECT new com.neo.rental.search.ItemSearchDocument(" +
+            "i.id, i.tradeLatitude, i.tradeLongitude, i.category, i.itemStatus, i.price, i.createdAt) " +
+            "FROM ItemEntity i WHERE i.id IN :ids")
+    List<ItemSearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [키워드 인덱스 적재용] ID 순으로 나눠 읽기
+    @Query("SELECT new com.neo.rental.search.KeywordSource(i.id, i.title, i.content) " +
+            "FROM ItemEntity i WHERE i.id > :lastId ORDER BY i.id")
+    List<KeywordSource> findKeywordSourcesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT new com.neo.rental.search.KeywordSource(i.id, i.title, i.content) " +
+            "FROM ItemEntity i WHERE i.id IN :ids")
+    List<KeywordSource> findKeywordSourcesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -10,5 +10,4 @@ public interface MemberRepository extends JpaRepository<MemberEntity, Long> {
     // [기존] Optional<MemberEntity> findByMemberEmail(String memberEmail);
     // [변경] Entity 필드명이 email이므로 메서드 이름도 아래와 같이 변경.
     Optional<MemberEntity> findByEmail(String email);
-    Optional<MemberEntity> findByRefreshToken(String refreshToken);
 }
\ No newline at end of file
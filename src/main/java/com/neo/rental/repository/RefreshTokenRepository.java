@@ -0,0 +1,43 @@
+package com.neo.rental.repository;
+
+import com.neo.rental.entity.RefreshTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
+
+    // uk_refresh_token_hash 로 한 건 조회
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    Optional<RefreshTokenEntity> findByMemberIdAndDeviceId(Long memberId, String deviceId);
+
+    List<RefreshTokenEntity> findByMemberId(Long memberId);
+
+    // [rotation] 기존 토큰이 아직 유효할 때만 새 토큰으로 교체 -> 같은 토큰으로 동시에 갱신해도 한 요청만 성공
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshTokenEntity t SET t.tokenHash = :newHash, t.expiresAt = :expiresAt, t.lastUsedAt = :now " +
+            "WHERE t.tokenHash = :oldHash AND t.expiresAt > :now")
+    int rotate(@Param("oldHash") String oldHash,
+               @Param("newHash") String newHash,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.memberId = :memberId")
+    int deleteAllByMemberId(@Param("memberId") Long memberId);
+
+    // idx_refresh_token_expires 범위 삭제
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,22 +1,144 @@
 package com.neo.rental.repository;
 
+import com.neo.rental.batch.RentalApprovalRow;
 import com.neo.rental.constant.RentalStatus;
+import com.neo.rental.dto.RentalPeriodDto;
 import com.neo.rental.entity.RentalEntity;
+import com.neo.rental.service.RentalInterval;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RentalRepository extends JpaRepository<RentalEntity, Long> {
 
-    // 1. 내가 빌린 내역
-    List<RentalEntity> findByRenterIdOrderByCreatedAtDesc(Long renterId);
+    // 1. 내가 빌린 내역 (상품/주인/대여자를 한 번에 fetch join)
+    @Query("SELECT r FROM RentalEntity r JOIN FETCH r.item i JOIN FETCH i.member JOIN FETCH r.renter " +
+            "WHERE r.renter.id = :renterId AND r.status IN :statuses " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RentalEntity> findByRenterIdOrderByCreatedAtDesc(@Param("renterId") Long renterId,
+                                                          @Param("statuses") Collection<RentalStatus> statuses);
 
     // 2. 받은 예약 요청
-    List<RentalEntity> findByItem_Member_IdOrderByCreatedAtDesc(Long memberId);
+    @Query("SELECT r FROM RentalEntity r JOIN FETCH r.item i JOIN FETCH i.member JOIN FETCH r.renter " +
+            "WHERE i.member.id = :memberId AND r.status IN :statuses " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RentalEntity> findByItem_Member_IdOrderByCreatedAtDesc(@Param("memberId") Long memberId,
+                                                                @Param("statuses") Collection<RentalStatus> statuses);
+
+    // 1-1. 내가 빌린 내역 (커서 페이지) - idx_rental_renter_created 범위 조회
+    @Query("SELECT r FROM RentalEntity r JOIN FETCH r.item i JOIN FETCH i.member JOIN FETCH r.renter " +
+            "WHERE r.renter.id = :renterId AND r.status IN :statuses " +
+            "AND (r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RentalEntity> findPageByRenterId(@Param("renterId") Long renterId,
+                                          @Param("statuses") Collection<RentalStatus> statuses,
+                                          @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                          @Param("afterId") Long afterId,
+                                          Limit limit);
+
+    // 2-1. 받은 예약 요청 (커서 페이지) - 비정규화된 owner_id 로 idx_rental_owner_created 범위 조회
+    @Query("SELECT r FROM RentalEntity r JOIN FETCH r.item i JOIN FETCH i.member JOIN FETCH r.renter " +
+            "WHERE r.ownerId = :ownerId AND r.status IN :statuses " +
+            "AND (r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RentalEntity> findPageByOwnerId(@Param("ownerId") Long ownerId,
+                                         @Param("statuses") Collection<RentalStatus> statuses,
+                                         @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                         @Param("afterId") Long afterId,
+                                         Limit limit);
 
     // 3. 특정 물건 예약 확인
     List<RentalEntity> findByItemId(Long itemId);
 
     // 👇 [핵심] 새로고침 해도 버튼 잠그기 위함
-    // "이 아이템(itemId)에 대해, 이 사람(email)이, 이 상태들(statuses) 중 하나라도 가지고 있니?"
-    boolean existsByItem_IdAndRenter_EmailAndStatusIn(Long itemId, String renterEmail, List<RentalStatus> statuses);
-}
\ No newline at end of file
+    // "이 아이템(itemId)에 대해, 이 사람(renterId)이, 이 상태들(statuses) 중 하나라도 가지고 있니?"
+    boolean existsByItem_IdAndRenter_IdAndStatusIn(Long itemId, Long renterId, List<RentalStatus> statuses);
+
+    // [결제 승인] 결제 요청 중에는 대여 건을 잠가서 결제 기한 만료/취소가 끼어들지 못하게 함 (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RentalEntity r WHERE r.id = :rentalId")
+    Optional<RentalEntity> findByIdForUpdate(@Param("rentalId") Long rentalId);
+
+    // 대여 건의 상품 ID (상품별 락을 트랜잭션 시작 전에 잡기 위해 가볍게 조회)
+    @Query("SELECT r.item.id FROM RentalEntity r WHERE r.id = :rentalId")
+    Optional<Long> findItemIdById(@Param("rentalId") Long rentalId);
+
+    // [일괄 승인/거절] 대여 건들이 속한 상품 ID (상품별 락을 트랜잭션 시작 전에 잡기 위해)
+    @Query("SELECT DISTINCT r.item.id FROM RentalEntity r WHERE r.id IN :rentalIds")
+    List<Long> findItemIdsByIdIn(@Param("rentalIds") Collection<Long> rentalIds);
+
+    // [일괄 승인/거절] 대여 건 + 상품을 IN 쿼리 한 번으로 조회 (주인 검증은 item.member_id 비교)
+    @Query("SELECT r FROM RentalEntity r JOIN FETCH r.item WHERE r.id IN :rentalIds")
+    List<RentalEntity> findAllWithItemByIdIn(@Param("rentalIds") Collection<Long> rentalIds);
+
+    // [일괄 승인/거절] 여러 상품의 기간 [from, to) 와 겹치는 점유 구간 (겹침 검사는 메모리에서)
+    @Query("SELECT new com.neo.rental.service.RentalInterval(r.id, r.item.id, r.startDate, r.endDate) FROM RentalEntity r " +
+            "WHERE r.item.id IN :itemIds AND r.status IN :statuses " +
+            "AND r.startDate < :to AND r.endDate > :from")
+    List<RentalInterval> findIntervals(@Param("itemIds") Collection<Long> itemIds,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("statuses") Collection<RentalStatus> statuses);
+
+    // [예약 달력] 기간 [startDate, endDate) 와 겹치는 예약이 있는지 (excludeRentalId 는 자기 자신 제외용)
+    // idx_rental_item_period (item_id, start_date, end_date) 범위 조회 -> 상품의 전체 대여 이력을 훑지 않음
+    @Query("SELECT COUNT(r) > 0 FROM RentalEntity r " +
+            "WHERE r.item.id = :itemId AND r.status IN :statuses " +
+            "AND r.startDate < :endDate AND r.endDate > :startDate " +
+            "AND (:excludeRentalId IS NULL OR r.id <> :excludeRentalId)")
+    boolean existsOverlapping(@Param("itemId") Long itemId,
+                              @Param("startDate") LocalDateTime startDate,
+                              @Param("endDate") LocalDateTime endDate,
+                              @Param("statuses") Collection<RentalStatus> statuses,
+                              @Param("excludeRentalId") Long excludeRentalId);
+
+    // [예약 달력] 조회 기간과 겹치는 예약 구간 목록 (시작 시간순)
+    @Query("SELECT new com.neo.rental.dto.RentalPeriodDto(r.startDate, r.endDate, r.status) FROM RentalEntity r " +
+            "WHERE r.item.id = :itemId AND r.status IN :statuses " +
+            "AND r.startDate < :to AND r.endDate > :from " +
+            "ORDER BY r.startDate")
+    List<RentalPeriodDto> findPeriods(@Param("itemId") Long itemId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("statuses") Collection<RentalStatus> statuses);
+
+    // 상품에 (자기 자신 외) 진행중인 예약이 남아 있는지 - 상품 상태(RENTED/AVAILABLE) 결정용
+    boolean existsByItem_IdAndStatusInAndIdNot(Long itemId, Collection<RentalStatus> statuses, Long rentalId);
+
+    // [결제 기한] 결제 대기 중인 승인 건 전체 (서버 시작 시 타이머 복원용, 승인 시각이 없는 예전 데이터는 수정 시각으로 대체)
+    @Query("SELECT new com.neo.rental.batch.RentalApprovalRow(r.id, COALESCE(r.approvedAt, r.modifiedAt, r.createdAt)) " +
+            "FROM RentalEntity r WHERE r.status = com.neo.rental.constant.RentalStatus.APPROVED")
+    List<RentalApprovalRow> findAllApprovals();
+
+    // [결제 기한] 다른 서버에서 승인된 건 보충용 - idx_rental_status_approved 범위 조회
+    @Query("SELECT new com.neo.rental.batch.RentalApprovalRow(r.id, r.approvedAt) " +
+            "FROM RentalEntity r WHERE r.status = com.neo.rental.constant.RentalStatus.APPROVED " +
+            "AND r.approvedAt >= :from AND r.approvedAt < :to")
+    List<RentalApprovalRow> findApprovalsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // [결제 기한] 기한이 지난 건 중 아직 결제 대기(APPROVED)인 건의 상품 ID
+    @Query("SELECT DISTINCT r.item.id FROM RentalEntity r " +
+            "WHERE r.id IN :rentalIds AND r.status = com.neo.rental.constant.RentalStatus.APPROVED " +
+            "AND COALESCE(r.approvedAt, r.modifiedAt, r.createdAt) <= :cutoff")
+    List<Long> findExpiredItemIds(@Param("rentalIds") Collection<Long> rentalIds, @Param("cutoff") LocalDateTime cutoff);
+
+    // [결제 기한] 일괄 취소 - 그 사이 결제된 건은 조건(status = APPROVED)에서 빠짐
+    // 버전을 함께 올려서, 같은 건을 엔티티로 수정 중인 트랜잭션은 낙관적 락 충돌로 다시 검사하게 함
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RentalEntity r SET r.status = com.neo.rental.constant.RentalStatus.CANCELED, " +
+            "r.rejectReason = :reason, r.version = r.version + 1, r.modifiedAt = CURRENT_TIMESTAMP " +
+            "WHERE r.id IN :rentalIds AND r.status = com.neo.rental.constant.RentalStatus.APPROVED " +
+            "AND COALESCE(r.approvedAt, r.modifiedAt, r.createdAt) <= :cutoff")
+    int expireApprovals(@Param("rentalIds") Collection<Long> rentalIds,
+                        @Param("cutoff") LocalDateTime cutoff,
+                        @Param("reason") String reason);
+}
@@ -1,18 +1,31 @@
 package com.neo.rental.repository;
 
 import com.neo.rental.entity.ReviewEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
 
-    // 1. 특정 상품에 달린 리뷰 목록 조회 (최신순)
-    List<ReviewEntity> findByItem_IdOrderByCreatedAtDesc(Long itemId);
+    // 1. 특정 상품에 달린 리뷰 목록 조회 (최신순, 커서 페이지)
+    // (created_at, review_id) 가 커서보다 뒤인 리뷰만 -> idx_review_item_created 범위 조회, 작성자는 fetch join
+    @Query("SELECT r FROM ReviewEntity r JOIN FETCH r.reviewer " +
+            "WHERE r.item.id = :itemId " +
+            "AND (r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewEntity> findPageByItemId(@Param("itemId") Long itemId,
+                                        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
 
     // 2. 특정 렌탈 건에 이미 리뷰가 있는지 확인 (중복 방지용)
     Optional<ReviewEntity> findByRental_Id(Long rentalId);
 
     // 👇 [추가] 특정 유저가 이 상품에 리뷰를 남긴 적이 있는지 확인 (isReviewed용)
-    boolean existsByItem_IdAndReviewer_Email(Long itemId, String email);
+    boolean existsByItem_IdAndReviewer_Id(Long itemId, Long reviewerId);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.neo.rental.repository;
+
+import com.neo.rental.entity.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+    // 필터 재구성용 - 아직 만료되지 않은 폐기 토큰 전체
+    @Query("SELECT t.jti FROM RevokedTokenEntity t WHERE t.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") LocalDateTime now);
+
+    // 증분 동기화 - idx_revoked_token_revoked_at 범위 조회
+    @Query("SELECT t.jti FROM RevokedTokenEntity t WHERE t.revokedAt >= :since AND t.expiresAt > :now")
+    List<String> findJtisRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    // 정리 작업에서 트랜잭션 없이 호출되므로 자체 트랜잭션
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedTokenEntity t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
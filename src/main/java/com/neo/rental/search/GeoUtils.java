@@ -0,0 +1,70 @@
+package com.neo.rental.search;
+
+/**
+ * 위치 기반 검색에서 공통으로 쓰는 좌표 계산 유틸리티
+ * - MySQL 의 ST_Distance_Sphere 와 같은 지구 반지름(6,370,986m)을 사용해 결과가 어긋나지 않게 맞춤
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_METER = 6370986.0;
+
+    // 위도 1도당 거리 (m)
+    private static final double METER_PER_DEGREE = Math.PI * EARTH_RADIUS_METER / 180.0;
+
+    private GeoUtils() {
+    }
+
+    // 두 좌표 사이의 구면 거리 (m)
+    public static double distanceMeter(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METER * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // 반경(m)을 감싸는 위도 폭 (도)
+    public static double latitudeDelta(double radiusMeter) {
+        return radiusMeter / METER_PER_DEGREE;
+    }
+
+    // 반경(m)을 감싸는 경도 폭 (도) - 위도가 높을수록 경도 1도의 거리가 짧아짐
+    public static double longitudeDelta(double lat, double radiusMeter) {
+        double cos = Math.cos(Math.toRadians(Math.min(Math.abs(lat) + latitudeDelta(radiusMeter), 89.9)));
+        return Math.min(radiusMeter / (METER_PER_DEGREE * cos), 180.0);
+    }
+
+    /**
+     * 중심점 + 반경을 감싸는 사각형(WKT, 경도-위도 순서)
+     * - MBRContains 1차 필터용이므로 실제 원보다 넉넉하게 잡음 (원 안의 점은 반드시 포함)
+     */
+    public static String boundingBoxWkt(double lat, double lng, double radiusMeter) {
+        double dLat = latitudeDelta(radiusMeter);
+        double dLng = longitudeDelta(lat, radiusMeter);
+
+        double minLat = Math.max(lat - dLat, -90.0);
+        double maxLat = Math.min(lat + dLat, 90.0);
+        double minLng = Math.max(lng - dLng, -180.0);
+        double maxLng = Math.min(lng + dLng, 180.0);
+
+        return "POLYGON((" +
+                minLng + " " + minLat + ", " +
+                maxLng + " " + minLat + ", " +
+                maxLng + " " + maxLat + ", " +
+                minLng + " " + maxLat + ", " +
+                minLng + " " + minLat + "))";
+    }
+
+    /**
+     * 좌표 -> POINT WKT (경도-위도 순서)
+     * - 공간 인덱스 컬럼은 NOT NULL 이어야 하므로 좌표가 없으면 (0, 0)으로 저장
+     *   (검색 쿼리에서 trade_latitude IS NOT NULL 조건으로 걸러냄)
+     */
+    public static String toPointWkt(Double lat, Double lng) {
+        if (lat == null || lng == null) {
+            return "POINT(0 0)";
+        }
+        return "POINT(" + lng + " " + lat + ")";
+    }
+}
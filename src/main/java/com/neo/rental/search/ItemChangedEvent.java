@@ -0,0 +1,37 @@
+package com.neo.rental.search;
+
+import com.neo.rental.constant.ItemStatus;
+import com.neo.rental.entity.ItemEntity;
+
+/**
+ * 상품의 검색 필드(좌표, 카테고리, 상태, 가격, 제목/본문)가 바뀌었음을 알리는 이벤트
+ * - 트랜잭션 커밋 후(AFTER_COMMIT)에만 인덱스에 반영됨
+ * - document 가 null 이면 삭제
+ * - text 가 null 이면 제목/본문은 그대로 (대여 상태 변경 등)
+ */
+public record ItemChangedEvent(Long itemId, ItemSearchDocument document, KeywordSource text) {
+
+    // 등록/수정: 검색 필드 + 텍스트 모두 갱신
+    public static ItemChangedEvent saved(ItemEntity item) {
+        return new ItemChangedEvent(item.getId(), ItemSearchDocument.from(item),
+                new KeywordSource(item.getId(), item.getTitle(), item.getContent()));
+    }
+
+    // 상태만 변경 (대여 승인/반납/취소): 키워드 색인은 다시 만들 필요 없음
+    public static ItemChangedEvent statusChanged(ItemEntity item) {
+        return new ItemChangedEvent(item.getId(), ItemSearchDocument.from(item), null);
+    }
+
+    // 엔티티를 거치지 않고 DB 에 직접 반영한 상태 변경 (일괄 승인 등)
+    public static ItemChangedEvent statusChanged(ItemEntity item, ItemStatus newStatus) {
+        return new ItemChangedEvent(item.getId(), ItemSearchDocument.from(item).withStatus(newStatus), null);
+    }
+
+    public static ItemChangedEvent deleted(Long itemId) {
+        return new ItemChangedEvent(itemId, null, null);
+    }
+
+    public boolean isDeleted() {
+        return document == null;
+    }
+}
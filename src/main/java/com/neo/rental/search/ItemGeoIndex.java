@@ -0,0 +1,208 @@
+package com.neo.rental.search;
+
+import com.neo.rental.constant.ItemCategory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * [메모리 위치 인덱스 - 격자(Grid) 방식]
+ * 위도/경도를 CELL_DEGREE 간격의 격자로 나눠 칸(cell)별로 상품을 보관합니다.
+ * 반경 검색 시 반경을 감싸는 칸들만 훑고, 그 안의 후보만 정확한 거리를 계산하므로
+ * 기본 반경(5km) 검색이 DB 왕복 없이 수십 개 칸 순회로 끝납니다.
+ *
+ * - 동시성: 읽기는 여러 스레드가 동시에, 쓰기(상품 변경 반영)는 ReadWriteLock 으로 직렬화
+ * - 적재: 서버 시작 시 ItemIndexSynchronizer 가 DB 에서 한 번에 적재 (적재 전에는 isReady() == false)
+ */
+@Component
+public class ItemGeoIndex {
+
+    // 격자 한 칸의 크기 (약 2.2km) - 기본 반경 5km 검색 시 대략 5x6 칸을 순회
+    private static final double CELL_DEGREE = 0.02;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, ItemSearchDocument> documents = new HashMap<>();
+    private Map<Long, List<ItemSearchDocument>> cells = new HashMap<>();
+
+    // 일괄 적재 중에 들어온 변경 (적재 스냅샷보다 최신이므로 적재 결과보다 우선)
+    private Set<Long> touchedDuringLoad;
+
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ItemSearchDocument get(Long itemId) {
+        lock.readLock().lock();
+        try {
+            return documents.get(itemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // [1. 상품 추가/수정 반영]
+    public void upsert(ItemSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.itemId());
+            documents.put(document.itemId(), document);
+            if (document.hasLocation()) {
+                cells.computeIfAbsent(cellKey(document.latitude(), document.longitude()), k -> new ArrayList<>())
+                        .add(document);
+            }
+            if (touchedDuringLoad != null) touchedDuringLoad.add(document.itemId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // [2. 상품 삭제 반영]
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(itemId);
+            if (touchedDuringLoad != null) touchedDuringLoad.add(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // [3. 일괄 적재] 시작 -> (DB 조회) -> 완료 순서로 호출
+    public void beginBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeBulkLoad(Collection<ItemSearchDocument> snapshot) {
+        // 새 구조는 락 밖에서 만들고, 교체만 락 안에서 수행
+        Map<Long, ItemSearchDocument> newDocuments = new HashMap<>(snapshot.size() * 2);
+        for (ItemSearchDocument document : snapshot) {
+            newDocuments.put(document.itemId(), document);
+        }
+
+        lock.writeLock().lock();
+        try {
+            // 적재하는 동안 커밋된 변경은 스냅샷보다 최신이므로 현재 값을 유지
+            if (touchedDuringLoad != null) {
+                for (Long itemId : touchedDuringLoad) {
+                    ItemSearchDocument live = documents.get(itemId);
+                    if (live != null) newDocuments.put(itemId, live);
+                    else newDocuments.remove(itemId);
+                }
+            }
+
+            Map<Long, List<ItemSearchDocument>> newCells = new HashMap<>();
+            for (ItemSearchDocument document : newDocuments.values()) {
+                if (document.hasLocation()) {
+                    newCells.computeIfAbsent(cellKey(document.latitude(), document.longitude()), k -> new ArrayList<>())
+                            .add(document);
+                }
+            }
+
+            this.documents = newDocuments;
+            this.cells = newCells;
+            this.touchedDuringLoad = null;
+            this.ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 정합성 검사용 스냅샷 복사본
+    public Map<Long, ItemSearchDocument> snapshot() {
+        lock.readLock().lock();
+        try {
+            return new HashMap<>(documents);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * [4. 반경 + 카테고리 검색]
+     * 반경 안의 후보를 정렬하지 않은 채로 반환 (정렬/페이지 자르기는 ItemSearchEngine 에서)
+     */
+    public List<ItemSearchHit> collectNearby(double lat, double lng, double radiusMeter, ItemCategory category) {
+        double dLat = GeoUtils.latitudeDelta(radiusMeter);
+        double dLng = GeoUtils.longitudeDelta(lat, radiusMeter);
+
+        int minRow = cellIndex(lat - dLat);
+        int maxRow = cellIndex(lat + dLat);
+        int minCol = cellIndex(lng - dLng);
+        int maxCol = cellIndex(lng + dLng);
+
+        List<ItemSearchHit> hits = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    List<ItemSearchDocument> cell = cells.get(cellKey(row, col));
+                    if (cell == null) continue;
+
+                    for (ItemSearchDocument document : cell) {
+                        if (document.status() == null) continue;
+                        if (category != null && document.category() != category) continue;
+                        // 사각형 1차 필터 후 정확한 거리 계산
+                        if (Math.abs(document.latitude() - lat) > dLat || Math.abs(document.longitude() - lng) > dLng) continue;
+
+                        double distance = GeoUtils.distanceMeter(lat, lng, document.latitude(), document.longitude());
+                        if (distance <= radiusMeter) {
+                            hits.add(new ItemSearchHit(document.itemId(), distance, document.createdAt(), 0));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits;
+    }
+
+    private void removeInternal(Long itemId) {
+        ItemSearchDocument previous = documents.remove(itemId);
+        if (previous != null && previous.hasLocation()) {
+            long key = cellKey(previous.latitude(), previous.longitude());
+            List<ItemSearchDocument> cell = cells.get(key);
+            if (cell != null) {
+                cell.removeIf(d -> d.itemId().equals(itemId));
+                if (cell.isEmpty()) cells.remove(key);
+            }
+        }
+    }
+
+    private static int cellIndex(double degree) {
+        return (int) Math.floor(degree / CELL_DEGREE);
+    }
+
+    private static long cellKey(double lat, double lng) {
+        return cellKey(cellIndex(lat), cellIndex(lng));
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
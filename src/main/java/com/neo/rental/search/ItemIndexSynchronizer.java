@@ -0,0 +1,122 @@
+package com.neo.rental.search;
+
+import com.neo.rental.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * [검색 인덱스 <-> DB 동기화 담당]
+ * 1. 서버 시작 시 전체 상품을 한 번에 적재 (위치 인덱스 + 키워드 역색인)
+ * 2. 상품/대여 서비스가 발행한 ItemChangedEvent 를 커밋 이후에 반영 (롤백된 변경은 반영되지 않음)
+ * 3. 주기적으로 DB 와 비교해 어긋난 항목을 바로잡음 (이벤트 유실, 다른 서버에서의 변경 대비)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemIndexSynchronizer {
+
+    // 키워드 적재 시 한 번에 읽는 상품 수 (본문 TEXT 를 전부 메모리에 올리지 않도록 나눠 읽음)
+    private static final int KEYWORD_LOAD_BATCH = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ItemGeoIndex itemGeoIndex;
+    private final KeywordIndex keywordIndex;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    // [1. 시작 시 일괄 적재]
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("🔎 검색 인덱스 비활성화 상태 - DB 검색만 사용합니다.");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        itemGeoIndex.beginBulkLoad();
+        List<ItemSearchDocument> documents = itemRepository.findAllSearchDocuments();
+        itemGeoIndex.completeBulkLoad(documents);
+        log.info("🔎 위치 인덱스 적재 완료: {}건 ({}ms)", documents.size(), System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        keywordIndex.beginBulkLoad();
+        Long lastId = 0L;
+        List<KeywordSource> batch;
+        do {
+            batch = itemRepository.findKeywordSourcesAfter(lastId, PageRequest.of(0, KEYWORD_LOAD_BATCH));
+            keywordIndex.load(batch);
+            if (!batch.isEmpty()) lastId = batch.get(batch.size() - 1).itemId();
+        } while (batch.size() == KEYWORD_LOAD_BATCH);
+        keywordIndex.completeBulkLoad();
+        log.info("🔎 키워드 인덱스 적재 완료: {}건 ({}ms)", keywordIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    // [2. 변경 반영] 트랜잭션이 없는 곳에서 발행돼도 누락되지 않도록 fallbackExecution 허용
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.isDeleted()) {
+            itemGeoIndex.remove(event.itemId());
+            keywordIndex.remove(event.itemId());
+            return;
+        }
+        itemGeoIndex.upsert(event.document());
+        if (event.text() != null) keywordIndex.index(event.text());
+    }
+
+    // [3. 정합성 검사]
+    @Scheduled(fixedDelayString = "${search.index.verify-interval:PT10M}",
+            initialDelayString = "${search.index.verify-interval:PT10M}")
+    public void verifyConsistency() {
+        if (!enabled || !itemGeoIndex.isReady()) return;
+
+        Map<Long, ItemSearchDocument> indexed = itemGeoIndex.snapshot();
+        Set<Long> keywordIds = keywordIndex.indexedItemIds();
+        Set<Long> mismatched = new HashSet<>();
+        Set<Long> missingKeywords = new HashSet<>();
+
+        for (ItemSearchDocument stored : itemRepository.findAllSearchDocuments()) {
+            ItemSearchDocument current = indexed.remove(stored.itemId());
+            if (!Objects.equals(current, stored)) mismatched.add(stored.itemId());
+            if (!keywordIds.remove(stored.itemId())) missingKeywords.add(stored.itemId());
+        }
+        // DB 에는 없는데 인덱스에만 남아 있는 항목
+        mismatched.addAll(indexed.keySet());
+        keywordIds.forEach(keywordIndex::remove);
+
+        if (!missingKeywords.isEmpty()) {
+            itemRepository.findKeywordSourcesByIdIn(missingKeywords).forEach(keywordIndex::index);
+        }
+
+        if (!mismatched.isEmpty()) {
+            // 비교하는 사이에 커밋된 변경을 되돌리지 않도록, 어긋난 항목만 다시 읽어서 반영
+            Map<Long, ItemSearchDocument> fresh = new HashMap<>();
+            for (ItemSearchDocument document : itemRepository.findSearchDocumentsByIdIn(mismatched)) {
+                fresh.put(document.itemId(), document);
+            }
+            for (Long itemId : mismatched) {
+                ItemSearchDocument document = fresh.get(itemId);
+                if (document != null) itemGeoIndex.upsert(document);
+                else itemGeoIndex.remove(itemId);
+            }
+        }
+
+        int fixed = mismatched.size() + missingKeywords.size() + keywordIds.size();
+        if (fixed > 0) {
+            log.warn("🔎 검색 인덱스 불일치 {}건 보정 (전체 {}건)", fixed, itemGeoIndex.size());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.neo.rental.search;
+
+import com.neo.rental.util.CursorCodec;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * [상품 검색 커서]
+ * 마지막으로 내려준 상품의 정렬 키를 담아 다음 페이지의 시작 위치로 사용합니다. (keyset pagination)
+ * - LATEST: (created_at, item_id)
+ * - NEARBY: (distance, created_at, item_id) - 메모리 위치 인덱스(하버사인 거리)
+ * - NEARBY_DB: (distance, created_at, item_id) - DB ST_Distance_Sphere 거리
+ *   (두 거리 계산 값이 미세하게 달라 서로의 커서로 이어 읽으면 행이 빠지거나 겹치므로 구분)
+ * - RELEVANCE: (score, distance, created_at, item_id) - 메모리 키워드 인덱스 전용
+ */
+public record ItemSearchCursor(Mode mode, ItemSearchHit position) {
+
+    public enum Mode {
+        LATEST, NEARBY, NEARBY_DB, RELEVANCE
+    }
+
+    public String encode() {
+        return CursorCodec.encode(mode.name(), position.score(), position.distance(),
+                position.createdAt(), position.itemId());
+    }
+
+    public static ItemSearchCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 5);
+        try {
+            Mode mode = switch (parts[0]) {
+                case "LATEST" -> Mode.LATEST;
+                case "NEARBY" -> Mode.NEARBY;
+                case "NEARBY_DB" -> Mode.NEARBY_DB;
+                case "RELEVANCE" -> Mode.RELEVANCE;
+                default -> throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            };
+            ItemSearchHit position = new ItemSearchHit(
+                    Long.parseLong(parts[4]),
+                    Double.parseDouble(parts[2]),
+                    LocalDateTime.parse(parts[3]),
+                    Integer.parseInt(parts[1]));
+            return new ItemSearchCursor(mode, position);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+}
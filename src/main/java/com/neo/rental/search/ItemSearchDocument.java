@@ -0,0 +1,49 @@
+package com.neo.rental.search;
+
+import com.neo.rental.constant.ItemCategory;
+import com.neo.rental.constant.ItemStatus;
+import com.neo.rental.entity.ItemEntity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 검색 인덱스에 올리는 상품의 최소 정보 (본문/이미지/주인 정보는 제외)
+ * - createdAt 은 DB(datetime(6))와 비교할 수 있도록 마이크로초 단위로 맞춤
+ */
+public record ItemSearchDocument(
+        Long itemId,
+        Double latitude,
+        Double longitude,
+        ItemCategory category,
+        ItemStatus status,
+        int price,
+        LocalDateTime createdAt
+) {
+
+    public ItemSearchDocument {
+        if (createdAt != null) {
+            createdAt = createdAt.truncatedTo(ChronoUnit.MICROS);
+        }
+    }
+
+    public static ItemSearchDocument from(ItemEntity item) {
+        return new ItemSearchDocument(
+                item.getId(),
+                item.getTradeLatitude(),
+                item.getTradeLongitude(),
+                item.getCategory(),
+                item.getItemStatus(),
+                item.getPrice(),
+                item.getCreatedAt()
+        );
+    }
+
+    public ItemSearchDocument withStatus(ItemStatus newStatus) {
+        return new ItemSearchDocument(itemId, latitude, longitude, category, newStatus, price, createdAt);
+    }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+}
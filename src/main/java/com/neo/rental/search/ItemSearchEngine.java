@@ -0,0 +1,68 @@
+package com.neo.rental.search;
+
+import com.neo.rental.constant.ItemCategory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [메모리 인덱스 기반 상품 검색]
+ * 위치 인덱스(ItemGeoIndex)와 키워드 역색인(KeywordIndex)을 조합해 상품 ID + 정렬 키 목록을 만듭니다.
+ * 인덱스로 답할 수 없는 경우(적재 전, 한 글자 키워드, 조건 없는 전체 목록)는 canSearch() == false 이고
+ * 호출 측(ItemService)이 DB 검색으로 처리합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchEngine {
+
+    private final ItemGeoIndex itemGeoIndex;
+    private final KeywordIndex keywordIndex;
+
+    public boolean canSearch(String keyword, boolean nearby) {
+        if (!itemGeoIndex.isReady()) return false;
+        // 키워드 없는 전체 최신순 목록은 DB 의 (created_at, item_id) 인덱스 범위 조회가 더 적합
+        if (keyword == null) return nearby;
+        return keywordIndex.isReady() && keywordIndex.canSearch(keyword);
+    }
+
+    // 이 검색의 정렬 기준 (커서 검증용)
+    public static ItemSearchCursor.Mode modeOf(String keyword, boolean nearby, boolean servedByIndex) {
+        if (keyword != null && servedByIndex) return ItemSearchCursor.Mode.RELEVANCE;
+        if (!nearby) return ItemSearchCursor.Mode.LATEST;
+        return servedByIndex ? ItemSearchCursor.Mode.NEARBY : ItemSearchCursor.Mode.NEARBY_DB;
+    }
+
+    /**
+     * canSearch() 가 true 일 때만 호출
+     * - after: 이전 페이지 마지막 항목의 정렬 키 (첫 페이지면 null)
+     */
+    public List<ItemSearchHit> search(ItemCategory category, String keyword, Double lat, Double lng, double radiusMeter,
+                                      ItemSearchHit after, int limit) {
+        boolean nearby = lat != null && lng != null;
+
+        // 1. 키워드 없음: 반경 안의 후보 -> 거리순
+        if (keyword == null) {
+            List<ItemSearchHit> candidates = itemGeoIndex.collectNearby(lat, lng, radiusMeter, category);
+            return ItemSearchHit.page(candidates, ItemSearchHit.NEARBY_ORDER, after, limit);
+        }
+
+        // 2. 키워드 검색: 역색인 교집합 -> 카테고리/반경 필터 -> 점수순
+        List<ItemSearchHit> candidates = new ArrayList<>();
+        for (KeywordMatch match : keywordIndex.search(keyword)) {
+            ItemSearchDocument document = itemGeoIndex.get(match.itemId());
+            if (document == null || document.status() == null) continue;
+            if (category != null && document.category() != category) continue;
+
+            double distance = 0;
+            if (nearby) {
+                if (!document.hasLocation()) continue;
+                distance = GeoUtils.distanceMeter(lat, lng, document.latitude(), document.longitude());
+                if (distance > radiusMeter) continue;
+            }
+            candidates.add(new ItemSearchHit(document.itemId(), distance, document.createdAt(), match.score()));
+        }
+        return ItemSearchHit.page(candidates, ItemSearchHit.RELEVANCE_ORDER, after, limit);
+    }
+}
@@ -0,0 +1,50 @@
+package com.neo.rental.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 인덱스 검색 결과 1건 (상품 ID + 정렬 키)
+ * - 실제 상품 정보는 ID 목록으로 한 번에 조회(hydrate)
+ * - score: 키워드 검색 시 TF 점수 (키워드가 없으면 0)
+ */
+public record ItemSearchHit(Long itemId, double distance, LocalDateTime createdAt, int score) {
+
+    // 최신순: (created_at DESC, item_id DESC)
+    public static final Comparator<ItemSearchHit> LATEST_ORDER =
+            Comparator.comparing(ItemSearchHit::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(ItemSearchHit::itemId, Comparator.reverseOrder());
+
+    // 위치 검색: (distance ASC, created_at DESC, item_id DESC)
+    public static final Comparator<ItemSearchHit> NEARBY_ORDER =
+            Comparator.comparingDouble(ItemSearchHit::distance).thenComparing(LATEST_ORDER);
+
+    // 키워드 검색: 점수 높은 순 -> 위치 검색 순서
+    public static final Comparator<ItemSearchHit> RELEVANCE_ORDER =
+            Comparator.comparingInt(ItemSearchHit::score).reversed().thenComparing(NEARBY_ORDER);
+
+    /**
+     * 후보 중 after(커서) 다음에 오는 상위 limit 건만 골라 정렬해서 반환
+     * - 전체 정렬 대신 크기 limit 의 힙을 사용 (후보 n 건에 대해 O(n log limit))
+     */
+    public static List<ItemSearchHit> page(Collection<ItemSearchHit> candidates, Comparator<ItemSearchHit> order,
+                                           ItemSearchHit after, int limit) {
+        PriorityQueue<ItemSearchHit> heap = new PriorityQueue<>(limit + 1, order.reversed());
+        for (ItemSearchHit hit : candidates) {
+            if (after != null && order.compare(hit, after) <= 0) continue;
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (order.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+        List<ItemSearchHit> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
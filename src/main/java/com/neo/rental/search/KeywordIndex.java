@@ -0,0 +1,269 @@
+package com.neo.rental.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * [상품 키워드 역색인(Inverted Index)]
+ * 제목/본문을 바이그램으로 쪼개 "토큰 -> 상품 목록(posting list)" 을 메모리에 보관합니다.
+ * LIKE '%키워드%' 처럼 전체 테이블을 훑지 않고, 키워드 토큰들의 posting list 교집합만 계산합니다.
+ *
+ * - posting list: 내부 문서 번호(int) 오름차순 배열 + 같은 위치의 출현 빈도(int) 배열
+ * - 점수: 토큰별 출현 빈도 합 (제목은 TITLE_WEIGHT 배 가중치)
+ * - 수정/삭제: 문서별 토큰 목록(forward index)으로 기존 posting 을 지우고 다시 넣음
+ */
+@Component
+public class KeywordIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByItemId = new HashMap<>();
+    private final Map<Integer, String[]> termsByDoc = new HashMap<>();
+    private long[] itemIdByDoc = new long[1024];
+    private int nextDoc = 0;
+
+    // 일괄 적재 중에 들어온 변경 (적재 데이터보다 최신이므로 덮어쓰지 않음)
+    private Set<Long> touchedDuringLoad;
+
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByItemId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> indexedItemIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(docByItemId.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // [1. 상품 추가/수정 반영]
+    public void index(KeywordSource source) {
+        Map<String, Integer> frequencies = termFrequencies(source);
+
+        lock.writeLock().lock();
+        try {
+            indexInternal(source.itemId(), frequencies);
+            if (touchedDuringLoad != null) touchedDuringLoad.add(source.itemId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // [2. 상품 삭제 반영]
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByItemId.remove(itemId);
+            if (doc != null) removePostings(doc);
+            if (touchedDuringLoad != null) touchedDuringLoad.add(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // [3. 일괄 적재] begin -> load(여러 번) -> complete
+    public void beginBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void load(Collection<KeywordSource> sources) {
+        List<Map<String, Integer>> analyzed = new ArrayList<>(sources.size());
+        for (KeywordSource source : sources) analyzed.add(termFrequencies(source)); // 토큰화는 락 밖에서
+
+        lock.writeLock().lock();
+        try {
+            int i = 0;
+            for (KeywordSource source : sources) {
+                Map<String, Integer> frequencies = analyzed.get(i++);
+                // 적재 도중 이미 최신 값으로 반영(또는 삭제)된 상품은 건너뜀
+                if (touchedDuringLoad != null && touchedDuringLoad.contains(source.itemId())) continue;
+                indexInternal(source.itemId(), frequencies);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringLoad = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 한 글자 토큰이 섞인 키워드는 바이그램 색인으로 정확히 답할 수 없음 (호출 측에서 DB 검색)
+     */
+    public boolean canSearch(String keyword) {
+        List<String> tokens = KeywordTokenizer.tokenize(keyword);
+        if (tokens.isEmpty()) return false;
+        for (String token : tokens) {
+            if (KeywordTokenizer.isUnigram(token)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * [4. 키워드 검색] 모든 토큰을 포함하는 상품(AND)과 점수 반환 (정렬은 호출 측에서)
+     * - canSearch() 가 false 인 키워드는 빈 결과
+     */
+    public List<KeywordMatch> search(String keyword) {
+        if (!canSearch(keyword)) return List.of();
+        List<String> tokens = KeywordTokenizer.tokenize(keyword);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (String token : new LinkedHashSet<>(tokens)) {
+                PostingList list = postings.get(token);
+                if (list == null || list.size == 0) return List.of(); // 없는 토큰이 하나라도 있으면 결과 없음
+                lists.add(list);
+            }
+            // 가장 짧은 목록부터 교집합 -> 후보 수가 빠르게 줄어듦
+            lists.sort(Comparator.comparingInt(l -> l.size));
+
+            PostingList first = lists.get(0);
+            int[] candidates = Arrays.copyOf(first.docs, first.size);
+            int[] scores = Arrays.copyOf(first.freqs, first.size);
+            int count = first.size;
+
+            for (int l = 1; l < lists.size() && count > 0; l++) {
+                PostingList list = lists.get(l);
+                int kept = 0;
+                int from = 0;
+                for (int c = 0; c < count; c++) {
+                    int pos = Arrays.binarySearch(list.docs, from, list.size, candidates[c]);
+                    if (pos >= 0) {
+                        candidates[kept] = candidates[c];
+                        scores[kept] = scores[c] + list.freqs[pos];
+                        kept++;
+                        from = pos + 1;
+                    } else {
+                        from = -pos - 1;
+                    }
+                }
+                count = kept;
+            }
+
+            List<KeywordMatch> matches = new ArrayList<>(count);
+            for (int c = 0; c < count; c++) {
+                matches.add(new KeywordMatch(itemIdByDoc[candidates[c]], scores[c]));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(KeywordSource source) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : KeywordTokenizer.tokenize(source.title())) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : KeywordTokenizer.tokenize(source.content())) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    // 반드시 writeLock 안에서 호출
+    private void indexInternal(Long itemId, Map<String, Integer> frequencies) {
+        Integer doc = docByItemId.get(itemId);
+        if (doc != null) {
+            removePostings(doc);
+        } else {
+            doc = nextDoc++;
+            if (doc >= itemIdByDoc.length) itemIdByDoc = Arrays.copyOf(itemIdByDoc, itemIdByDoc.length * 2);
+            itemIdByDoc[doc] = itemId;
+            docByItemId.put(itemId, doc);
+        }
+
+        String[] terms = new String[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new PostingList()).add(doc, entry.getValue());
+            terms[i++] = entry.getKey();
+        }
+        termsByDoc.put(doc, terms);
+    }
+
+    private void removePostings(int doc) {
+        String[] terms = termsByDoc.remove(doc);
+        if (terms == null) return;
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list == null) continue;
+            list.remove(doc);
+            if (list.size == 0) postings.remove(term);
+        }
+    }
+
+    // 문서 번호 오름차순으로 정렬된 primitive 배열 기반 posting list
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size = 0;
+
+        void add(int doc, int freq) {
+            int pos = Arrays.binarySearch(docs, 0, size, doc);
+            if (pos >= 0) {
+                freqs[pos] = freq;
+                return;
+            }
+            pos = -pos - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            // 신규 상품은 문서 번호가 가장 크므로 대부분 배열 끝에 붙음 (복사 없음)
+            System.arraycopy(docs, pos, docs, pos + 1, size - pos);
+            System.arraycopy(freqs, pos, freqs, pos + 1, size - pos);
+            docs[pos] = doc;
+            freqs[pos] = freq;
+            size++;
+        }
+
+        void remove(int doc) {
+            int pos = Arrays.binarySearch(docs, 0, size, doc);
+            if (pos < 0) return;
+            System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+            System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.neo.rental.search;
+
+/**
+ * 키워드 검색 결과 1건 (상품 ID + TF 점수)
+ */
+public record KeywordMatch(Long itemId, int score) {
+}
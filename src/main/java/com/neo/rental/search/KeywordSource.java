@@ -0,0 +1,7 @@
+package com.neo.rental.search;
+
+/**
+ * 키워드 인덱스 적재용 상품 텍스트 (제목 + 본문)
+ */
+public record KeywordSource(Long itemId, String title, String content) {
+}
@@ -0,0 +1,64 @@
+package com.neo.rental.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * [한글 인식 바이그램(2-gram) 토크나이저]
+ * - 문자/숫자가 아닌 문자(공백, 기호)로 단어를 나누고, 한글 <-> 영문/숫자가 바뀌는 지점에서도 끊음
+ *   예) "아이폰15 케이스" -> [아이, 이폰] [15] [케이, 이스]
+ * - 한 글자짜리 조각은 유니그램(1글자) 토큰으로 남김
+ * - 전각/반각 차이, 대소문자 차이는 정규화(NFKC + 소문자)로 제거
+ */
+public final class KeywordTokenizer {
+
+    private KeywordTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        int runStart = -1;
+        boolean runHangul = false;
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = (i < normalized.length()) ? normalized.charAt(i) : ' ';
+            boolean word = Character.isLetterOrDigit(c);
+            boolean hangul = word && isHangul(c);
+
+            if (runStart >= 0 && (!word || hangul != runHangul)) {
+                addGrams(normalized, runStart, i, tokens);
+                runStart = -1;
+            }
+            if (word && runStart < 0) {
+                runStart = i;
+                runHangul = hangul;
+            }
+        }
+        return tokens;
+    }
+
+    public static boolean isUnigram(String token) {
+        return token.length() == 1;
+    }
+
+    private static void addGrams(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '\uAC00' && c <= '\uD7A3')   // 완성형 음절 (가 ~ 힣)
+                || (c >= '\u1100' && c <= '\u11FF') // 자모
+                || (c >= '\u3130' && c <= '\u318F'); // 호환 자모 (ㅋㅋ, ㄱ 등)
+    }
+}
@@ -38,6 +38,11 @@ public class CustomUserDetails implements UserDetails {
         return memberEntity.getEmail();
     }
 
+    // [추가] 토큰에 회원 ID 를 담기 위함
+    public Long getId() {
+        return memberEntity.getId();
+    }
+
     // 사용자의 진짜 이름이 필요할 때 쓸 메서드 추가
     public String getName() {
         return memberEntity.getName();
@@ -0,0 +1,72 @@
+package com.neo.rental.security;
+
+import com.neo.rental.entity.RefreshTokenEntity;
+import com.neo.rental.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * refresh_token 테이블 기반 저장소
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    public void save(RefreshTokenRecord record) {
+        RefreshTokenEntity entity = refreshTokenRepository.findByMemberIdAndDeviceId(record.memberId(), record.deviceId())
+                .orElseGet(() -> RefreshTokenEntity.builder()
+                        .memberId(record.memberId())
+                        .deviceId(record.deviceId())
+                        .build());
+        entity.setTokenHash(record.tokenHash());
+        entity.setExpiresAt(record.expiresAt());
+        entity.setLastUsedAt(record.lastUsedAt());
+        refreshTokenRepository.save(entity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshTokenRecord> findByHash(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash).map(JpaRefreshTokenStore::toRecord);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RefreshTokenRecord> findAllByMemberId(Long memberId) {
+        return refreshTokenRepository.findByMemberId(memberId).stream().map(JpaRefreshTokenStore::toRecord).toList();
+    }
+
+    @Override
+    public boolean rotate(String oldHash, String newHash, LocalDateTime expiresAt, LocalDateTime now) {
+        return refreshTokenRepository.rotate(oldHash, newHash, expiresAt, now) == 1;
+    }
+
+    @Override
+    public void delete(String tokenHash) {
+        refreshTokenRepository.deleteByTokenHash(tokenHash);
+    }
+
+    @Override
+    public void deleteAllByMemberId(Long memberId) {
+        refreshTokenRepository.deleteAllByMemberId(memberId);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return refreshTokenRepository.deleteExpired(now);
+    }
+
+    private static RefreshTokenRecord toRecord(RefreshTokenEntity entity) {
+        return new RefreshTokenRecord(entity.getTokenHash(), entity.getMemberId(), entity.getDeviceId(),
+                entity.getExpiresAt(), entity.getLastUsedAt());
+    }
+}
@@ -0,0 +1,52 @@
+package com.neo.rental.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * [인증된 회원 정보] Access Token 의 클레임(mid, sub, name)으로 만든 principal
+ * - 컨트롤러에서 @AuthenticationPrincipal LoginMember 로 받아 회원 ID 를 바로 사용 (요청마다 회원 조회 X)
+ * - getUsername() 은 이메일 -> 기존 Principal.getName() 사용처와 호환
+ * - name 은 토큰 발급 시점의 이름 (표시용, 최신 이름이 필요하면 DB 조회)
+ */
+@Getter
+public class LoginMember implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    // [추가] 이 인증에 사용된 Access Token 의 ID(jti)와 만료 시각 - 로그아웃 시 토큰 폐기용 (토큰 발급 전이면 null)
+    private final String tokenId;
+    private final Instant tokenExpiresAt;
+
+    public LoginMember(Long id, String email, String name, Collection<? extends GrantedAuthority> authorities) {
+        this(id, email, name, authorities, null, null);
+    }
+
+    public LoginMember(Long id, String email, String name, Collection<? extends GrantedAuthority> authorities,
+                       String tokenId, Instant tokenExpiresAt) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.authorities = (authorities != null) ? List.copyOf(authorities) : List.of();
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
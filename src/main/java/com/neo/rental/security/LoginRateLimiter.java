@@ -0,0 +1,79 @@
+package com.neo.rental.security;
+
+import com.neo.rental.util.SlidingWindowLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * [로그인 시도 제한]
+ * 비밀번호 해시 비교(PasswordEncoder)는 요청마다 CPU 를 크게 쓰므로,
+ * 계정별 / IP 별 슬라이딩 윈도우로 시도 횟수를 세어 한도를 넘으면 해시 계산 전에 바로 거절합니다.
+ *
+ * - IP 한도: 한 곳에서 여러 계정을 대입하는 공격 (credential stuffing)
+ * - 계정 한도: 여러 곳에서 한 계정을 노리는 공격 (로그인 성공 시 초기화)
+ * - 메트릭: auth.login.rejected (reason = ip / account)
+ * - 서버별 메모리 제한이므로 서버가 여러 대면 한도도 서버 수만큼 늘어남
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final SlidingWindowLimiter accountLimiter;
+    private final SlidingWindowLimiter ipLimiter;
+    private final Counter rejectedByAccount;
+    private final Counter rejectedByIp;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${auth.login-limit.per-account:10}") int perAccount,
+                            @Value("${auth.login-limit.per-ip:30}") int perIp,
+                            @Value("${auth.login-limit.window:PT1M}") Duration window,
+                            @Value("${auth.login-limit.stripes:64}") int stripes,
+                            @Value("${auth.login-limit.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.accountLimiter = new SlidingWindowLimiter(perAccount, window, stripes, maxTrackedKeys);
+        this.ipLimiter = new SlidingWindowLimiter(perIp, window, stripes, maxTrackedKeys);
+        this.rejectedByAccount = rejectedCounter(meterRegistry, "account");
+        this.rejectedByIp = rejectedCounter(meterRegistry, "ip");
+    }
+
+    /**
+     * 로그인 시도 1회 기록
+     * @return 허용이면 Duration.ZERO, 거절이면 다시 시도할 수 있을 때까지 남은 시간
+     */
+    public Duration tryAcquire(String email, String clientIp) {
+        if (clientIp != null) {
+            Duration wait = ipLimiter.tryAcquire(clientIp);
+            if (!wait.isZero()) {
+                rejectedByIp.increment();
+                return wait;
+            }
+        }
+        if (email != null) {
+            Duration wait = accountLimiter.tryAcquire(accountKey(email));
+            if (!wait.isZero()) {
+                rejectedByAccount.increment();
+                return wait;
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    // 로그인 성공 - 본인이 비밀번호를 맞췄으므로 계정 쪽 기록은 초기화 (IP 기록은 유지)
+    public void onSuccess(String email) {
+        if (email != null) accountLimiter.reset(accountKey(email));
+    }
+
+    private static String accountKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.rejected")
+                .description("시도 횟수 초과로 비밀번호 확인 전에 거절된 로그인")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
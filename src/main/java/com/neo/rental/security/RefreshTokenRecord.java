@@ -0,0 +1,14 @@
+package com.neo.rental.security;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장된 Refresh Token 한 건 (토큰 원문 대신 SHA-256 해시)
+ */
+public record RefreshTokenRecord(String tokenHash, Long memberId, String deviceId,
+                                 LocalDateTime expiresAt, LocalDateTime lastUsedAt) {
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,31 @@
+package com.neo.rental.security;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * [Refresh Token 저장소]
+ * 운영에서는 DB(JpaRefreshTokenStore), 테스트에서는 메모리 구현으로 교체할 수 있도록 인터페이스로 분리
+ * - 회원 + 기기당 한 건 (같은 기기로 다시 로그인하면 덮어씀)
+ * - 모든 조회/교체는 토큰 해시 기준
+ */
+public interface RefreshTokenStore {
+
+    // 회원 + 기기 기준 저장 (있으면 덮어씀)
+    void save(RefreshTokenRecord record);
+
+    Optional<RefreshTokenRecord> findByHash(String tokenHash);
+
+    List<RefreshTokenRecord> findAllByMemberId(Long memberId);
+
+    // oldHash 가 아직 유효하면 newHash 로 교체하고 true (같은 토큰으로는 한 번만 성공)
+    boolean rotate(String oldHash, String newHash, LocalDateTime expiresAt, LocalDateTime now);
+
+    void delete(String tokenHash);
+
+    void deleteAllByMemberId(Long memberId);
+
+    // 만료된 토큰 정리, 지운 건수 반환
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,111 @@
+package com.neo.rental.security;
+
+import com.neo.rental.cache.ChatRoomParticipantsCache;
+import com.neo.rental.jwt.JwtTokenProvider;
+import com.neo.rental.jwt.RevokedTokenRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * [STOMP 인증/인가]
+ * HTTP 의 JwtAuthenticationFilter 와 같은 역할을 소켓 프레임에 대해 합니다.
+ *
+ * - CONNECT: Authorization 헤더(Bearer Access Token)를 검증하고 세션의 principal 로 LoginMember 를 저장
+ *   (검증된 토큰 캐시 + 폐기 토큰 Bloom 필터 -> 대부분 DB 조회 없음)
+ * - SUBSCRIBE: /sub/chat/room/{roomId}[/read] 는 그 방 참여자만 (ChatRoomParticipantsCache, 방별 참여자 캐시)
+ *   와일드카드(*, **, ?) 구독과 형식이 다른 /sub/chat/ 주소는 거절
+ * - SEND: 인증된 세션만, 보낸 사람은 payload 가 아니라 principal 로 정함 (ChatController)
+ * - 연결 중 Access Token 이 만료되면 이후 SUBSCRIBE/SEND 를 거절 (클라이언트가 새 토큰으로 다시 연결)
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String CHAT_DESTINATION_PREFIX = "/sub/chat/";
+    private static final Pattern WILDCARD = Pattern.compile("[*?{}]");
+    private static final Pattern ROOM_DESTINATION = Pattern.compile("^/sub/chat/room/(\\d+)(/read)?$");
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final ChatRoomParticipantsCache chatRoomParticipantsCache;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) return message;
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+            case SUBSCRIBE -> authorizeSubscribe(loginMemberOf(accessor.getUser()), accessor.getDestination());
+            case SEND -> loginMemberOf(accessor.getUser());
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    // [1. CONNECT] 토큰 검증 -> principal
+    private Authentication authenticate(String bearerToken) {
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+            throw new AccessDeniedException("인증 토큰이 필요합니다.");
+        }
+        Authentication authentication = jwtTokenProvider.getAuthentication(bearerToken.substring(7));
+        if (authentication == null
+                || revokedTokenRegistry.isRevoked(((LoginMember) authentication.getPrincipal()).getTokenId())) {
+            throw new AccessDeniedException("유효하지 않은 인증 토큰입니다.");
+        }
+        return authentication;
+    }
+
+    // [2. SUBSCRIBE] 채팅방 구독은 참여자만
+    private void authorizeSubscribe(LoginMember loginMember, String destination) {
+        if (destination == null) throw new AccessDeniedException("구독 주소가 없습니다.");
+        // SimpleBroker 는 *, **, ? 가 들어간 구독 주소를 패턴으로 매칭함 -> /sub/chat/room/* 한 번으로 모든 방을 받을 수 있음
+        if (WILDCARD.matcher(destination).find()) {
+            throw new AccessDeniedException("구독 주소에 와일드카드를 사용할 수 없습니다.");
+        }
+        Matcher matcher = ROOM_DESTINATION.matcher(destination);
+        if (!matcher.matches()) {
+            // 채팅 주소는 방 주소 형식만 허용 (기본 거부)
+            if (destination.startsWith(CHAT_DESTINATION_PREFIX)) {
+                throw new AccessDeniedException("구독할 수 없는 주소입니다.");
+            }
+            return;
+        }
+
+        try {
+            Long roomId = Long.valueOf(matcher.group(1));
+            if (!chatRoomParticipantsCache.get(roomId).isParticipant(loginMember.getId())) {
+                throw new AccessDeniedException("채팅방 참여자만 구독할 수 있습니다.");
+            }
+        } catch (NumberFormatException | EntityNotFoundException e) {
+            throw new AccessDeniedException("존재하지 않는 채팅방입니다.");
+        }
+    }
+
+    public static LoginMember loginMemberOf(Principal principal) {
+        if (!(principal instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof LoginMember loginMember)) {
+            throw new AccessDeniedException("인증되지 않은 연결입니다.");
+        }
+        Instant expiresAt = loginMember.getTokenExpiresAt();
+        if (expiresAt != null && Instant.now().isAfter(expiresAt)) {
+            throw new AccessDeniedException("인증 토큰이 만료되었습니다. 다시 연결해 주세요.");
+        }
+        return loginMember;
+    }
+}
@@ -1,15 +1,29 @@
 package com.neo.rental.service;
 
+import com.neo.rental.cache.ChatRoomParticipantsCache;
+import com.neo.rental.chat.ChatMessageIdGenerator;
+import com.neo.rental.chat.ChatMessageWriter;
+import com.neo.rental.chat.ChatRoomParticipants;
+import com.neo.rental.chat.QueuedChatMessage;
+import com.neo.rental.chat.ReadCursorBuffer;
 import com.neo.rental.dto.ChatMessageDto;
 import com.neo.rental.dto.ChatMessageResponseDto; // [추가]
 import com.neo.rental.dto.ChatRoomListDto;
+import com.neo.rental.dto.CursorPageDto;
 import com.neo.rental.entity.*;
 import com.neo.rental.repository.*;
+import com.neo.rental.util.CursorCodec;
+import com.neo.rental.util.TimeOrderedIdGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,90 +32,137 @@ import java.util.stream.Collectors;
 @Transactional
 public class ChatService {
 
+    private static final int DEFAULT_PAGE_SIZE = 30;
+    private static final int MAX_PAGE_SIZE = 100;
+    // 서버 간 시계 차이 허용 범위 (읽음 위치 상한 검사)
+    private static final long ID_CLOCK_SLACK_MILLIS = 5000;
+
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ItemRepository itemRepository;
     private final MemberRepository memberRepository;
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
+    private final ChatRoomParticipantsCache chatRoomParticipantsCache;
+    private final ChatMessageIdGenerator chatMessageIdGenerator;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ReadCursorBuffer readCursorBuffer;
 
     // 1. 채팅방 생성 또는 조회 (유지)
-    public Long createOrGetChatRoom(Long itemId, String buyerEmail) {
-        MemberEntity buyer = memberRepository.findByEmail(buyerEmail)
-                .orElseThrow(() -> new IllegalArgumentException("회원 없음"));
+    public Long createOrGetChatRoom(Long itemId, Long buyerId) {
         ItemEntity item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("상품 없음"));
 
-        if (item.getMember().getEmail().equals(buyerEmail)) {
+        if (item.getMember().getId().equals(buyerId)) {
             throw new IllegalStateException("자신의 상품에는 문의할 수 없습니다.");
         }
 
-        return chatRoomRepository.findByItem_IdAndBuyer_Id(itemId, buyer.getId())
+        return chatRoomRepository.findByItem_IdAndBuyer_Id(itemId, buyerId)
                 .map(ChatRoomEntity::getId)
                 .orElseGet(() -> {
                     ChatRoomEntity room = ChatRoomEntity.builder()
                             .item(item)
-                            .buyer(buyer)
+                            .buyer(memberRepository.getReferenceById(buyerId)) // 참조만 연결 (회원 조회 없음)
                             .seller(item.getMember())
                             .build();
-                    return chatRoomRepository.save(room).getId();
+                    Long roomId = chatRoomRepository.save(room).getId();
+
+                    // [추가] 방 목록용 참여자별 요약 행 (구매자/판매자)
+                    LocalDateTime now = LocalDateTime.now();
+                    Long sellerId = item.getMember().getId();
+                    chatRoomMemberRepository.saveAll(List.of(
+                            newRoomMember(roomId, buyerId, sellerId, now),
+                            newRoomMember(roomId, sellerId, buyerId, now)));
+                    return roomId;
                 });
     }
 
-    // 2. [수정됨] 메시지 저장 (DTO 반환으로 변경)
-    public ChatMessageResponseDto saveMessage(ChatMessageDto dto) {
-        ChatRoomEntity room = chatRoomRepository.findById(dto.getRoomId())
-                .orElseThrow(() -> new IllegalArgumentException("방 없음"));
-
-        MemberEntity sender = memberRepository.findById(dto.getSenderId())
-                .orElseThrow(() -> new IllegalArgumentException("회원 없음"));
-
-        ChatMessageEntity message = ChatMessageEntity.builder()
-                .chatRoom(room)
-                .senderId(sender.getId())
-                .senderName(sender.getName()) // DB 저장 시점의 이름 고정
-                .message(dto.getMessage())
-                // [추가] 시간 DB의존 않고 직접 주입.
-                .sendDate(LocalDateTime.now())
+    /**
+     * 2. [변경] 메시지 전송 - DB 를 기다리지 않음 (write-behind)
+     * - 참여자/이름은 캐시에서, ID 는 메모리에서 발급 -> 저장 대기열에 넣고 바로 브로드캐스트용 DTO 반환
+     * - 실제 INSERT 는 ChatMessageWriter 가 모아서 수행 (트랜잭션 불필요)
+     * - 대기열이 가득 차면 IllegalStateException (브로드캐스트하지 않음)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ChatMessageResponseDto sendMessage(ChatMessageDto dto) {
+        ChatRoomParticipants participants = chatRoomParticipantsCache.get(dto.getRoomId());
+        String senderName = participants.nameOf(dto.getSenderId()); // 보낸 시점의 이름 고정
+        if (senderName == null) {
+            throw new IllegalArgumentException("채팅방 참여자만 메시지를 보낼 수 있습니다.");
+        }
+
+        QueuedChatMessage message = new QueuedChatMessage(
+                chatMessageIdGenerator.next(),
+                dto.getRoomId(),
+                dto.getSenderId(),
+                senderName,
+                dto.getMessage(),
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)); // DB(datetime(6)) 에 저장될 값과 같게
+        chatMessageWriter.enqueue(message);
+
+        return ChatMessageResponseDto.builder()
+                .messageId(message.messageId())
+                .roomId(message.roomId())
+                .senderId(message.senderId())
+                .senderName(message.senderName())
+                .message(message.message())
+                .sendDate(message.sendDate())
+                .type(dto.getType())
                 .build();
+    }
 
-        ChatMessageEntity savedMessage = chatMessageRepository.save(message);
+    // 3. 내 채팅방 목록 조회
+    // [변경] 참여자별 요약(chat_room_member) 한 번 조회 - 최근 대화순, 마지막 메시지/안 읽은 수 포함 (방마다 추가 조회 없음)
+    // [변경] 메모리에 모여 있던 내 읽음 위치를 먼저 반영해서 안 읽은 수가 방금 읽은 것과 어긋나지 않게 함
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ChatRoomListDto> findAllRoom(Long memberId) {
+        readCursorBuffer.flushMember(memberId);
+        return chatRoomMemberRepository.findRoomList(memberId).stream()
+                .map(room -> ChatRoomListDto.builder()
+                        .roomId(room.roomId())
+                        .itemId(room.itemId())
+                        .itemTitle(room.itemTitle())
+                        .itemImageUrl(room.itemImageUrl())
+                        .partnerName(room.partnerName())
+                        .lastMessage(room.lastMessage())
+                        .lastMessageAt(room.lastMessageAt())
+                        .unreadCount(room.unreadCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-        // [핵심] Entity를 DTO로 변환해서 반환 (Lazy Loading 에러 방지)
-        return ChatMessageResponseDto.from(savedMessage, dto.getType());
+    // [추가] 3-1. 읽음 처리 - messageId 까지 읽음 (이전 위치보다 뒤일 때만 반영)
+    // [변경] DB 는 ReadCursorBuffer 가 모아서 반영, 위치가 앞으로 갔으면 true (읽음 표시 알림 여부)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean markAsRead(Long roomId, Long memberId, Long messageId) {
+        if (roomId == null || messageId == null) throw new IllegalArgumentException("roomId, messageId 가 필요합니다.");
+        // 아직 만들어질 수 없는 ID(미래 시각, Long.MAX_VALUE 등)는 거절 -> 잘못된 읽음 표시를 보내지 않음
+        // (아직 저장 대기 중인 메시지는 읽을 수 있으므로 저장된 마지막 메시지 ID 로는 제한하지 않음)
+        if (messageId <= 0 || messageId > TimeOrderedIdGenerator.maxIdAt(System.currentTimeMillis() + ID_CLOCK_SLACK_MILLIS)) {
+            throw new IllegalArgumentException("유효하지 않은 messageId 입니다.");
+        }
+        assertParticipant(roomId, memberId);
+        return readCursorBuffer.advance(roomId, memberId, messageId);
     }
 
-    // 3. 내 채팅방 목록 조회 (유지)
-    @Transactional(readOnly = true)
-    public List<ChatRoomListDto> findAllRoom(String userEmail) {
-        MemberEntity me = memberRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("회원 정보가 없습니다."));
-
-        List<ChatRoomEntity> rooms = chatRoomRepository.findByBuyer_IdOrSeller_Id(me.getId(), me.getId());
-
-        return rooms.stream().map(room -> {
-            String partnerName;
-            if (room.getBuyer().getId().equals(me.getId())) {
-                partnerName = room.getSeller().getName();
-            } else {
-                partnerName = room.getBuyer().getName();
-            }
-
-            return ChatRoomListDto.builder()
-                    .roomId(room.getId())
-                    .itemId(room.getItem().getId())
-                    .itemTitle(room.getItem().getTitle())
-                    .itemImageUrl(room.getItem().getItemImageUrl())
-                    .partnerName(partnerName)
-                    .build();
-        }).collect(Collectors.toList());
+    private static ChatRoomMemberEntity newRoomMember(Long roomId, Long memberId, Long partnerId, LocalDateTime now) {
+        return ChatRoomMemberEntity.builder()
+                .roomId(roomId)
+                .memberId(memberId)
+                .partnerId(partnerId)
+                .lastActivityAt(now)
+                .build();
     }
 
     // [수정] 채팅방 입장 시 이전 대화 내용 불러오기
     // 설명: Entity를 그대로 컨트롤러로 넘기면 JSON 변환 중 'item' 정보 조회 시 Lazy 에러가 터집니다.
     //       따라서 여기서 DTO로 싹 변환해서 내보내는 것이 정석입니다.
+    // [추가] 참여자만 조회 가능
     @Transactional(readOnly = true)
-    public List<ChatMessageResponseDto> getMessages(Long roomId) {
+    public List<ChatMessageResponseDto> getMessages(Long roomId, Long memberId) {
+        assertParticipant(roomId, memberId);
+
         // 1. DB에서 Entity 리스트 조회
-        List<ChatMessageEntity> entities = chatMessageRepository.findAllByChatRoomIdOrderBySendDateAsc(roomId);
+        List<ChatMessageEntity> entities = chatMessageRepository.findAllByChatRoom_IdOrderByIdAsc(roomId);
 
         // 2. Entity List -> DTO List 변환
         return entities.stream()
@@ -109,4 +170,44 @@ public class ChatService {
                 // Tip: DB에 'type' 컬럼이 없다면 기본값 "TALK"로 설정 (이전 대화는 대부분 대화내용이므로)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * [추가] 대화 내역 (커서 페이지)
+     * - 첫 요청(before 없음): 가장 최근 size 건
+     * - 위로 스크롤: 응답의 nextCursor 를 before 로 넘기면 그보다 이전 size 건
+     * - content 는 화면에 그대로 붙일 수 있도록 오래된 순(시간 순)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<ChatMessageResponseDto> getMessagePage(Long roomId, Long memberId, String before, Integer size) {
+        assertParticipant(roomId, memberId);
+
+        int pageSize = CursorPageDto.pageSize(size, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        long beforeId = decodeBefore(before);
+
+        // 최신순으로 읽었으므로 마지막 행이 이 페이지에서 가장 오래된 메시지 (다음 페이지 커서)
+        List<ChatMessageEntity> messages = chatMessageRepository.findPageBefore(roomId, beforeId, Limit.of(pageSize + 1));
+        CursorPageDto<ChatMessageResponseDto> page = CursorPageDto.of(messages, pageSize,
+                last -> CursorCodec.encode(last.getId()), message -> ChatMessageResponseDto.from(message, "TALK"));
+
+        // 화면에는 오래된 메시지부터
+        List<ChatMessageResponseDto> content = new ArrayList<>(page.getContent());
+        Collections.reverse(content);
+        return new CursorPageDto<>(content, page.getNextCursor(), page.isHasNext());
+    }
+
+    // 참여자가 아니면 IllegalStateException, 없는 방이면 EntityNotFoundException
+    private void assertParticipant(Long roomId, Long memberId) {
+        if (!chatRoomParticipantsCache.get(roomId).isParticipant(memberId)) {
+            throw new IllegalStateException("채팅방 참여자만 대화 내역을 볼 수 있습니다.");
+        }
+    }
+
+    private static long decodeBefore(String before) {
+        if (before == null || before.isBlank()) return Long.MAX_VALUE;
+        try {
+            return Long.parseLong(CursorCodec.decode(before, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+}
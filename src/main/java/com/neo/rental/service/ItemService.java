@@ -1,24 +1,39 @@
 package com.neo.rental.service;
 
+import com.neo.rental.cache.ItemDetailCache;
 import com.neo.rental.constant.ItemCategory;
 import com.neo.rental.constant.ItemStatus;
 import com.neo.rental.constant.RentalStatus;
+import com.neo.rental.dto.CursorPageDto;
 import com.neo.rental.dto.ItemFormDto;
 import com.neo.rental.dto.ItemResponseDto;
+import com.neo.rental.dto.ItemSummaryDto;
 import com.neo.rental.dto.ReviewResponseDto;
 import com.neo.rental.entity.ItemEntity;
 import com.neo.rental.entity.MemberEntity;
-import com.neo.rental.entity.ReviewEntity;
+import com.neo.rental.repository.ItemRatingStatsRepository;
 import com.neo.rental.repository.ItemRepository;
 import com.neo.rental.repository.MemberRepository;
 import com.neo.rental.repository.RentalRepository;
 import com.neo.rental.repository.ReviewRepository;
+import com.neo.rental.search.GeoUtils;
+import com.neo.rental.search.ItemChangedEvent;
+import com.neo.rental.search.ItemSearchCursor;
+import com.neo.rental.search.ItemSearchEngine;
+import com.neo.rental.search.ItemSearchHit;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,12 +44,22 @@ public class ItemService {
     private final ItemRepository itemRepository;
     private final MemberRepository memberRepository;
     private final ReviewRepository reviewRepository;
+    private final ReviewService reviewService;
     private final RentalRepository rentalRepository;
+    private final ItemRatingStatsRepository itemRatingStatsRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemDetailCache itemDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // 첫 페이지 조회 시 커서 대신 쓰는 값 (모든 상품보다 "앞")
+    private static final LocalDateTime FIRST_PAGE_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
     // [1. 저장]
-    public Long saveItem(ItemFormDto itemFormDto, String email) {
-        MemberEntity member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("해당 회원이 없습니다."));
+    public Long saveItem(ItemFormDto itemFormDto, Long memberId) {
+        // 토큰의 회원 ID 로 참조만 연결 (회원 조회 없음)
+        MemberEntity member = memberRepository.getReferenceById(memberId);
 
         ItemEntity item = ItemEntity.builder()
                 .title(itemFormDto.getTitle())
@@ -51,44 +76,117 @@ public class ItemService {
                 .build();
 
         itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.saved(item)); // 커밋 후 검색 인덱스 반영
         return item.getId();
     }
 
-    // [2. 검색]
+    // [2. 검색] - limit 개수만큼 한 번에 반환 (기존 방식)
     @Transactional(readOnly = true)
-    public List<ItemResponseDto> searchItems(ItemCategory category, String keyword, Double lat, Double lng, Integer radiusKm, Integer limit) {
-        Double radiusMeter = (radiusKm != null) ? radiusKm * 1000.0 : 5000.0;
-        String categoryName = (category != null) ? category.name() : null;
+    public List<ItemSummaryDto> searchItems(ItemCategory category, String keyword, Double lat, Double lng, Integer radiusKm, Integer limit) {
         int queryLimit = (limit != null && limit > 0) ? limit : 100;
+        if (!StringUtils.hasText(keyword)) keyword = null;
 
-        List<ItemEntity> itemList = itemRepository.searchItems(categoryName, keyword, lat, lng, radiusMeter, queryLimit);
-        return itemList.stream().map(ItemResponseDto::new).collect(Collectors.toList());
+        return hydrate(findHits(category, keyword, lat, lng, radiusKm, null, queryLimit), lat != null && lng != null);
     }
 
-    // [3. 상세 조회 - isRequested, isReviewed 로직 포함]
+    // [2-1. 검색 - 커서 페이지] 이전 페이지 마지막 항목의 정렬 키(cursor) 다음부터 size 건
     @Transactional(readOnly = true)
-    public ItemResponseDto getItemDetail(Long itemId, String userEmail) {
-        ItemEntity item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 상품이 존재하지 않습니다."));
+    public CursorPageDto<ItemSummaryDto> searchItemPage(ItemCategory category, String keyword, Double lat, Double lng,
+                                                         Integer radiusKm, String cursor, Integer size) {
+        int pageSize = CursorPageDto.pageSize(size, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        if (!StringUtils.hasText(keyword)) keyword = null;
 
-        ItemResponseDto responseDto = new ItemResponseDto(item);
+        ItemSearchCursor after = StringUtils.hasText(cursor) ? ItemSearchCursor.decode(cursor) : null;
+
+        // 한 건 더 조회해서 다음 페이지 존재 여부 판단
+        boolean nearby = lat != null && lng != null;
+        List<ItemSearchHit> hits = findHits(category, keyword, lat, lng, radiusKm, after, pageSize + 1);
+        ItemSearchCursor.Mode mode = (after != null) ? after.mode()
+                : ItemSearchEngine.modeOf(keyword, nearby, itemSearchEngine.canSearch(keyword, nearby));
+        CursorPageDto<ItemSearchHit> page = CursorPageDto.of(hits, pageSize,
+                last -> new ItemSearchCursor(mode, last).encode(), Function.identity());
+        return new CursorPageDto<>(hydrate(page.getContent(), nearby), page.getNextCursor(), page.isHasNext());
+    }
+
+    /**
+     * 정렬 키가 붙은 상품 ID 목록 조회
+     * - 위치/키워드 검색은 메모리 인덱스에서 먼저 처리 (인덱스로 답할 수 없으면 DB 검색)
+     * - 커서가 있으면 첫 페이지와 같은 정렬 기준(mode)으로 이어서 조회
+     */
+    private List<ItemSearchHit> findHits(ItemCategory category, String keyword, Double lat, Double lng, Integer radiusKm,
+                                         ItemSearchCursor after, int limit) {
+        double radiusMeter = (radiusKm != null) ? radiusKm * 1000.0 : 5000.0;
+        boolean nearby = lat != null && lng != null;
+        boolean indexAvailable = itemSearchEngine.canSearch(keyword, nearby);
+
+        boolean useIndex = indexAvailable;
+        if (after != null) {
+            ItemSearchCursor.Mode indexMode = ItemSearchEngine.modeOf(keyword, nearby, true);
+            ItemSearchCursor.Mode dbMode = ItemSearchEngine.modeOf(keyword, nearby, false);
+            if (after.mode() != indexMode && after.mode() != dbMode) {
+                throw new IllegalArgumentException("검색 조건이 바뀌었습니다. 처음부터 다시 조회해 주세요.");
+            }
+            // 메모리 인덱스로 읽던 커서(RELEVANCE, NEARBY)는 인덱스가 없으면 DB 정렬 기준으로 이어 읽을 수 없음
+            if (after.mode() == indexMode && indexMode != dbMode && !indexAvailable) {
+                throw new IllegalArgumentException("검색 결과가 갱신되었습니다. 처음부터 다시 조회해 주세요.");
+            }
+            // 첫 페이지를 DB 에서 읽었다면 이후 페이지도 DB 정렬 기준으로 이어서 조회
+            useIndex = indexAvailable && after.mode() == indexMode;
+        }
+        ItemSearchHit position = (after != null) ? after.position() : null;
+
+        if (useIndex) {
+            return itemSearchEngine.search(category, keyword, lat, lng, radiusMeter, position, limit);
+        }
+
+        if (nearby) {
+            // 위치 검색: 반경을 감싸는 사각형으로 공간 인덱스를 먼저 타고, 후보만 정확한 거리 계산
+            String categoryName = (category != null) ? category.name() : null;
+            String boundingBox = GeoUtils.boundingBoxWkt(lat, lng, radiusMeter);
+            List<ItemRepository.NearbyItemRow> rows = itemRepository.searchItemsNearby(
+                    categoryName, keyword, lat, lng, radiusMeter, boundingBox,
+                    (position != null) ? position.distance() : -1.0,
+                    (position != null) ? position.createdAt() : FIRST_PAGE_CREATED_AT,
+                    (position != null) ? position.itemId() : Long.MAX_VALUE,
+                    limit);
+            return rows.stream()
+                    .map(row -> new ItemSearchHit(row.getItemId(), row.getDistance(), row.getCreatedAt(), 0))
+                    .collect(Collectors.toList());
+        }
+        return itemRepository.searchItems(category, keyword,
+                (position != null) ? position.createdAt() : FIRST_PAGE_CREATED_AT,
+                (position != null) ? position.itemId() : Long.MAX_VALUE,
+                Limit.of(limit));
+    }
+
+    // 검색 결과(ID 목록)를 요약 조회 한 번으로 채우고, 검색 정렬 순서를 그대로 유지
+    private List<ItemSummaryDto> hydrate(List<ItemSearchHit> hits, boolean nearby) {
+        if (hits.isEmpty()) return List.of();
 
-        // A. 리뷰 목록 및 평점 세팅
-        List<ReviewEntity> reviewEntities = reviewRepository.findByItem_IdOrderByCreatedAtDesc(itemId);
-        List<ReviewResponseDto> reviewDtos = reviewEntities.stream().map(ReviewResponseDto::new).collect(Collectors.toList());
+        List<Long> ids = hits.stream().map(ItemSearchHit::itemId).collect(Collectors.toList());
+        Map<Long, ItemSummaryDto> summaryMap = itemRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemSummaryDto::getItemId, Function.identity()));
 
-        double averageRating = 0.0;
-        if (!reviewEntities.isEmpty()) {
-            averageRating = reviewEntities.stream().mapToInt(ReviewEntity::getRating).average().orElse(0.0);
-            averageRating = Math.round(averageRating * 10.0) / 10.0;
+        List<ItemSummaryDto> result = new ArrayList<>(hits.size());
+        for (ItemSearchHit hit : hits) {
+            ItemSummaryDto summary = summaryMap.get(hit.itemId());
+            if (summary == null) continue; // 인덱스 반영 직전에 삭제된 상품은 제외
+            if (nearby) summary.setDistance(hit.distance());
+            result.add(summary);
         }
+        return result;
+    }
 
-        responseDto.setReviews(reviewDtos);
-        responseDto.setAverageRating(averageRating);
-        responseDto.setReviewCount(reviewEntities.size());
+    // [3. 상세 조회 - isRequested, isReviewed 로직 포함]
+    // 사용자와 무관한 부분은 캐시(ItemDetailCache)에서, 사용자별 값은 복사본에 덧씌움
+    @Transactional(readOnly = true)
+    public ItemResponseDto getItemDetail(Long itemId, Long memberId) {
+        // 캐시 조회를 가장 먼저 해야 캐시 적재 쿼리가 무효화 이후의 최신 스냅샷을 읽음
+        ItemResponseDto cached = itemDetailCache.get(itemId, this::loadItemDetail);
+        ItemResponseDto responseDto = new ItemResponseDto(cached);
 
         // B. 유저 상태 확인 (신청 여부 & 리뷰 작성 여부)
-        if (userEmail != null && !userEmail.equals("anonymousUser")) {
+        if (memberId != null) {
 
             // 1. isRequested (신청/진행중 여부) - 버튼 잠금용
             List<RentalStatus> activeStatuses = List.of(
@@ -97,13 +195,14 @@ public class ItemService {
                     RentalStatus.PAID,
                     RentalStatus.RENTING
             );
-            boolean isRequested = rentalRepository.existsByItem_IdAndRenter_EmailAndStatusIn(
-                    itemId, userEmail, activeStatuses
+            boolean isRequested = rentalRepository.existsByItem_IdAndRenter_IdAndStatusIn(
+                    itemId, memberId, activeStatuses
             );
             responseDto.setRequested(isRequested);
 
-            // 👇 2. [추가] isReviewed (리뷰 작성 여부) - 버튼 표시용
-            boolean isReviewed = reviewRepository.existsByItem_IdAndReviewer_Email(itemId, userEmail);
+            // 👇 2. [추가] isReviewed (리뷰 작성 여부) - 버튼 표시용 (리뷰가 없는 상품은 조회 생략)
+            boolean isReviewed = cached.getReviewCount() > 0
+                    && reviewRepository.existsByItem_IdAndReviewer_Id(itemId, memberId);
             responseDto.setReviewed(isReviewed);
 
         } else {
@@ -114,23 +213,49 @@ public class ItemService {
         return responseDto;
     }
 
+    // 상세 정보 중 사용자와 무관한 부분 (캐시 적재용)
+    private ItemResponseDto loadItemDetail(Long itemId) {
+        ItemEntity item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 상품이 존재하지 않습니다."));
+
+        ItemResponseDto responseDto = new ItemResponseDto(item);
+
+        // A. 리뷰 첫 페이지 + 다음 페이지 커서 (나머지는 /api/reviews/item/{itemId}?cursor= 로 조회)
+        CursorPageDto<ReviewResponseDto> reviewPage = reviewService.getReviewsByItem(itemId, null, null);
+        responseDto.setReviews(List.copyOf(reviewPage.getContent()));
+        responseDto.setReviewCursor(reviewPage.getNextCursor());
+
+        // 평점/개수/분포는 집계 테이블 한 행에서
+        itemRatingStatsRepository.findById(itemId).ifPresentOrElse(stats -> {
+            responseDto.setAverageRating(stats.getAverageRating());
+            responseDto.setReviewCount((int) stats.getReviewCount());
+            responseDto.setRatingHistogram(stats.getHistogram());
+        }, () -> {
+            responseDto.setAverageRating(0.0);
+            responseDto.setReviewCount(0);
+            responseDto.setRatingHistogram(List.of(0L, 0L, 0L, 0L, 0L));
+        });
+        return responseDto;
+    }
+
     // [4. 수정]
-    public Long updateItem(Long itemId, ItemFormDto dto, String email) {
+    public Long updateItem(Long itemId, ItemFormDto dto, Long memberId) {
         ItemEntity item = itemRepository.findById(itemId).orElseThrow(() -> new EntityNotFoundException("상품 없음"));
-        if (!item.getMember().getEmail().equals(email)) throw new IllegalArgumentException("권한 없음");
+        if (!item.getMember().getId().equals(memberId)) throw new IllegalArgumentException("권한 없음");
 
         String targetImageUrl = dto.getItemImageUrl();
         if (targetImageUrl == null || targetImageUrl.isEmpty()) targetImageUrl = item.getItemImageUrl();
 
         item.updateItem(dto.getTitle(), dto.getCategory(), dto.getContent(), dto.getPrice(), dto.getLocation(), targetImageUrl, dto.getLatitude(), dto.getLongitude(), dto.getAddress());
+        eventPublisher.publishEvent(ItemChangedEvent.saved(item));
         return item.getId();
     }
 
     // [5. 삭제]
-    public void deleteItem(Long itemId, String email) {
+    public void deleteItem(Long itemId, Long memberId) {
         ItemEntity item = itemRepository.findById(itemId).orElseThrow(() -> new EntityNotFoundException("상품 없음"));
-        MemberEntity requester = memberRepository.findByEmail(email).orElseThrow(() -> new EntityNotFoundException("회원 없음"));
-        if (!item.getMember().getId().equals(requester.getId())) throw new IllegalArgumentException("권한 없음");
+        if (!item.getMember().getId().equals(memberId)) throw new IllegalArgumentException("권한 없음");
         itemRepository.delete(item);
+        eventPublisher.publishEvent(ItemChangedEvent.deleted(itemId));
     }
 }
\ No newline at end of file
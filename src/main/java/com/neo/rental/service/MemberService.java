@@ -6,7 +6,10 @@ import com.neo.rental.dto.PasswordUpdateDto;
 import com.neo.rental.dto.TokenInfo;
 import com.neo.rental.entity.MemberEntity;
 import com.neo.rental.jwt.JwtTokenProvider;
+import com.neo.rental.jwt.RevokedTokenRegistry;
 import com.neo.rental.repository.MemberRepository;
+import com.neo.rental.security.CustomUserDetails;
+import com.neo.rental.security.LoginMember;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -27,6 +30,8 @@ public class MemberService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final RevokedTokenRegistry revokedTokenRegistry;
 
     // 1. 회원가입
     @Transactional
@@ -39,67 +44,76 @@ public class MemberService {
         memberRepository.save(MemberEntity.toMemberEntity(memberDTO));
     }
 
-    // 2. 로그인 (수정됨: DB에 Refresh Token 저장)
-    @Transactional // [중요] 변경감지(Dirty Checking)로 토큰 저장을 위해 읽기전용 해제
-    public TokenInfo login(String email, String password) {
+    // 2. 로그인 (수정됨: 기기별 Refresh Token 발급)
+    @Transactional
+    public TokenInfo login(String email, String password, String deviceId) {
         // 1. 인증
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(email, password);
         Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-
-        // 2. 토큰 발급 (Access + Refresh)
-        TokenInfo tokenInfo = jwtTokenProvider.generateToken(authentication);
-
-        // 3. [추가] 리프레시 토큰 DB에 저장
-        MemberEntity member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("회원 정보가 없습니다."));
-        member.updateRefreshToken(tokenInfo.getRefreshToken()); // Entity에 메서드 필요
-
-        return tokenInfo;
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+
+        // 2. 토큰 발급 (Access + 기기별 Refresh) - 다른 기기의 토큰은 유지
+        String accessToken = jwtTokenProvider.generateAccessToken(authentication);
+        RefreshTokenService.IssuedRefreshToken refresh = refreshTokenService.issue(userDetails.getId(), deviceId);
+
+        return TokenInfo.builder()
+                .grantType("Bearer")
+                .accessToken(accessToken)
+                .refreshToken(refresh.token())
+                .deviceId(refresh.deviceId())
+                .build();
     }
 
-    // [신규] 3. 토큰 갱신 (Access Token 재발급)
+    // [신규] 3. 토큰 갱신 (Access Token 재발급 + Refresh Token 교체)
     @Transactional
-    public String refreshAccessToken(String refreshToken) {
-        // 1. 리프레시 토큰 유효성 검사
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new IllegalArgumentException("유효하지 않은 Refresh Token입니다.");
-        }
+    public TokenInfo refreshAccessToken(String refreshToken) {
+        // 1. 리프레시 토큰 교체 (해시로 한 건 조회, 이전 토큰은 즉시 무효)
+        RefreshTokenService.IssuedRefreshToken refresh = refreshTokenService.rotate(refreshToken);
 
-        // 2. DB에서 리프레시 토큰으로 회원 찾기
-        MemberEntity member = memberRepository.findByRefreshToken(refreshToken)
+        // 2. 토큰에 담을 회원 정보 (PK 조회)
+        MemberEntity member = memberRepository.findById(refresh.memberId())
                 .orElseThrow(() -> new IllegalArgumentException("토큰이 만료되었거나 존재하지 않는 회원입니다."));
 
-        // 3. 토큰 재발급 (Access Token만 새로 생성)
-        // (편의상 Authentication 객체를 수동으로 생성하여 Provider에 넘김)
-        UsernamePasswordAuthenticationToken authenticationToken =
-                new UsernamePasswordAuthenticationToken(member.getEmail(), null, Collections.emptyList());
+        // 3. Access Token 재발급
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                new LoginMember(member.getId(), member.getEmail(), member.getName(), null), null, Collections.emptyList());
 
-        TokenInfo newTokenInfo = jwtTokenProvider.generateToken(authenticationToken);
+        return TokenInfo.builder()
+                .grantType("Bearer")
+                .accessToken(jwtTokenProvider.generateAccessToken(authenticationToken))
+                .refreshToken(refresh.token())
+                .deviceId(refresh.deviceId())
+                .build();
+    }
 
-        // 리프레시 토큰도 같이 갱신하고 싶다면 여기서 member.updateRefreshToken(...) 수행
-        // 현재는 Access Token만 반환
-        return newTokenInfo.getAccessToken();
+    // [신규] 로그아웃 - 현재 Access Token 폐기 + 이 기기의 Refresh Token 삭제
+    @Transactional
+    public void logout(LoginMember loginMember, String refreshToken) {
+        if (loginMember != null) {
+            revokedTokenRegistry.revoke(loginMember);
+        }
+        refreshTokenService.revoke(refreshToken);
     }
 
     // 4. 내 정보 조회
-    public MemberDTO getMyInfo(String email) {
-        MemberEntity member = memberRepository.findByEmail(email)
+    public MemberDTO getMyInfo(Long memberId) {
+        MemberEntity member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("회원 정보가 없습니다."));
         return MemberDTO.toMemberDTO(member);
     }
 
     // 5. 내 정보 수정
     @Transactional
-    public void updateMemberInfo(String email, MemberUpdateDto updateDto) {
-        MemberEntity member = memberRepository.findByEmail(email)
+    public void updateMemberInfo(Long memberId, MemberUpdateDto updateDto) {
+        MemberEntity member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("회원 정보가 없습니다."));
         member.updateMember(updateDto.getName(), updateDto.getPhone(), updateDto.getAddress());
     }
 
     // 6. 비밀번호 변경
     @Transactional
-    public void updatePassword(String email, PasswordUpdateDto passDto) {
-        MemberEntity member = memberRepository.findByEmail(email)
+    public void updatePassword(Long memberId, PasswordUpdateDto passDto) {
+        MemberEntity member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("회원 정보가 없습니다."));
 
         if (!passwordEncoder.matches(passDto.getCurrentPassword(), member.getPassword())) {
@@ -108,5 +122,8 @@ public class MemberService {
 
         String encodedNewPassword = passwordEncoder.encode(passDto.getNewPassword());
         member.updatePassword(encodedNewPassword);
+
+        // 비밀번호가 바뀌면 모든 기기의 Refresh Token 폐기 (다시 로그인 필요)
+        refreshTokenService.revokeAll(memberId);
     }
 }
\ No newline at end of file
@@ -11,51 +11,133 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentService {
 
+    private static final String TOSS_API = "https://api.tosspayments.com/v1/payments";
+
     private final RentalRepository rentalRepository;
     private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // [추가] 토스 API 타임아웃 - 승인 요청 동안 대여 건 행 잠금을 잡고 있으므로 무한정 기다리지 않음
+    private final RestTemplate restTemplate = createRestTemplate();
 
     // 👇 [수정] yml의 toss.secret-key (즉, 환경변수 TOSS_SECRET_KEY) 값을 주입받음
     @Value("${toss.secret-key}")
     private String tossSecretKey;
 
-    @Transactional
+    /**
+     * [변경] 결제 승인
+     * 1. 대여 건을 행 잠금(SELECT ... FOR UPDATE)으로 먼저 잡고 상태/금액 검증
+     *    -> 승인 요청 중에 결제 기한 만료 스케줄러나 취소가 APPROVED 건을 바꾸지 못함 (잠금이 풀릴 때는 이미 PAID)
+     * 2. 토스 승인 요청 -> PAID + 결제 이력 저장 -> 커밋
+     * 3. 토스 승인은 됐는데 커밋에 실패하면(DB 장애 등) 토스 결제를 취소해서 돈만 빠져나가는 일이 없게 함
+     */
     public String confirmPayment(Long rentalId, String paymentKey, String orderId, Long amount) {
+        AtomicBoolean captured = new AtomicBoolean(false);
+        try {
+            return transactionTemplate.execute(status -> {
+                // 1. 렌탈 정보 조회 (잠금)
+                RentalEntity rental = rentalRepository.findByIdForUpdate(rentalId)
+                        .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 대여 ID입니다."));
+
+                // 로그 확인
+                log.info("💰 금액 검증 - DB가격: {}, 결제요청금액: {}", rental.getTotalPrice(), amount);
+
+                // [중복 결제 방어] 이미 결제된 건(PAID)이면 성공 처리
+                if (rental.getStatus() == RentalStatus.PAID) {
+                    log.info("이미 결제 완료된 건입니다. 중복 요청을 건너뜁니다. rentalId: {}", rentalId);
+                    return "{\"message\": \"이미 처리된 결제입니다.\", \"status\": \"DONE\"}";
+                }
+
+                // [상태 검증] 결제 대기(APPROVED) 건만 결제 가능 (결제 기한 만료로 자동 취소된 건 등)
+                if (rental.getStatus() != RentalStatus.APPROVED) {
+                    throw new IllegalStateException("결제 가능한 상태가 아닙니다. (결제 기한 만료 또는 취소된 예약)");
+                }
+
+                // 2. 금액 검증
+                if (amount == null || rental.getTotalPrice() != amount.intValue()) {
+                    throw new IllegalStateException("결제 금액이 일치하지 않습니다.");
+                }
+
+                // 3. 토스 승인 API 요청
+                String response = requestConfirm(paymentKey, orderId, amount, captured);
+
+                // 4. 렌탈 상태 변경: APPROVED -> PAID
+                rental.setStatus(RentalStatus.PAID);
+
+                // 5. [결제 이력 저장]
+                PaymentEntity payment = PaymentEntity.builder()
+                        .rental(rental)
+                        .paymentKey(paymentKey)
+                        .orderId(orderId)
+                        .amount(amount)
+                        .status("DONE")
+                        .build();
+
+                paymentRepository.save(payment);
+
+                return response;
+            });
+        } catch (RuntimeException e) {
+            // 토스 승인 후 커밋 전/중 실패 -> 결제 취소 (보상)
+            if (captured.get()) cancelCapturedPayment(paymentKey, rentalId, e);
+            throw e;
+        }
+    }
 
-        // 1. 렌탈 정보 조회
-        RentalEntity rental = rentalRepository.findById(rentalId)
-                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 대여 ID입니다."));
-
-        // 로그 확인
-        log.info("💰 금액 검증 - DB가격: {}, 결제요청금액: {}", rental.getTotalPrice(), amount);
+    // 승인됐거나(정상 응답) 승인 여부를 알 수 없으면(응답 전 타임아웃 등) captured = true
+    private String requestConfirm(String paymentKey, String orderId, Long amount, AtomicBoolean captured) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("paymentKey", paymentKey);
+        body.put("orderId", orderId);
+        body.put("amount", amount);
 
-        // [중복 결제 방어] 이미 결제된 건(PAID)이면 성공 처리
-        if (rental.getStatus() == RentalStatus.PAID) {
-            log.info("이미 결제 완료된 건입니다. 중복 요청을 건너뜁니다. rentalId: {}", rentalId);
-            return "{\"message\": \"이미 처리된 결제입니다.\", \"status\": \"DONE\"}";
+        try {
+            String response = restTemplate.postForObject(TOSS_API + "/confirm", new HttpEntity<>(body, tossHeaders()), String.class);
+            captured.set(true);
+            return response;
+        } catch (ResourceAccessException e) {
+            captured.set(true);
+            log.error("토스 결제 승인 응답 없음: {}", e.getMessage());
+            throw new IllegalStateException("결제 승인 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("토스 결제 승인 실패: {}", e.getMessage());
+            throw new IllegalStateException("결제 승인 중 오류가 발생했습니다: " + e.getMessage());
         }
+    }
 
-        // 2. 금액 검증
-        if (rental.getTotalPrice() != amount.intValue()) {
-            throw new IllegalStateException("결제 금액이 일치하지 않습니다.");
+    private void cancelCapturedPayment(String paymentKey, Long rentalId, RuntimeException cause) {
+        log.error("💰 결제 승인 후 저장 실패 -> 결제 취소 요청 (rentalId: {}): {}", rentalId, cause.getMessage());
+        Map<String, Object> body = Map.of("cancelReason", "결제 처리 중 오류로 자동 취소");
+        try {
+            restTemplate.postForObject(TOSS_API + "/" + paymentKey + "/cancel",
+                    new HttpEntity<>(body, tossHeaders()), String.class);
+        } catch (Exception e) {
+            // 취소까지 실패하면 수동 환불 대상 (paymentKey 로 토스 관리자에서 처리)
+            log.error("💰 결제 취소 실패 - 수동 환불 필요 (rentalId: {}, paymentKey: {}): {}",
+                    rentalId, paymentKey, e.getMessage());
         }
+    }
 
-        // 3. 토스 API 호출 준비
-        RestTemplate restTemplate = new RestTemplate();
+    private HttpHeaders tossHeaders() {
         HttpHeaders headers = new HttpHeaders();
 
         // Basic Auth 헤더 생성
@@ -64,41 +146,13 @@ public class PaymentService {
         headers.set("Authorization", "Basic " + encodedAuth);
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        return headers;
+    }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("paymentKey", paymentKey);
-        body.put("orderId", orderId);
-        body.put("amount", amount);
-
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-
-        try {
-            // 4. 토스 승인 API 요청
-            String response = restTemplate.postForObject(
-                    "https://api.tosspayments.com/v1/payments/confirm",
-                    request,
-                    String.class
-            );
-
-            // 5. 렌탈 상태 변경: APPROVED -> PAID
-            rental.setStatus(RentalStatus.PAID);
-
-            // 6. [결제 이력 저장]
-            PaymentEntity payment = PaymentEntity.builder()
-                    .rental(rental)
-                    .paymentKey(paymentKey)
-                    .orderId(orderId)
-                    .amount(amount)
-                    .status("DONE")
-                    .build();
-
-            paymentRepository.save(payment);
-
-            return response;
-
-        } catch (Exception e) {
-            log.error("토스 결제 승인 실패: {}", e.getMessage());
-            throw new IllegalStateException("결제 승인 중 오류가 발생했습니다: " + e.getMessage());
-        }
+    private static RestTemplate createRestTemplate() {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(Duration.ofSeconds(3));
+        factory.setReadTimeout(Duration.ofSeconds(15));
+        return new RestTemplate(factory);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package com.neo.rental.service;
+
+import com.neo.rental.security.RefreshTokenRecord;
+import com.neo.rental.security.RefreshTokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * [Refresh Token 발급/갱신/폐기]
+ * - 토큰: 추측할 수 없는 임의 값 (서명/클레임 없음), 저장소에는 SHA-256 해시만 보관
+ * - 기기(deviceId)당 하나씩 유지 -> 다른 기기에서 로그인해도 기존 기기의 토큰은 그대로
+ * - 갱신할 때마다 새 토큰으로 교체 (이전 토큰은 즉시 사용 불가)
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+    private static final int MAX_DEVICE_ID_LENGTH = 64;
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final Duration ttl;
+    private final int maxDevices;
+
+    public RefreshTokenService(RefreshTokenStore refreshTokenStore,
+                               @Value("${auth.refresh-token.ttl:P7D}") Duration ttl,
+                               @Value("${auth.refresh-token.max-devices:10}") int maxDevices) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.ttl = ttl;
+        this.maxDevices = maxDevices;
+    }
+
+    // 발급/갱신 결과 - token 은 응답으로만 내보내고 저장하지 않음
+    public record IssuedRefreshToken(String token, Long memberId, String deviceId) {
+    }
+
+    // 1. 로그인 시 발급 (deviceId 가 없으면 새 기기로 보고 ID 생성)
+    public IssuedRefreshToken issue(Long memberId, String deviceId) {
+        String device = (deviceId == null || deviceId.isBlank() || deviceId.length() > MAX_DEVICE_ID_LENGTH)
+                ? UUID.randomUUID().toString()
+                : deviceId.trim();
+        LocalDateTime now = LocalDateTime.now();
+
+        // 기기 수 제한: 새 기기인데 이미 가득 찼으면 가장 오래 사용하지 않은 기기부터 로그아웃
+        List<RefreshTokenRecord> devices = refreshTokenStore.findAllByMemberId(memberId);
+        boolean knownDevice = devices.stream().anyMatch(r -> r.deviceId().equals(device));
+        if (!knownDevice && devices.size() >= maxDevices) {
+            devices.stream()
+                    .sorted(Comparator.comparing(RefreshTokenRecord::lastUsedAt))
+                    .limit(devices.size() - maxDevices + 1L)
+                    .forEach(r -> refreshTokenStore.delete(r.tokenHash()));
+        }
+
+        String token = newToken();
+        refreshTokenStore.save(new RefreshTokenRecord(hash(token), memberId, device, now.plus(ttl), now));
+        return new IssuedRefreshToken(token, memberId, device);
+    }
+
+    // 2. 갱신 (rotation) - 유효한 토큰이면 같은 기기의 새 토큰 발급
+    public IssuedRefreshToken rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new IllegalArgumentException("유효하지 않은 Refresh Token입니다.");
+        }
+        String oldHash = hash(refreshToken);
+        RefreshTokenRecord record = refreshTokenStore.findByHash(oldHash)
+                .orElseThrow(() -> new IllegalArgumentException("토큰이 만료되었거나 존재하지 않는 회원입니다."));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (record.isExpired(now)) {
+            // 예외로 트랜잭션이 롤백되므로 여기서 지우지 않음 -> 만료 토큰 정리(deleteExpired)에서 삭제
+            throw new IllegalArgumentException("토큰이 만료되었습니다. 다시 로그인해 주세요.");
+        }
+
+        String token = newToken();
+        if (!refreshTokenStore.rotate(oldHash, hash(token), now.plus(ttl), now)) {
+            // 같은 토큰으로 동시에 들어온 다른 요청이 먼저 교체함
+            throw new IllegalArgumentException("이미 사용된 Refresh Token입니다.");
+        }
+        return new IssuedRefreshToken(token, record.memberId(), record.deviceId());
+    }
+
+    // 3. 해당 기기 로그아웃
+    public void revoke(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) return;
+        refreshTokenStore.delete(hash(refreshToken));
+    }
+
+    // 4. 모든 기기 로그아웃 (비밀번호 변경 등)
+    public void revokeAll(Long memberId) {
+        refreshTokenStore.deleteAllByMemberId(memberId);
+    }
+
+    // 5. 만료된 토큰 정리
+    public int deleteExpired() {
+        return refreshTokenStore.deleteExpired(LocalDateTime.now());
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
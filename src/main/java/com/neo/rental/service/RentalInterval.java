@@ -0,0 +1,13 @@
+package com.neo.rental.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품이 점유된 기간 [startDate, endDate) - 일괄 승인 시 메모리에서 겹침 검사용
+ */
+public record RentalInterval(Long rentalId, Long itemId, LocalDateTime startDate, LocalDateTime endDate) {
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startDate.isBefore(end) && endDate.isAfter(start);
+    }
+}
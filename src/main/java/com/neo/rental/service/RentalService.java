@@ -1,8 +1,14 @@
 package com.neo.rental.service;
 
+import com.neo.rental.batch.RentalApprovedEvent;
+import com.neo.rental.batch.RentalStartedEvent;
 import com.neo.rental.constant.ItemStatus;
 import com.neo.rental.constant.RentalStatus;
+import com.neo.rental.dto.CursorPageDto;
+import com.neo.rental.dto.RentalBulkDecisionDto;
 import com.neo.rental.dto.RentalDecisionDto;
+import com.neo.rental.dto.RentalDecisionResultDto;
+import com.neo.rental.dto.RentalPeriodDto;
 import com.neo.rental.dto.RentalRequestDto;
 import com.neo.rental.dto.RentalResponseDto;
 import com.neo.rental.entity.ItemEntity;
@@ -11,12 +17,32 @@ import com.neo.rental.entity.RentalEntity;
 import com.neo.rental.repository.ItemRepository;
 import com.neo.rental.repository.MemberRepository;
 import com.neo.rental.repository.RentalRepository;
+import com.neo.rental.search.ItemChangedEvent;
+import com.neo.rental.util.StripedLocks;
+import com.neo.rental.util.TimeIdCursor;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,34 +53,56 @@ public class RentalService {
     private final RentalRepository rentalRepository;
     private final ItemRepository itemRepository;
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 상품별 락 (단일 서버 내 직렬화) / 낙관적 락 충돌 시 재시도 횟수
+    private final StripedLocks itemLocks = new StripedLocks(256);
+    private static final int MAX_ATTEMPTS = 3;
+
+    // 일괄 승인/거절 한 번에 처리할 수 있는 최대 건수
+    private static final int MAX_BULK_DECISIONS = 200;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 예약 달력 조회 가능 최대 범위
+    private static final long MAX_CALENDAR_DAYS = 366;
 
     // 1. 대여 신청 (유지)
-    public RentalResponseDto createRental(String renterEmail, RentalRequestDto dto) {
-        MemberEntity renter = memberRepository.findByEmail(renterEmail)
-                .orElseThrow(() -> new IllegalArgumentException("회원 정보가 없습니다."));
+    public RentalResponseDto createRental(Long renterId, RentalRequestDto dto) {
         ItemEntity item = itemRepository.findById(dto.getItemId())
                 .orElseThrow(() -> new IllegalArgumentException("상품이 존재하지 않습니다."));
 
-        if (item.getMember().getId().equals(renter.getId())) {
+        if (item.getMember().getId().equals(renterId)) {
             throw new IllegalStateException("자신의 물건은 대여할 수 없습니다.");
         }
 
-        if (dto.getStartDate().isAfter(dto.getEndDate())) {
+        if (!dto.getStartDate().isBefore(dto.getEndDate())) {
             throw new IllegalArgumentException("종료 시간이 시작 시간보다 빠를 수 없습니다.");
         }
 
-        // 아이템이 이미 대여중인지 확인 (방어 로직)
-        if (item.getItemStatus() == ItemStatus.RENTED) {
+        // 판매/대여 중단된 상품은 신청 불가
+        if (item.getItemStatus() == ItemStatus.SOLD_OUT) {
             throw new IllegalStateException("현재 대여 불가능한 상품입니다.");
         }
 
+        // [수정] 상품이 RENTED 라도 기간이 겹치지 않으면 신청 가능 (예약 달력)
+        if (isOccupied(item.getId(), dto.getStartDate(), dto.getEndDate(), null)) {
+            throw new IllegalStateException("해당 기간에 이미 확정된 예약이 있습니다.");
+        }
+
         long hours = ChronoUnit.HOURS.between(dto.getStartDate(), dto.getEndDate());
         if (hours < 1) hours = 1;
         int totalPrice = (int) (hours * item.getPrice());
 
+        // 토큰의 회원 ID 로 참조만 연결 (회원 조회 없음)
+        MemberEntity renter = memberRepository.getReferenceById(renterId);
         RentalEntity rental = RentalEntity.builder()
                 .item(item)
                 .renter(renter)
+                .ownerId(item.getMember().getId())
                 .startDate(dto.getStartDate())
                 .endDate(dto.getEndDate())
                 .status(RentalStatus.WAITING)
@@ -64,33 +112,63 @@ public class RentalService {
         return new RentalResponseDto(rentalRepository.save(rental));
     }
 
-    // 2. 내 대여 내역 (유지)
+    // 2. 내 대여 내역 (유지) - statuses 가 비어 있으면 전체 상태
     @Transactional(readOnly = true)
-    public List<RentalResponseDto> getMyRentals(String email) {
-        MemberEntity member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("회원 정보가 없습니다."));
-        return rentalRepository.findByRenterIdOrderByCreatedAtDesc(member.getId()).stream()
+    public List<RentalResponseDto> getMyRentals(Long memberId, List<RentalStatus> statuses) {
+        return rentalRepository.findByRenterIdOrderByCreatedAtDesc(memberId, statusFilter(statuses)).stream()
                 .map(RentalResponseDto::new)
                 .collect(Collectors.toList());
     }
 
+    // 2-1. 내 대여 내역 (커서 페이지)
+    @Transactional(readOnly = true)
+    public CursorPageDto<RentalResponseDto> getMyRentalPage(Long memberId, List<RentalStatus> statuses, String cursor, Integer size) {
+        int pageSize = CursorPageDto.pageSize(size, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        TimeIdCursor after = TimeIdCursor.decode(cursor);
+        return toPage(rentalRepository.findPageByRenterId(memberId, statusFilter(statuses),
+                after.createdAt(), after.id(), Limit.of(pageSize + 1)), pageSize);
+    }
+
     // 3. 받은 요청 (유지)
     @Transactional(readOnly = true)
-    public List<RentalResponseDto> getReceivedRequests(String email) {
-        MemberEntity member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("회원 정보가 없습니다."));
-        return rentalRepository.findByItem_Member_IdOrderByCreatedAtDesc(member.getId()).stream()
+    public List<RentalResponseDto> getReceivedRequests(Long memberId, List<RentalStatus> statuses) {
+        return rentalRepository.findByItem_Member_IdOrderByCreatedAtDesc(memberId, statusFilter(statuses)).stream()
                 .map(RentalResponseDto::new)
                 .collect(Collectors.toList());
     }
 
+    // 3-1. 받은 요청 (커서 페이지)
+    @Transactional(readOnly = true)
+    public CursorPageDto<RentalResponseDto> getReceivedRequestPage(Long memberId, List<RentalStatus> statuses, String cursor, Integer size) {
+        int pageSize = CursorPageDto.pageSize(size, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        TimeIdCursor after = TimeIdCursor.decode(cursor);
+        return toPage(rentalRepository.findPageByOwnerId(memberId, statusFilter(statuses),
+                after.createdAt(), after.id(), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    private static List<RentalStatus> statusFilter(List<RentalStatus> statuses) {
+        return (statuses == null || statuses.isEmpty()) ? List.of(RentalStatus.values()) : statuses;
+    }
+
+    // 최신순 (created_at, rental_id) 커서 페이지
+    private static CursorPageDto<RentalResponseDto> toPage(List<RentalEntity> rentals, int pageSize) {
+        return CursorPageDto.of(rentals, pageSize,
+                last -> new TimeIdCursor(last.getCreatedAt(), last.getId()).encode(), RentalResponseDto::new);
+    }
+
     // 4. 승인/거절 (수정됨: 승인 시 결제 대기 상태로 변경)
-    public RentalResponseDto handleDecision(Long rentalId, String ownerEmail, RentalDecisionDto dto) {
+    // [동시성] 같은 상품에 대한 처리는 상품별 락 + 낙관적 락 재시도로 직렬화 (트랜잭션은 락 안에서 시작/커밋)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RentalResponseDto handleDecision(Long rentalId, Long ownerId, RentalDecisionDto dto) {
+        return withItemLock(rentalId, () -> decide(rentalId, ownerId, dto));
+    }
+
+    private RentalResponseDto decide(Long rentalId, Long ownerId, RentalDecisionDto dto) {
         RentalEntity rental = rentalRepository.findById(rentalId)
                 .orElseThrow(() -> new IllegalArgumentException("신청 정보 없음"));
 
-        // 주인 검증
-        if (!rental.getItem().getMember().getEmail().equals(ownerEmail)) {
+        // 주인 검증 (ID 비교 -> 주인 회원 엔티티를 읽지 않음)
+        if (!rental.getItem().getMember().getId().equals(ownerId)) {
             throw new IllegalStateException("주인만 처리 가능합니다.");
         }
         // 중복 처리 방지
@@ -99,18 +177,26 @@ public class RentalService {
         }
 
         if (dto.isApproved()) {
-            // [방어 로직] 승인 시점에 아이템이 이미 선점(RENTED)되었는지 확인
-            if (rental.getItem().getItemStatus() == ItemStatus.RENTED) {
-                throw new IllegalStateException("이미 다른 예약으로 인해 대여중인 상품입니다.");
+            // 상품 버전을 올려서, 다른 서버에서 같은 상품의 예약을 동시에 확정하면 한쪽이 충돌하도록 함
+            itemRepository.findByIdForVersionBump(rental.getItem().getId());
+
+            // [방어 로직] 승인 시점에 같은 기간이 다른 예약으로 이미 확정되었는지 확인
+            if (isOccupied(rental.getItem().getId(), rental.getStartDate(), rental.getEndDate(), rental.getId())) {
+                throw new IllegalStateException("이미 다른 예약으로 인해 해당 기간은 대여중인 상품입니다.");
             }
 
-            // 1) 렌탈 상태: APPROVED (결제 대기)
+            // 1) 렌탈 상태: APPROVED (결제 대기) - 결제 기한 안에 결제하지 않으면 자동 취소
             rental.setStatus(RentalStatus.APPROVED);
             rental.setRejectReason(null);
-
-            // 2) 아이템 상태: RENTED (선점 처리 - 다른 사람이 검색 못하게)
-            // 결제 대기 중에도 물건은 확보되어야 하므로 RENTED로 설정
-            rental.getItem().setItemStatus(ItemStatus.RENTED);
+            rental.setApprovedAt(LocalDateTime.now());
+            eventPublisher.publishEvent(new RentalApprovedEvent(rental.getId(), rental.getApprovedAt()));
+
+            // 2) 아이템 상태: RENTED (확정된 예약이 하나라도 있으면 RENTED)
+            // 결제 대기 중에도 해당 기간은 확보되어야 하므로 승인 시점부터 점유
+            if (rental.getItem().getItemStatus() != ItemStatus.RENTED) {
+                rental.getItem().setItemStatus(ItemStatus.RENTED);
+                eventPublisher.publishEvent(ItemChangedEvent.statusChanged(rental.getItem())); // 검색 인덱스 상태 반영
+            }
 
         } else {
             // 거절 처리
@@ -125,13 +211,164 @@ public class RentalService {
         return new RentalResponseDto(rental);
     }
 
+    /**
+     * 4-1. 일괄 승인/거절 - 트랜잭션 한 번으로 여러 건 처리
+     * 1. 관련 상품 락을 모두 잡음 (스트라이프 순서대로 -> 교착 없음)
+     * 2. 대여 건/상품/주인은 IN 쿼리 한 번, 기존 점유 구간도 IN 쿼리 한 번으로 조회
+     * 3. 승인 건끼리의 기간 겹침은 메모리에서 검사 (앞에서 승인한 건도 점유 구간에 포함)
+     * 4. 변경은 JDBC batch 로 한 번에 기록 (version 조건부 -> 다른 서버와 충돌하면 전체 재시도)
+     * 권한/상태/기간 문제로 처리할 수 없는 건은 전체를 실패시키지 않고 해당 건만 실패로 응답
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<RentalDecisionResultDto> handleBulkDecision(Long ownerId, RentalBulkDecisionDto dto) {
+        List<RentalBulkDecisionDto.Decision> decisions = (dto.getDecisions() != null) ? dto.getDecisions() : List.of();
+        if (decisions.isEmpty()) {
+            throw new IllegalArgumentException("처리할 요청이 없습니다.");
+        }
+        if (decisions.size() > MAX_BULK_DECISIONS) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BULK_DECISIONS + "건까지 처리할 수 있습니다.");
+        }
+        Set<Long> rentalIds = new HashSet<>();
+        for (RentalBulkDecisionDto.Decision decision : decisions) {
+            if (decision.getRentalId() == null || !rentalIds.add(decision.getRentalId())) {
+                throw new IllegalArgumentException("신청 ID 가 비어 있거나 중복되었습니다.");
+            }
+        }
+
+        List<Lock> locks = itemLocks.getAll(rentalRepository.findItemIdsByIdIn(rentalIds));
+        locks.forEach(Lock::lock);
+        try {
+            return retryOnConflict(() -> decideAll(ownerId, decisions, rentalIds));
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) locks.get(i).unlock();
+        }
+    }
+
+    private List<RentalDecisionResultDto> decideAll(Long ownerId, List<RentalBulkDecisionDto.Decision> decisions,
+                                                    Set<Long> rentalIds) {
+        Map<Long, RentalEntity> rentals = new HashMap<>();
+        for (RentalEntity rental : rentalRepository.findAllWithItemByIdIn(rentalIds)) rentals.put(rental.getId(), rental);
+
+        Map<Long, List<RentalInterval>> occupied = loadOccupiedIntervals(decisions, rentals);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<RentalDecisionResultDto> results = new ArrayList<>(decisions.size());
+        List<Object[]> rentalUpdates = new ArrayList<>();
+        List<Long> approvedRentalIds = new ArrayList<>();
+        Map<Long, ItemEntity> approvedItems = new LinkedHashMap<>();
+
+        for (RentalBulkDecisionDto.Decision decision : decisions) {
+            RentalEntity rental = rentals.get(decision.getRentalId());
+            if (rental == null) {
+                results.add(new RentalDecisionResultDto(decision.getRentalId(), null, false, null, "신청 정보 없음"));
+                continue;
+            }
+            ItemEntity item = rental.getItem();
+
+            String error = null;
+            if (!item.getMember().getId().equals(ownerId)) {
+                error = "주인만 처리 가능합니다.";
+            } else if (rental.getStatus() != RentalStatus.WAITING) {
+                error = "이미 처리된 건입니다.";
+            } else if (decision.isApproved()) {
+                List<RentalInterval> taken = occupied.computeIfAbsent(item.getId(), k -> new ArrayList<>());
+                boolean overlapped = taken.stream()
+                        .anyMatch(t -> !t.rentalId().equals(rental.getId()) && t.overlaps(rental.getStartDate(), rental.getEndDate()));
+                if (overlapped) {
+                    error = "이미 다른 예약으로 인해 해당 기간은 대여중인 상품입니다.";
+                } else {
+                    // 이후 승인 건의 겹침 검사에 포함
+                    taken.add(new RentalInterval(rental.getId(), item.getId(), rental.getStartDate(), rental.getEndDate()));
+                }
+            } else if (decision.getRejectReason() == null || decision.getRejectReason().trim().isEmpty()) {
+                error = "거절 사유 필수";
+            }
+
+            if (error != null) {
+                results.add(new RentalDecisionResultDto(rental.getId(), item.getId(), false, rental.getStatus(), error));
+                continue;
+            }
+
+            if (decision.isApproved()) {
+                rentalUpdates.add(new Object[]{RentalStatus.APPROVED.name(), null, now, now, rental.getId(), rental.getVersion()});
+                approvedRentalIds.add(rental.getId());
+                approvedItems.putIfAbsent(item.getId(), item);
+                results.add(new RentalDecisionResultDto(rental.getId(), item.getId(), true, RentalStatus.APPROVED,
+                        "예약이 승인되었습니다. (결제 대기)"));
+            } else {
+                rentalUpdates.add(new Object[]{RentalStatus.REJECTED.name(), decision.getRejectReason(), null, now,
+                        rental.getId(), rental.getVersion()});
+                results.add(new RentalDecisionResultDto(rental.getId(), item.getId(), true, RentalStatus.REJECTED,
+                        "예약이 거절되었습니다."));
+            }
+        }
+
+        // 엔티티는 건드리지 않고 JDBC batch 로 기록 (dirty checking 으로 건별 UPDATE 가 나가지 않음)
+        if (!rentalUpdates.isEmpty()) {
+            assertAllApplied(jdbcTemplate.batchUpdate(
+                    "UPDATE rental_table SET status = ?, reject_reason = ?, approved_at = ?, modified_at = ?, " +
+                            "version = version + 1 WHERE rental_id = ? AND version = ?", rentalUpdates));
+        }
+        if (!approvedItems.isEmpty()) {
+            // 승인 건이 있는 상품은 RENTED 로 바꾸면서 버전을 올림 (단건 승인과 같은 충돌 감지)
+            List<Object[]> itemUpdates = new ArrayList<>(approvedItems.size());
+            for (ItemEntity item : approvedItems.values()) {
+                itemUpdates.add(new Object[]{ItemStatus.RENTED.name(), now, item.getId(), item.getVersion()});
+            }
+            assertAllApplied(jdbcTemplate.batchUpdate(
+                    "UPDATE item_table SET item_status = ?, modified_at = ?, version = version + 1 " +
+                            "WHERE item_id = ? AND version = ?", itemUpdates));
+
+            for (ItemEntity item : approvedItems.values()) {
+                if (item.getItemStatus() != ItemStatus.RENTED) {
+                    eventPublisher.publishEvent(ItemChangedEvent.statusChanged(item, ItemStatus.RENTED));
+                }
+            }
+        }
+        for (Long rentalId : approvedRentalIds) {
+            eventPublisher.publishEvent(new RentalApprovedEvent(rentalId, now));
+        }
+        return results;
+    }
+
+    // 승인할 건들의 상품별 기존 점유 구간 (승인 건 기간을 모두 덮는 범위 한 번만 조회)
+    private Map<Long, List<RentalInterval>> loadOccupiedIntervals(List<RentalBulkDecisionDto.Decision> decisions,
+                                                                   Map<Long, RentalEntity> rentals) {
+        Set<Long> itemIds = new HashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (RentalBulkDecisionDto.Decision decision : decisions) {
+            RentalEntity rental = rentals.get(decision.getRentalId());
+            if (!decision.isApproved() || rental == null) continue;
+            itemIds.add(rental.getItem().getId());
+            if (from == null || rental.getStartDate().isBefore(from)) from = rental.getStartDate();
+            if (to == null || rental.getEndDate().isAfter(to)) to = rental.getEndDate();
+        }
+
+        Map<Long, List<RentalInterval>> occupied = new HashMap<>();
+        if (itemIds.isEmpty()) return occupied;
+        for (RentalInterval interval : rentalRepository.findIntervals(itemIds, from, to, RentalStatus.OCCUPYING)) {
+            occupied.computeIfAbsent(interval.itemId(), k -> new ArrayList<>()).add(interval);
+        }
+        return occupied;
+    }
+
+    // version 조건에 걸려 반영되지 않은 행이 있으면 다른 요청이 먼저 수정한 것 -> 롤백 후 재시도
+    private static void assertAllApplied(int[] counts) {
+        for (int count : counts) {
+            if (count == 0) {
+                throw new OptimisticLockingFailureException("다른 요청이 먼저 수정한 예약/상품이 있습니다.");
+            }
+        }
+    }
+
     // [NEW] 5. 대여 시작 (인계 확인) - 주인이 호출
-    public RentalResponseDto startRental(Long rentalId, String ownerEmail) {
+    public RentalResponseDto startRental(Long rentalId, Long ownerId) {
         RentalEntity rental = rentalRepository.findById(rentalId)
                 .orElseThrow(() -> new IllegalArgumentException("대여 기록 없음"));
 
         // 주인 검증
-        if (!rental.getItem().getMember().getEmail().equals(ownerEmail)) {
+        if (!rental.getItem().getMember().getId().equals(ownerId)) {
             throw new IllegalStateException("물건 주인만 대여를 시작할 수 있습니다.");
         }
 
@@ -142,17 +379,24 @@ public class RentalService {
 
         // 상태 변경: PAID -> RENTING (실제 사용 시작)
         rental.setStatus(RentalStatus.RENTING);
+        // [추가] 이미 반납 기한이 지났으면 커밋 후 기한 초과 표시 (OverdueRentalDetector)
+        eventPublisher.publishEvent(new RentalStartedEvent(rental.getId()));
 
         return new RentalResponseDto(rental);
     }
 
     // 6. 반납 처리 (수정됨: RENTING 상태에서만 가능)
-    public RentalResponseDto returnItem(Long rentalId, String email) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RentalResponseDto returnItem(Long rentalId, Long memberId) {
+        return withItemLock(rentalId, () -> doReturn(rentalId, memberId));
+    }
+
+    private RentalResponseDto doReturn(Long rentalId, Long memberId) {
         RentalEntity rental = rentalRepository.findById(rentalId)
                 .orElseThrow(() -> new IllegalArgumentException("대여 기록 없음"));
 
-        boolean isOwner = rental.getItem().getMember().getEmail().equals(email);
-        boolean isRenter = rental.getRenter().getEmail().equals(email);
+        boolean isOwner = rental.getItem().getMember().getId().equals(memberId);
+        boolean isRenter = rental.getRenter().getId().equals(memberId);
 
         if (!isOwner && !isRenter) {
             throw new IllegalStateException("반납 권한이 없습니다.");
@@ -167,18 +411,23 @@ public class RentalService {
         // 상태 변경: RETURNED
         rental.setStatus(RentalStatus.RETURNED);
 
-        // 아이템 복구: AVAILABLE
-        rental.getItem().setItemStatus(ItemStatus.AVAILABLE);
+        // 아이템 복구: 남은 확정 예약이 없을 때만 AVAILABLE
+        releaseItemIfIdle(rental);
 
         return new RentalResponseDto(rental);
     }
 
     // 7. 취소 (유지)
-    public RentalResponseDto cancelRental(Long rentalId, String renterEmail) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RentalResponseDto cancelRental(Long rentalId, Long renterId) {
+        return withItemLock(rentalId, () -> doCancel(rentalId, renterId));
+    }
+
+    private RentalResponseDto doCancel(Long rentalId, Long renterId) {
         RentalEntity rental = rentalRepository.findById(rentalId)
                 .orElseThrow(() -> new IllegalArgumentException("신청 정보 없음"));
 
-        if (!rental.getRenter().getEmail().equals(renterEmail)) {
+        if (!rental.getRenter().getId().equals(renterId)) {
             throw new IllegalStateException("본인만 취소 가능");
         }
 
@@ -188,12 +437,83 @@ public class RentalService {
             throw new IllegalStateException("이미 진행/완료된 건은 취소 불가");
         }
 
-        // 취소 시 아이템 상태가 RENTED였다면 풀어줘야 함 (APPROVED 상태에서 취소했을 경우)
-        if (rental.getItem().getItemStatus() == ItemStatus.RENTED) {
-            rental.getItem().setItemStatus(ItemStatus.AVAILABLE);
-        }
+        // 취소 시 아이템 상태가 RENTED였다면 풀어줘야 함 (단, 다른 확정 예약이 남아 있으면 유지)
+        releaseItemIfIdle(rental);
 
         rental.setStatus(RentalStatus.CANCELED);
         return new RentalResponseDto(rental);
     }
-}
\ No newline at end of file
+
+    // 8. 예약 달력 - 기간 [from, to) 안에서 이미 점유된 구간 목록
+    @Transactional(readOnly = true)
+    public List<RentalPeriodDto> getOccupiedPeriods(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException("해당 상품이 존재하지 않습니다.");
+        }
+        if (from == null) from = LocalDateTime.now();
+        if (to == null) to = from.plusMonths(3);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 종료 시간이 시작 시간보다 빨라야 합니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("최대 1년 범위까지만 조회할 수 있습니다.");
+        }
+        return rentalRepository.findPeriods(itemId, from, to, RentalStatus.OCCUPYING);
+    }
+
+    /**
+     * [동시성 제어] 대여 건이 속한 상품 단위로 처리
+     * 1. 같은 서버 안에서는 상품별 락으로 줄 세움 (충돌/재시도 자체가 거의 발생하지 않음)
+     * 2. 다른 서버와의 충돌은 @Version 으로 감지 -> 새 트랜잭션에서 최대 MAX_ATTEMPTS 번 다시 검사
+     */
+    private RentalResponseDto withItemLock(Long rentalId, Supplier<RentalResponseDto> action) {
+        Long itemId = rentalRepository.findItemIdById(rentalId)
+                .orElseThrow(() -> new IllegalArgumentException("신청 정보 없음"));
+
+        Lock lock = itemLocks.get(itemId);
+        lock.lock();
+        try {
+            return retryOnConflict(action);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 새 트랜잭션에서 실행, 낙관적 락 충돌 시 최대 MAX_ATTEMPTS 번까지 처음부터 다시 실행
+    private <T> T retryOnConflict(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new IllegalStateException("다른 요청과 동시에 처리되어 실패했습니다. 잠시 후 다시 시도해 주세요.");
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(10L * attempt, 30L * attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("처리가 중단되었습니다.");
+        }
+    }
+
+    // 기간 [start, end) 가 확정된 예약(승인/결제/대여중)과 겹치는지
+    private boolean isOccupied(Long itemId, LocalDateTime start, LocalDateTime end, Long excludeRentalId) {
+        return rentalRepository.existsOverlapping(itemId, start, end, RentalStatus.OCCUPYING, excludeRentalId);
+    }
+
+    // 이 예약 외에 확정된 예약이 남아 있지 않으면 상품을 AVAILABLE 로 복구
+    private void releaseItemIfIdle(RentalEntity rental) {
+        ItemEntity item = rental.getItem();
+        if (item.getItemStatus() != ItemStatus.RENTED) return;
+        if (rentalRepository.existsByItem_IdAndStatusInAndIdNot(item.getId(), RentalStatus.OCCUPYING, rental.getId())) return;
+
+        item.setItemStatus(ItemStatus.AVAILABLE);
+        eventPublisher.publishEvent(ItemChangedEvent.statusChanged(item));
+    }
+}
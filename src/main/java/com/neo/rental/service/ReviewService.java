@@ -1,18 +1,22 @@
 package com.neo.rental.service;
 
+import com.neo.rental.cache.ReviewChangedEvent;
+import com.neo.rental.dto.CursorPageDto;
 import com.neo.rental.dto.ReviewRequestDto;
 import com.neo.rental.dto.ReviewResponseDto;
 import com.neo.rental.entity.*;
 import com.neo.rental.repository.*;
 import com.neo.rental.constant.RentalStatus;
+import com.neo.rental.util.TimeIdCursor;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,18 +25,19 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final RentalRepository rentalRepository;
-    private final MemberRepository memberRepository;
+    private final ItemRatingStatsRepository itemRatingStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // 1. 리뷰 작성
-    public ReviewResponseDto createReview(String email, ReviewRequestDto dto) {
-        MemberEntity reviewer = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("회원 정보 없음"));
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 50;
 
+    // 1. 리뷰 작성
+    public ReviewResponseDto createReview(Long reviewerId, ReviewRequestDto dto) {
         RentalEntity rental = rentalRepository.findById(dto.getRentalId())
                 .orElseThrow(() -> new IllegalArgumentException("대여 정보 없음"));
 
         // [검증 1] 작성자가 실제 대여한 사람(Renter)인지 확인
-        if (!rental.getRenter().getId().equals(reviewer.getId())) {
+        if (!rental.getRenter().getId().equals(reviewerId)) {
             throw new IllegalStateException("본인이 이용한 거래만 리뷰를 작성할 수 있습니다.");
         }
 
@@ -50,30 +55,39 @@ public class ReviewService {
         ReviewEntity review = ReviewEntity.builder()
                 .rental(rental)
                 .item(rental.getItem())
-                .reviewer(reviewer)
+                .reviewer(rental.getRenter()) // 위에서 본인 확인한 대여자 (회원 조회 없음)
                 .rating(dto.getRating())
                 .content(dto.getContent())
                 .build();
 
-        return new ReviewResponseDto(reviewRepository.save(review));
+        ReviewEntity saved = reviewRepository.save(review);
+        // [추가] 상품 리뷰 집계 반영 (같은 트랜잭션 -> 리뷰 저장이 롤백되면 집계도 롤백)
+        itemRatingStatsRepository.applyRating(rental.getItem().getId(), saved.getRating(), 1);
+        eventPublisher.publishEvent(new ReviewChangedEvent(rental.getItem().getId())); // 커밋 후 상세 캐시 무효화
+        return new ReviewResponseDto(saved);
     }
 
-    // 2. 상품별 리뷰 조회
+    // 2. 상품별 리뷰 조회 (최신순 커서 페이지) - 리뷰가 쌓여도 한 번에 size 건만 조회
     @Transactional(readOnly = true)
-    public List<ReviewResponseDto> getReviewsByItem(Long itemId) {
-        return reviewRepository.findByItem_IdOrderByCreatedAtDesc(itemId).stream()
-                .map(ReviewResponseDto::new)
-                .collect(Collectors.toList());
+    public CursorPageDto<ReviewResponseDto> getReviewsByItem(Long itemId, String cursor, Integer size) {
+        int pageSize = CursorPageDto.pageSize(size, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+
+        TimeIdCursor after = TimeIdCursor.decode(cursor);
+
+        // 한 건 더 조회해서 다음 페이지 존재 여부 판단
+        List<ReviewEntity> reviews = reviewRepository.findPageByItemId(itemId, after.createdAt(), after.id(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(reviews, pageSize,
+                last -> new TimeIdCursor(last.getCreatedAt(), last.getId()).encode(), ReviewResponseDto::new);
     }
 
     // 3. 리뷰 수정 (기간 제한 로직 포함)
-    public ReviewResponseDto updateReview(Long reviewId, ReviewRequestDto requestDto, String email) {
+    public ReviewResponseDto updateReview(Long reviewId, ReviewRequestDto requestDto, Long memberId) {
         // 1. 리뷰 조회
         ReviewEntity review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new EntityNotFoundException("존재하지 않는 리뷰입니다."));
 
         // 2. 작성자 본인 확인
-        if (!review.getReviewer().getEmail().equals(email)) {
+        if (!review.getReviewer().getId().equals(memberId)) {
             throw new IllegalStateException("본인의 리뷰만 수정할 수 있습니다.");
         }
 
@@ -86,24 +100,33 @@ public class ReviewService {
             throw new IllegalStateException("리뷰 수정 기간이 지났습니다. (대여 종료 후 3일 이내만 가능)");
         }
 
-        // 4. 수정 진행
+        // 4. 수정 진행 (별점이 바뀌면 집계에서 기존 별점을 빼고 새 별점을 더함)
+        int previousRating = review.getRating();
         review.updateReview(requestDto.getRating(), requestDto.getContent());
+        if (previousRating != review.getRating()) {
+            Long itemId = review.getItem().getId();
+            itemRatingStatsRepository.applyRating(itemId, previousRating, -1);
+            itemRatingStatsRepository.applyRating(itemId, review.getRating(), 1);
+        }
+        eventPublisher.publishEvent(new ReviewChangedEvent(review.getItem().getId()));
 
         return new ReviewResponseDto(review);
     }
 
     // 4. 리뷰 삭제
-    public void deleteReview(Long reviewId, String email) {
+    public void deleteReview(Long reviewId, Long memberId) {
         // 1. 리뷰 조회
         ReviewEntity review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new EntityNotFoundException("존재하지 않는 리뷰입니다."));
 
         // 2. 권한 검증
-        if (!review.getReviewer().getEmail().equals(email)) {
+        if (!review.getReviewer().getId().equals(memberId)) {
             throw new IllegalStateException("본인의 리뷰만 삭제할 수 있습니다.");
         }
 
-        // 3. 삭제
+        // 3. 삭제 + 집계 반영
         reviewRepository.delete(review);
+        itemRatingStatsRepository.applyRating(review.getItem().getId(), review.getRating(), -1);
+        eventPublisher.publishEvent(new ReviewChangedEvent(review.getItem().getId()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.neo.rental.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * [Bloom filter - 문자열 키]
+ * "확실히 없음" 은 정확하고, "있을 수도 있음" 은 fpp 확률로 틀릴 수 있는 집합.
+ * 키 자체를 저장하지 않으므로 키 수에 비해 메모리가 작고(1% 기준 키당 약 10bit), 조회는 해시 몇 번으로 끝납니다.
+ *
+ * - 추가/조회는 여러 스레드에서 동시에 가능 (비트 배열은 AtomicLongArray)
+ * - 삭제 불가 -> 오래된 키를 빼려면 새로 만들어 교체
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double fpp) {
+        int n = Math.max(1, expectedInsertions);
+        // 최적 비트 수 m = -n ln(p) / (ln 2)^2, 해시 개수 k = m/n ln 2
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) break;
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    // 64bit FNV-1a (String.hashCode 는 32bit 라 큰 필터에서 충돌이 많음)
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // 두 번째 해시 (double hashing: h1 + i * h2)
+    private static long mix(long h) {
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= (h >>> 33);
+        return h | 1; // 홀수로 맞춰 모든 비트 위치를 돌 수 있게
+    }
+}
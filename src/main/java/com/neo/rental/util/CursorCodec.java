@@ -0,0 +1,38 @@
+package com.neo.rental.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * [커서(continuation token) 인코딩 유틸]
+ * 정렬 키 값들을 '|' 로 이어 붙인 뒤 URL-safe Base64 로 감싸서 클라이언트에 불투명(opaque) 문자열로 전달합니다.
+ * 클라이언트는 값을 해석하지 않고 다음 요청에 그대로 돌려주기만 하면 됩니다.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append(SEPARATOR);
+            if (parts[i] != null) sb.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 형식이 맞지 않으면 IllegalArgumentException (호출 측에서 400 응답)
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != expectedParts) throw new IllegalArgumentException();
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.neo.rental.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * [키별 슬라이딩 윈도우 제한 - 고정 개수 스트라이프]
+ * 키마다 최근 window 동안의 시도 시각을 limit 개짜리 원형 배열로 보관하고,
+ * 가장 오래된 시도가 window 밖으로 나가기 전까지는 limit 을 넘는 시도를 거절합니다.
+ *
+ * - 동시성: 키 해시로 고른 스트라이프 하나만 잠금 (서로 다른 키는 대부분 병렬 처리)
+ * - 메모리: 스트라이프마다 최근 사용 순(LRU)으로 maxKeys / stripes 개까지만 보관
+ *   (오래 안 쓰인 키부터 버리므로 키를 대량으로 바꿔 가며 시도해도 메모리는 고정)
+ * - 거절된 시도는 기록하지 않음 (계속 두드려도 차단 시간이 늘어나지 않음)
+ */
+public final class SlidingWindowLimiter {
+
+    private final int limit;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes;
+
+    public SlidingWindowLimiter(int limit, Duration window, int stripes, int maxKeys) {
+        this(limit, window, stripes, maxKeys, System::nanoTime);
+    }
+
+    public SlidingWindowLimiter(int limit, Duration window, int stripes, int maxKeys, LongSupplier nanoClock) {
+        if (limit <= 0) throw new IllegalArgumentException("limit 은 1 이상이어야 합니다.");
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+
+        // 2의 거듭제곱으로 맞춰 나머지 연산 대신 비트 AND 사용
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        int keysPerStripe = Math.max(1, maxKeys / size);
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) this.stripes[i] = new Stripe(keysPerStripe);
+    }
+
+    /**
+     * 시도 1회 기록
+     * @return 허용이면 Duration.ZERO, 거절이면 다시 시도할 수 있을 때까지 남은 시간
+     */
+    public Duration tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripeOf(key);
+
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.computeIfAbsent(key, k -> new Window(limit));
+            window.expire(now - windowNanos);
+            if (window.size >= limit) {
+                return Duration.ofNanos(window.oldest() + windowNanos - now);
+            }
+            window.add(now);
+            return Duration.ZERO;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void reset(String key) {
+        Stripe stripe = stripeOf(key);
+        stripe.lock.lock();
+        try {
+            stripe.windows.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeOf(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows;
+
+        Stripe(int maxKeys) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    // 시도 시각(nanoTime) 원형 배열 - 시각 순으로 쌓이므로 가장 오래된 것은 항상 head
+    private static final class Window {
+        private final long[] times;
+        private int head = 0;
+        private int size = 0;
+
+        Window(int limit) {
+            this.times = new long[limit];
+        }
+
+        void expire(long threshold) {
+            while (size > 0 && times[head] - threshold <= 0) {
+                head = (head + 1) % times.length;
+                size--;
+            }
+        }
+
+        long oldest() {
+            return times[head];
+        }
+
+        void add(long time) {
+            times[(head + size) % times.length] = time;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.neo.rental.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * [키별 락 - 고정 개수 스트라이프]
+ * 키마다 락 객체를 만들지 않고, 키 해시로 고정된 락 배열 중 하나를 고릅니다.
+ * 서로 다른 키가 같은 락을 공유할 수는 있지만(잠깐 대기할 뿐), 같은 키는 항상 같은 락을 사용합니다.
+ * (단일 서버 내 직렬화용 - 여러 서버 간 충돌은 DB 의 @Version 으로 감지)
+ */
+public final class StripedLocks {
+
+    private final Lock[] locks;
+
+    public StripedLocks(int stripes) {
+        // 2의 거듭제곱으로 맞춰 나머지 연산 대신 비트 AND 사용
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new Lock[size];
+        for (int i = 0; i < size; i++) locks[i] = new ReentrantLock();
+    }
+
+    public Lock get(Object key) {
+        return locks[indexOf(key)];
+    }
+
+    /**
+     * 여러 키를 함께 잠글 때 사용 (중복 제거 + 배열 순서로 정렬)
+     * 모든 호출자가 같은 순서로 잠그므로 서로 교차해서 기다리는 교착 상태가 생기지 않음
+     */
+    public List<Lock> getAll(Collection<?> keys) {
+        BitSet stripes = new BitSet(locks.length);
+        for (Object key : keys) stripes.set(indexOf(key));
+
+        List<Lock> result = new ArrayList<>(stripes.cardinality());
+        for (int i = stripes.nextSetBit(0); i >= 0; i = stripes.nextSetBit(i + 1)) result.add(locks[i]);
+        return result;
+    }
+
+    private int indexOf(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16); // 상위 비트도 섞어서 연속된 ID 가 고르게 퍼지도록
+        return h & (locks.length - 1);
+    }
+}
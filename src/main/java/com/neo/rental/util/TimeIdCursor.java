@@ -0,0 +1,28 @@
+package com.neo.rental.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * [최신순 목록 커서] (created_at, id) 역순 keyset 페이지의 "마지막으로 내려준 행" 위치
+ * 첫 페이지는 FIRST (모든 행보다 앞) 를 사용합니다.
+ */
+public record TimeIdCursor(LocalDateTime createdAt, Long id) {
+
+    public static final TimeIdCursor FIRST = new TimeIdCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public String encode() {
+        return CursorCodec.encode(createdAt, id);
+    }
+
+    // 비어 있으면 첫 페이지, 형식이 맞지 않으면 IllegalArgumentException
+    public static TimeIdCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return FIRST;
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new TimeIdCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.neo.rental.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * [시간 순서 ID 생성기 - Snowflake 방식]
+ * DB 왕복 없이 메모리에서 ID 를 만들고, 생성 시각 순서대로 커지므로 ID 정렬 = 시간 정렬이 됩니다.
+ *
+ *   [ 경과 ms (40비트, 약 34년) | 서버 번호 (5비트, 0~31) | 같은 ms 안의 순번 (8비트, 0~255) ] = 53비트
+ *
+ * - 53비트 이내라서 JavaScript Number 로도 정밀도 손실 없이 전달됨
+ * - 서버 번호가 겹치지 않으면 여러 서버가 동시에 만들어도 중복 없음
+ * - 같은 ms 에 256개를 넘기거나 시계가 뒤로 가면 기다리지 않고 다음 ms 값을 빌려 씀 (항상 증가)
+ */
+public final class TimeOrderedIdGenerator {
+
+    public static final int WORKER_BITS = 5;
+    public static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+    private static final int SEQUENCE_BITS = 8;
+    private static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
+    // 2025-01-01T00:00:00Z
+    private static final long EPOCH_MILLIS = 1735689600000L;
+
+    private final long workerId;
+    private final LongSupplier clock;
+    private long lastMillis = -1;
+    private int sequence = 0;
+
+    public TimeOrderedIdGenerator(int workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    public TimeOrderedIdGenerator(int workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("서버 번호는 0 ~ " + MAX_WORKER_ID + " 이어야 합니다: " + workerId);
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+    }
+
+    public synchronized long next() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        if (now > lastMillis) {
+            lastMillis = now;
+            sequence = 0;
+        } else if (++sequence > MAX_SEQUENCE) {
+            lastMillis++;
+            sequence = 0;
+        }
+        return (lastMillis << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+    }
+
+    // 이 시각(epoch ms)까지 만들어질 수 있는 가장 큰 ID (클라이언트가 보낸 ID 의 상한 검사용)
+    public static long maxIdAt(long epochMillis) {
+        long elapsed = Math.max(0, epochMillis - EPOCH_MILLIS);
+        return (elapsed << (WORKER_BITS + SEQUENCE_BITS)) | ((1L << (WORKER_BITS + SEQUENCE_BITS)) - 1);
+    }
+
+    public static int workerIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_WORKER_ID);
+    }
+}
@@ -0,0 +1,48 @@
+package com.neo.rental.chat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatMessageIdGeneratorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Test
+    void expiredLeaseStopsIdGenerationUntilWorkerIdIsClaimedAgain() throws Exception {
+        when(jdbcTemplate.queryForList(startsWith("SELECT worker_id"), eq(Integer.class), any())).thenReturn(List.of(0));
+        ChatMessageIdGenerator generator = new ChatMessageIdGenerator(jdbcTemplate, transactionTemplate, Duration.ofMillis(500));
+
+        long first = generator.next();
+
+        // 연장 실패(DB 장애) 상태로 임대 기간이 지나면 같은 번호로 계속 만들지 않음
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .when(jdbcTemplate).update(startsWith("UPDATE id_worker_lease SET lease_until"), any(), any(), any());
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .when(jdbcTemplate).queryForList(startsWith("SELECT worker_id"), eq(Integer.class), any());
+        generator.renewLease();
+        assertThat(generator.next()).isGreaterThan(first); // 만료 전에는 기존 번호로 계속 발급
+        Thread.sleep(600);
+        assertThatThrownBy(generator::next).isInstanceOf(DataAccessResourceFailureException.class);
+
+        // DB 가 돌아오면 번호를 다시 잡고 이어서 발급
+        doReturn(List.of(0)).when(jdbcTemplate).queryForList(startsWith("SELECT worker_id"), eq(Integer.class), any());
+        assertThat(generator.next()).isGreaterThan(first);
+    }
+}
@@ -0,0 +1,161 @@
+package com.neo.rental.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatMessageWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    private final ChatRoomSummaryStore summaryStore = mock(ChatRoomSummaryStore.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void queuedMessagesAreWrittenAsMultiRowInsertsAndFlushedOnShutdown() throws Exception {
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        List<Integer> rowsPerInsert = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            rowsPerInsert.add(sql.split("\\(\\?").length - 1);
+            firstWriteStarted.countDown();
+            releaseFirstWrite.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+
+        ChatMessageWriter writer = new ChatMessageWriter(jdbcTemplate, transactionTemplate, summaryStore, meterRegistry, 1000,
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+        writer.start();
+
+        writer.enqueue(message(1));
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // 첫 INSERT 가 끝나기 전에 쌓인 메시지는 다음 한 번에 저장
+        for (int i = 2; i <= 101; i++) writer.enqueue(message(i));
+        releaseFirstWrite.countDown();
+
+        writer.stop();
+
+        assertThat(rowsPerInsert).containsExactly(1, 100);
+        assertThat(writer.pendingCount()).isZero();
+        assertThat(meterRegistry.get("chat.write-behind.batch-size").summary().count()).isEqualTo(2);
+        assertThatThrownBy(() -> writer.enqueue(message(102))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void failedBatchIsRetriedWithoutLosingMessages() {
+        AtomicInteger calls = new AtomicInteger();
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) throw new DataAccessResourceFailureException("connection lost");
+            return 1;
+        });
+
+        ChatMessageWriter writer = new ChatMessageWriter(jdbcTemplate, transactionTemplate, summaryStore, meterRegistry, 1000,
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+        writer.start();
+        writer.enqueue(message(1));
+        writer.stop();
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("chat.write-behind.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void duplicateKeyDropsOnlyAlreadySavedAndCollidingMessages() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> rowsPerInsert = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            rowsPerInsert.add(sql.split("\\(\\?").length - 1);
+            if (calls.incrementAndGet() == 1) throw new DuplicateKeyException("Duplicate entry");
+            return 1;
+        });
+        QueuedChatMessage saved = message(1);
+        QueuedChatMessage colliding = message(2);
+        QueuedChatMessage fresh = message(3);
+        // 1번은 커밋이 끝났던 같은 메시지, 2번은 다른 방의 메시지가 같은 ID 로 저장돼 있음
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(saved.messageId(), saved.roomId(), saved.senderId(), saved.sendDate()));
+            handler.processRow(row(colliding.messageId(), 99L, colliding.senderId(), colliding.sendDate()));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT message_id"), any(RowCallbackHandler.class), any(Object[].class));
+        when(jdbcTemplate.queryForList(startsWith("SELECT room_id"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(10L));
+
+        ChatMessageWriter writer = new ChatMessageWriter(jdbcTemplate, transactionTemplate, summaryStore, meterRegistry, 1000,
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+        // 세 건이 한 묶음이 되도록 저장 스레드를 시작하기 전에 넣음
+        List.of(saved, colliding, fresh).forEach(writer::enqueue);
+        writer.start();
+        writer.stop();
+
+        assertThat(rowsPerInsert).containsExactly(3, 1);
+        verify(summaryStore).applyMessages(List.of(fresh));
+        assertThat(meterRegistry.get("chat.write-behind.collided").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueRejectsMessage() {
+        CountDownLatch block = new CountDownLatch(1);
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenAnswer(invocation -> {
+            block.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+
+        ChatMessageWriter writer = new ChatMessageWriter(jdbcTemplate, transactionTemplate, summaryStore, meterRegistry, 1,
+                Duration.ofMillis(50), Duration.ofSeconds(5));
+        writer.start();
+        try {
+            writer.enqueue(message(1)); // 저장 중 (대기열에서 꺼내짐)
+            assertThatThrownBy(() -> {
+                for (int i = 2; i < 10; i++) writer.enqueue(message(i));
+            }).isInstanceOf(IllegalStateException.class);
+            assertThat(meterRegistry.get("chat.write-behind.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            block.countDown();
+            writer.stop();
+        }
+    }
+
+    private static ResultSet row(long messageId, long roomId, long senderId, LocalDateTime sendDate) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(messageId);
+        when(rs.getLong(2)).thenReturn(roomId);
+        when(rs.getLong(3)).thenReturn(senderId);
+        when(rs.getTimestamp(4)).thenReturn(Timestamp.valueOf(sendDate));
+        return rs;
+    }
+
+    private static QueuedChatMessage message(long id) {
+        return new QueuedChatMessage(id, 10L, 1L, "tester", "hello " + id, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,157 @@
+package com.neo.rental.chat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * chat_room_member 요약 갱신 검증 (DB 없음, chat_message / chat_room_member 를 메모리 행으로 흉내)
+ * - 묶음이 메시지 ID 순서와 다르게 커밋되거나 같은 묶음을 다시 써도 안 읽은 수가 정확한지
+ * - 저장 전에 읽은 메시지의 읽음 위치가 저장 후에도 유지되는지
+ */
+class ChatRoomSummaryStoreTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final Long SENDER_ID = 10L;
+    private static final Long RECEIVER_ID = 20L;
+
+    // 같은 트랜잭션에서 INSERT 된 메시지 (ChatMessageWriter 가 applyMessages 직전에 씀)
+    private final List<QueuedChatMessage> storedMessages = new ArrayList<>();
+    private final List<MemberRow> members = new ArrayList<>();
+
+    private ChatRoomSummaryStore summaryStore;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenAnswer(inv -> execute(inv.getArgument(0), inv.getArgument(1)));
+        summaryStore = new ChatRoomSummaryStore(jdbcTemplate);
+
+        members.add(new MemberRow(ROOM_ID, SENDER_ID));
+        members.add(new MemberRow(ROOM_ID, RECEIVER_ID));
+    }
+
+    @Test
+    void batchesCommittedOutOfIdOrderAreAllCounted() {
+        write(message(200));
+        write(message(100)); // ID 는 먼저 받았지만 다른 묶음으로 나중에 커밋
+
+        assertThat(member(RECEIVER_ID).unreadCount).isEqualTo(2);
+        assertThat(member(SENDER_ID).unreadCount).isZero();
+        assertThat(member(RECEIVER_ID).lastMessageId).isEqualTo(200L);
+    }
+
+    @Test
+    void rewritingSameBatchDoesNotCountTwice() {
+        write(message(100), message(110));
+        // 커밋은 됐는데 응답을 못 받아 같은 묶음을 다시 씀 (이미 저장된 행은 writer 가 건너뜀)
+        summaryStore.applyMessages(List.of(message(100), message(110)));
+
+        assertThat(member(RECEIVER_ID).unreadCount).isEqualTo(2);
+    }
+
+    @Test
+    void lateMessageBeforeReadCursorIsNotCounted() {
+        write(message(200));
+        member(RECEIVER_ID).lastReadMessageId = 200; // 브로드캐스트로 보고 읽음 처리
+        write(message(100), message(300));
+
+        assertThat(member(RECEIVER_ID).unreadCount).isEqualTo(1);
+    }
+
+    @Test
+    void readOfMessageStillInWriteQueueSticksAfterItIsStored() {
+        write(message(100));
+        // 200 은 브로드캐스트로 받아 읽었지만 아직 저장 대기 중 -> 읽은 위치가 먼저 반영됨
+        summaryStore.markRead(List.of(new ReadCursor(ROOM_ID, RECEIVER_ID, 200)));
+        assertThat(member(RECEIVER_ID).lastReadMessageId).isEqualTo(200L);
+        assertThat(member(RECEIVER_ID).unreadCount).isZero();
+
+        write(message(200));
+        assertThat(member(RECEIVER_ID).unreadCount).isZero();
+
+        write(message(300));
+        assertThat(member(RECEIVER_ID).unreadCount).isEqualTo(1);
+    }
+
+    private void write(QueuedChatMessage... batch) {
+        storedMessages.addAll(Arrays.asList(batch));
+        summaryStore.applyMessages(List.of(batch));
+    }
+
+    private static QueuedChatMessage message(long messageId) {
+        return new QueuedChatMessage(messageId, ROOM_ID, SENDER_ID, "sender", "msg-" + messageId,
+                LocalDateTime.of(2030, 1, 1, 10, 0).plusSeconds(messageId));
+    }
+
+    private MemberRow member(Long memberId) {
+        return members.stream().filter(m -> m.memberId.equals(memberId)).findFirst().orElseThrow();
+    }
+
+    // ChatRoomSummaryStore 가 보내는 UPDATE 를 메모리 행에 반영
+    private int[] execute(String sql, List<Object[]> batchArgs) {
+        int[] counts = new int[batchArgs.size()];
+        for (int i = 0; i < batchArgs.size(); i++) {
+            Object[] args = batchArgs.get(i);
+            if (sql.startsWith("UPDATE chat_room_member m SET m.unread_count")) {
+                Long roomId = (Long) args[0];
+                for (MemberRow m : members) {
+                    if (!m.roomId.equals(roomId)) continue;
+                    m.unreadCount = storedMessages.stream()
+                            .filter(c -> c.roomId().equals(m.roomId) && c.messageId() > m.lastReadMessageId
+                                    && !c.senderId().equals(m.memberId))
+                            .count();
+                    counts[i]++;
+                }
+            } else if (sql.startsWith("UPDATE chat_room_member SET last_message_id")) {
+                long messageId = (Long) args[0];
+                Long roomId = (Long) args[4];
+                for (MemberRow m : members) {
+                    if (!m.roomId.equals(roomId) || (m.lastMessageId != null && m.lastMessageId >= messageId)) continue;
+                    m.lastMessageId = messageId;
+                    counts[i]++;
+                }
+            } else if (sql.startsWith("UPDATE chat_room_member SET unread_count")) {
+                Long roomId = (Long) args[0];
+                long readUpTo = (Long) args[1];
+                Long memberId = (Long) args[2];
+                for (MemberRow m : members) {
+                    if (!m.roomId.equals(roomId) || !m.memberId.equals(memberId) || m.lastReadMessageId >= readUpTo) continue;
+                    m.unreadCount = storedMessages.stream()
+                            .filter(c -> c.roomId().equals(roomId) && c.messageId() > readUpTo && !c.senderId().equals(memberId))
+                            .count();
+                    m.lastReadMessageId = readUpTo;
+                    counts[i]++;
+                }
+            } else {
+                throw new IllegalArgumentException("예상하지 못한 SQL: " + sql);
+            }
+        }
+        return counts;
+    }
+
+    private static class MemberRow {
+        private final Long roomId;
+        private final Long memberId;
+        private Long lastMessageId;
+        private long lastReadMessageId;
+        private long unreadCount;
+
+        MemberRow(Long roomId, Long memberId) {
+            this.roomId = roomId;
+            this.memberId = memberId;
+        }
+    }
+}
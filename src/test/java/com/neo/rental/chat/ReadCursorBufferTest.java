@@ -0,0 +1,77 @@
+package com.neo.rental.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ReadCursorBufferTest {
+
+    private final ChatRoomSummaryStore summaryStore = mock(ChatRoomSummaryStore.class);
+    private final ReadCursorBuffer buffer = new ReadCursorBuffer(summaryStore, new SimpleMeterRegistry());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readEventsAreCoalescedToTheFurthestCursorPerRoomAndMember() {
+        assertThat(buffer.advance(1L, 10L, 100)).isTrue();
+        assertThat(buffer.advance(1L, 10L, 120)).isTrue();
+        assertThat(buffer.advance(1L, 10L, 110)).isFalse();
+        assertThat(buffer.advance(2L, 10L, 50)).isTrue();
+
+        buffer.flush();
+
+        ArgumentCaptor<List<ReadCursor>> captor = ArgumentCaptor.forClass(List.class);
+        verify(summaryStore).markRead(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(
+                new ReadCursor(1L, 10L, 120), new ReadCursor(2L, 10L, 50));
+
+        buffer.flush();
+        verify(summaryStore, times(1)).markRead(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushMemberOnlyWritesThatMembersCursors() {
+        buffer.advance(1L, 10L, 100);
+        buffer.advance(1L, 20L, 90);
+
+        buffer.flushMember(20L);
+
+        ArgumentCaptor<List<ReadCursor>> captor = ArgumentCaptor.forClass(List.class);
+        verify(summaryStore).markRead(captor.capture());
+        assertThat(captor.getValue()).containsExactly(new ReadCursor(1L, 20L, 90));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedFlushKeepsCursorsForTheNextAttempt() {
+        doThrow(new DataAccessResourceFailureException("down")).when(summaryStore).markRead(anyList());
+        buffer.advance(1L, 10L, 100);
+        buffer.flush();
+
+        buffer.advance(1L, 10L, 105);
+        doNothing().when(summaryStore).markRead(anyList());
+        buffer.flush();
+
+        ArgumentCaptor<List<ReadCursor>> captor = ArgumentCaptor.forClass(List.class);
+        verify(summaryStore, times(2)).markRead(captor.capture());
+        assertThat(captor.getAllValues().get(1)).containsExactly(new ReadCursor(1L, 10L, 105));
+    }
+
+    @Test
+    void emptyBufferDoesNotTouchTheDatabase() {
+        buffer.flush();
+        verify(summaryStore, never()).markRead(anyList());
+    }
+}
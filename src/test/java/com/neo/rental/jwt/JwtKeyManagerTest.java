@@ -0,0 +1,229 @@
+package com.neo.rental.jwt;
+
+import com.neo.rental.security.LoginMember;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyManagerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void verifierWithPublicKeyOnlyAcceptsRs256Token() throws Exception {
+        KeyPair pair = rsaKeyPair();
+        JwtTokenProvider signer = provider(manager("RS256", pem("PRIVATE KEY", pair.getPrivate().getEncoded()), "", List.of()));
+        JwtKeyManager verifierKeys = manager("RS256", "", pem("PUBLIC KEY", pair.getPublic().getEncoded()), List.of());
+        JwtTokenProvider verifier = provider(verifierKeys);
+
+        String token = signer.generateAccessToken(authentication());
+
+        Authentication authentication = verifier.getAuthentication(token);
+        assertThat(authentication).isNotNull();
+        assertThat(((LoginMember) authentication.getPrincipal()).getId()).isEqualTo(1L);
+        assertThat(verifierKeys.canSign()).isFalse();
+        assertThatThrownBy(() -> verifier.generateAccessToken(authentication()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void es256SignsAndPublishesJwk() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair pair = generator.generateKeyPair();
+        String privatePem = pem("PRIVATE KEY", pair.getPrivate().getEncoded());
+        String publicPem = pem("PUBLIC KEY", pair.getPublic().getEncoded());
+
+        assertThatThrownBy(() -> manager("ES256", privatePem, "", List.of()))
+                .isInstanceOf(IllegalStateException.class);
+
+        JwtKeyManager keys = manager("ES256", privatePem, publicPem, List.of());
+        String token = provider(keys).generateAccessToken(authentication());
+        assertThat(provider(keys).getAuthentication(token)).isNotNull();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> jwk = ((List<Map<String, Object>>) keys.jwks().get("keys")).get(0);
+        assertThat(jwk).containsEntry("kty", "EC").containsEntry("kid", keys.getSigningKeyId());
+        assertThat(JwtKeyCodec.fromJwk(jwk)).isEqualTo(pair.getPublic());
+    }
+
+    @Test
+    void previousKeyStillVerifiesAfterRotation() throws Exception {
+        KeyPair oldPair = rsaKeyPair();
+        KeyPair newPair = rsaKeyPair();
+        String oldToken = provider(manager("RS256", pem("PRIVATE KEY", oldPair.getPrivate().getEncoded()), "", List.of()))
+                .generateAccessToken(authentication());
+
+        String newPrivate = pem("PRIVATE KEY", newPair.getPrivate().getEncoded());
+        JwtKeyManager rotated = manager("RS256", newPrivate, "", List.of(pem("PUBLIC KEY", oldPair.getPublic().getEncoded())));
+        JwtKeyManager withoutPrevious = manager("RS256", newPrivate, "", List.of());
+
+        assertThat(provider(rotated).getAuthentication(oldToken)).isNotNull();
+        assertThat((List<?>) rotated.jwks().get("keys")).hasSize(2);
+        assertThat(provider(withoutPrevious).getAuthentication(oldToken)).isNull();
+    }
+
+    @Test
+    void tokenWithoutKidNeedsSharedSecret() throws Exception {
+        byte[] secret = new byte[64];
+        String encodedSecret = Base64.getEncoder().encodeToString(secret);
+        String hsToken = provider(JwtKeyManager.hmac(encodedSecret)).generateAccessToken(authentication());
+
+        KeyPair pair = rsaKeyPair();
+        String publicPem = pem("PUBLIC KEY", pair.getPublic().getEncoded());
+        JwtKeyManager withoutSecret = manager("RS256", "", publicPem, List.of());
+
+        assertThat(provider(withoutSecret).getAuthentication(hsToken)).isNull();
+    }
+
+    @Test
+    void jwksRefreshRunsOnceWhileOtherRequestsFailFast() throws Exception {
+        KeyPair pair = rsaKeyPair();
+        JwtKeyManager signerKeys = manager("RS256", pem("PRIVATE KEY", pair.getPrivate().getEncoded()), "", List.of());
+        String token = provider(signerKeys).generateAccessToken(authentication());
+        String otherToken = provider(manager("RS256", pem("PRIVATE KEY", rsaKeyPair().getPrivate().getEncoded()), "", List.of()))
+                .generateAccessToken(authentication());
+
+        // 첫 조회는 release 전까지 응답하지 않는 발급 서버
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch requested = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        byte[] body = jwksJson(signerKeys).getBytes(StandardCharsets.UTF_8);
+        ExecutorService serverExecutor = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/jwks", exchange -> {
+            fetches.incrementAndGet();
+            requested.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            JwtKeyManager verifierKeys = new JwtKeyManager(new DefaultResourceLoader(), "", "RS256", "", "", List.of(),
+                    "http://127.0.0.1:" + server.getAddress().getPort() + "/jwks", Duration.ofSeconds(30));
+            JwtTokenProvider verifier = provider(verifierKeys);
+
+            Future<Authentication> first = executor.submit(() -> verifier.getAuthentication(token));
+            assertThat(requested.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 조회 중에 들어온 요청은 기다리지 않고 실패
+            long startedAt = System.nanoTime();
+            assertThat(verifier.getAuthentication(token)).isNull();
+            assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofMillis(500));
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(verifier.getAuthentication(token)).isNotNull();
+
+            // 최소 간격 안에서는 모르는 kid 가 와도 다시 조회하지 않음
+            assertThat(verifier.getAuthentication(otherToken)).isNull();
+            assertThat(fetches.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void parsesPkcs1RsaPrivateKey() throws Exception {
+        KeyPair pair = rsaKeyPair();
+        byte[] pkcs8 = pair.getPrivate().getEncoded();
+
+        // PKCS#8 안의 OCTET STRING(= PKCS#1 RSAPrivateKey) 만 꺼냄
+        int offset = 4 + 3 + 15; // SEQUENCE 헤더(4) + version(3) + AlgorithmIdentifier(15)
+        int lengthBytes = pkcs8[offset + 1] & 0x7f;
+        byte[] pkcs1 = Arrays.copyOfRange(pkcs8, offset + 2 + lengthBytes, pkcs8.length);
+
+        assertThat(JwtKeyCodec.parsePrivateKey(pem("RSA PRIVATE KEY", pkcs1), "RSA")).isEqualTo(pair.getPrivate());
+    }
+
+    private JwtKeyManager manager(String algorithm, String privatePem, String publicPem, List<String> previousPems) throws Exception {
+        List<String> previousLocations = new ArrayList<>();
+        for (String previous : previousPems) previousLocations.add(write(previous));
+        return new JwtKeyManager(new DefaultResourceLoader(), "", algorithm,
+                privatePem.isEmpty() ? "" : write(privatePem),
+                publicPem.isEmpty() ? "" : write(publicPem),
+                previousLocations, "", Duration.ofSeconds(30));
+    }
+
+    private static JwtTokenProvider provider(JwtKeyManager keyManager) {
+        return new JwtTokenProvider(keyManager, new VerifiedTokenCache(new SimpleMeterRegistry(), 0));
+    }
+
+    private static Authentication authentication() {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return new UsernamePasswordAuthenticationToken(
+                new LoginMember(1L, "user@test.com", "tester", authorities), null, authorities);
+    }
+
+    private static KeyPair rsaKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    // JWK 값은 모두 문자열
+    private static String jwksJson(JwtKeyManager keys) {
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> jwks = (List<Map<String, Object>>) keys.jwks().get("keys");
+        StringJoiner json = new StringJoiner(",", "{\"keys\":[", "]}");
+        for (Map<String, Object> jwk : jwks) {
+            StringJoiner entry = new StringJoiner(",", "{", "}");
+            jwk.forEach((name, value) -> entry.add("\"" + name + "\":\"" + value + "\""));
+            json.add(entry.toString());
+        }
+        return json.toString();
+    }
+
+    private String write(String content) throws Exception {
+        Path file = Files.createTempFile(dir, "key", ".pem");
+        Files.writeString(file, content);
+        return "file:" + file;
+    }
+}
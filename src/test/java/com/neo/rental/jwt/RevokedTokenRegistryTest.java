@@ -0,0 +1,52 @@
+package com.neo.rental.jwt;
+
+import com.neo.rental.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevokedTokenRegistryTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RevokedTokenRegistry registry = new RevokedTokenRegistry(repository, meterRegistry, 1_000);
+
+    @Test
+    void rebuildReplacesFilterWithActiveJtisOnly() {
+        when(repository.findActiveJtis(any())).thenReturn(List.of("jti-1", "jti-2"));
+        when(repository.existsById("jti-1")).thenReturn(true);
+        when(repository.existsById("jti-2")).thenReturn(true);
+        registry.rebuild();
+
+        assertThat(registry.isRevoked("jti-1")).isTrue();
+        assertThat(registry.isRevoked("jti-2")).isTrue();
+
+        // jti-1 이 만료되어 정리된 뒤 재구성 -> 필터에서 빠져 DB 확인 없이 통과
+        when(repository.findActiveJtis(any())).thenReturn(List.of("jti-2"));
+        registry.rebuild();
+
+        assertThat(registry.isRevoked("jti-1")).isFalse();
+        assertThat(registry.isRevoked("jti-2")).isTrue();
+        verify(repository, times(2)).deleteExpired(any());
+        assertThat(meterRegistry.counter("jwt.revocation.db-checks").count()).isEqualTo(3);
+    }
+
+    @Test
+    void unknownJtiSkipsDatabaseOnceFilterIsLoaded() {
+        when(repository.findActiveJtis(any())).thenReturn(List.of("jti-1"));
+        registry.rebuild();
+
+        assertThat(registry.isRevoked("other")).isFalse();
+        verify(repository, never()).existsById(anyString());
+    }
+}
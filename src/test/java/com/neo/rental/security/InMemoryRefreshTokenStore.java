@@ -0,0 +1,61 @@
+package com.neo.rental.security;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 테스트용 메모리 저장소 (JpaRefreshTokenStore 와 같은 규칙: 회원 + 기기당 한 건, 해시 기준 조회/교체)
+ */
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, RefreshTokenRecord> byHash = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized void save(RefreshTokenRecord record) {
+        byHash.values().removeIf(r -> r.memberId().equals(record.memberId()) && r.deviceId().equals(record.deviceId()));
+        byHash.put(record.tokenHash(), record);
+    }
+
+    @Override
+    public Optional<RefreshTokenRecord> findByHash(String tokenHash) {
+        return Optional.ofNullable(byHash.get(tokenHash));
+    }
+
+    @Override
+    public List<RefreshTokenRecord> findAllByMemberId(Long memberId) {
+        return byHash.values().stream().filter(r -> r.memberId().equals(memberId)).toList();
+    }
+
+    @Override
+    public synchronized boolean rotate(String oldHash, String newHash, LocalDateTime expiresAt, LocalDateTime now) {
+        RefreshTokenRecord current = byHash.get(oldHash);
+        if (current == null || current.isExpired(now)) return false;
+        byHash.remove(oldHash);
+        byHash.put(newHash, new RefreshTokenRecord(newHash, current.memberId(), current.deviceId(), expiresAt, now));
+        return true;
+    }
+
+    @Override
+    public void delete(String tokenHash) {
+        byHash.remove(tokenHash);
+    }
+
+    @Override
+    public void deleteAllByMemberId(Long memberId) {
+        byHash.values().removeIf(r -> r.memberId().equals(memberId));
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int before = byHash.size();
+        byHash.values().removeIf(r -> r.isExpired(now));
+        return before - byHash.size();
+    }
+
+    public int size() {
+        return byHash.size();
+    }
+}
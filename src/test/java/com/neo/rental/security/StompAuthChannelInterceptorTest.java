@@ -0,0 +1,118 @@
+package com.neo.rental.security;
+
+import com.neo.rental.cache.ChatRoomParticipantsCache;
+import com.neo.rental.chat.ChatRoomParticipants;
+import com.neo.rental.jwt.JwtTokenProvider;
+import com.neo.rental.jwt.RevokedTokenRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StompAuthChannelInterceptorTest {
+
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final RevokedTokenRegistry revokedTokenRegistry = mock(RevokedTokenRegistry.class);
+    private final ChatRoomParticipantsCache participantsCache = mock(ChatRoomParticipantsCache.class);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final StompAuthChannelInterceptor interceptor =
+            new StompAuthChannelInterceptor(jwtTokenProvider, revokedTokenRegistry, participantsCache);
+
+    @Test
+    void connectWithValidTokenSetsTheLoginMemberAsSessionUser() {
+        Authentication authentication = authenticationOf(1L, Instant.now().plusSeconds(60));
+        when(jwtTokenProvider.getAuthentication("good")).thenReturn(authentication);
+
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.addNativeHeader("Authorization", "Bearer good");
+        Message<?> result = interceptor.preSend(message(connect), channel);
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(result, StompHeaderAccessor.class);
+        assertThat(accessor.getUser()).isSameAs(authentication);
+    }
+
+    @Test
+    void connectWithoutTokenOrWithRevokedTokenIsRejected() {
+        assertThatThrownBy(() -> interceptor.preSend(message(StompHeaderAccessor.create(StompCommand.CONNECT)), channel))
+                .isInstanceOf(AccessDeniedException.class);
+
+        when(jwtTokenProvider.getAuthentication("revoked")).thenReturn(authenticationOf(1L, null));
+        when(revokedTokenRegistry.isRevoked("jti-1")).thenReturn(true);
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.addNativeHeader("Authorization", "Bearer revoked");
+        assertThatThrownBy(() -> interceptor.preSend(message(connect), channel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void roomSubscriptionIsLimitedToParticipants() {
+        when(participantsCache.get(7L)).thenReturn(new ChatRoomParticipants(7L, 1L, "구매자", 2L, "판매자"));
+        when(participantsCache.get(8L)).thenThrow(new EntityNotFoundException("없음"));
+
+        interceptor.preSend(subscribe(authenticationOf(1L, null), "/sub/chat/room/7"), channel);
+        interceptor.preSend(subscribe(authenticationOf(2L, null), "/sub/chat/room/7/read"), channel);
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe(authenticationOf(3L, null), "/sub/chat/room/7"), channel))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preSend(subscribe(authenticationOf(1L, null), "/sub/chat/room/8"), channel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void wildcardAndUnknownChatDestinationsAreRejected() {
+        when(participantsCache.get(7L)).thenReturn(new ChatRoomParticipants(7L, 1L, "구매자", 2L, "판매자"));
+        Authentication participant = authenticationOf(1L, null);
+
+        for (String destination : List.of("/sub/chat/room/*", "/sub/chat/room/**", "/sub/chat/room/7/*",
+                "/sub/chat/room/?", "/sub/**", "/sub/chat/rooms", "/sub/chat/room/7/typing")) {
+            assertThatThrownBy(() -> interceptor.preSend(subscribe(participant, destination), channel))
+                    .as(destination)
+                    .isInstanceOf(AccessDeniedException.class);
+        }
+    }
+
+    @Test
+    void framesFromUnauthenticatedOrExpiredSessionsAreRejected() {
+        assertThatThrownBy(() -> interceptor.preSend(subscribe(null, "/sub/chat/room/7"), channel))
+                .isInstanceOf(AccessDeniedException.class);
+
+        StompHeaderAccessor send = StompHeaderAccessor.create(StompCommand.SEND);
+        send.setDestination("/pub/chat/message");
+        send.setUser(authenticationOf(1L, Instant.now().minusSeconds(1)));
+        assertThatThrownBy(() -> interceptor.preSend(message(send), channel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static Authentication authenticationOf(Long memberId, Instant expiresAt) {
+        LoginMember loginMember = new LoginMember(memberId, "m" + memberId + "@test.com", "회원" + memberId,
+                List.of(), "jti-" + memberId, expiresAt);
+        return new UsernamePasswordAuthenticationToken(loginMember, "", List.of());
+    }
+
+    private static Message<?> subscribe(Authentication user, String destination) {
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setDestination(destination);
+        subscribe.setUser(user);
+        return message(subscribe);
+    }
+
+    private static Message<?> message(StompHeaderAccessor accessor) {
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
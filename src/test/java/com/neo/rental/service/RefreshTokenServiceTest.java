@@ -0,0 +1,107 @@
+package com.neo.rental.service;
+
+import com.neo.rental.security.InMemoryRefreshTokenStore;
+import com.neo.rental.security.RefreshTokenRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenServiceTest {
+
+    private static final Long MEMBER_ID = 1L;
+
+    private InMemoryRefreshTokenStore store;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRefreshTokenStore();
+        refreshTokenService = new RefreshTokenService(store, Duration.ofDays(7), 3);
+    }
+
+    @Test
+    void storeKeepsOnlyTokenHash() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue(MEMBER_ID, "phone");
+
+        RefreshTokenRecord record = store.findAllByMemberId(MEMBER_ID).get(0);
+        assertThat(record.tokenHash()).hasSize(64).isNotEqualTo(issued.token());
+        assertThat(store.findByHash(RefreshTokenService.hash(issued.token()))).isPresent();
+    }
+
+    @Test
+    void loginOnAnotherDeviceKeepsExistingDeviceToken() {
+        RefreshTokenService.IssuedRefreshToken phone = refreshTokenService.issue(MEMBER_ID, "phone");
+        RefreshTokenService.IssuedRefreshToken laptop = refreshTokenService.issue(MEMBER_ID, "laptop");
+
+        assertThat(refreshTokenService.rotate(phone.token()).deviceId()).isEqualTo("phone");
+        assertThat(refreshTokenService.rotate(laptop.token()).deviceId()).isEqualTo("laptop");
+    }
+
+    @Test
+    void reloginOnSameDeviceReplacesPreviousToken() {
+        RefreshTokenService.IssuedRefreshToken first = refreshTokenService.issue(MEMBER_ID, "phone");
+        refreshTokenService.issue(MEMBER_ID, "phone");
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThatThrownBy(() -> refreshTokenService.rotate(first.token())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rotationIssuesNewTokenAndInvalidatesOldOne() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue(MEMBER_ID, null);
+
+        RefreshTokenService.IssuedRefreshToken rotated = refreshTokenService.rotate(issued.token());
+
+        assertThat(rotated.token()).isNotEqualTo(issued.token());
+        assertThat(rotated.deviceId()).isEqualTo(issued.deviceId());
+        assertThat(rotated.memberId()).isEqualTo(MEMBER_ID);
+        assertThatThrownBy(() -> refreshTokenService.rotate(issued.token())).isInstanceOf(IllegalArgumentException.class);
+        assertThat(refreshTokenService.rotate(rotated.token())).isNotNull();
+    }
+
+    @Test
+    void deviceLimitEvictsLeastRecentlyUsedDevice() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusDays(7);
+        store.save(new RefreshTokenRecord(RefreshTokenService.hash("t2"), MEMBER_ID, "d2", expiresAt, now.minusHours(1)));
+        store.save(new RefreshTokenRecord(RefreshTokenService.hash("t1"), MEMBER_ID, "d1", expiresAt, now.minusHours(3)));
+        store.save(new RefreshTokenRecord(RefreshTokenService.hash("t3"), MEMBER_ID, "d3", expiresAt, now.minusHours(2)));
+
+        refreshTokenService.issue(MEMBER_ID, "d4");
+
+        assertThat(store.findAllByMemberId(MEMBER_ID)).extracting(RefreshTokenRecord::deviceId)
+                .containsExactlyInAnyOrder("d2", "d3", "d4");
+        assertThatThrownBy(() -> refreshTokenService.rotate("t1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void expiredTokensAreRejectedAndCleanedUp() {
+        LocalDateTime past = LocalDateTime.now().minusDays(1);
+        store.save(new RefreshTokenRecord(RefreshTokenService.hash("expired-token"), MEMBER_ID, "old", past, past.minusDays(7)));
+        refreshTokenService.issue(MEMBER_ID, "phone");
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("expired-token")).isInstanceOf(IllegalArgumentException.class);
+
+        store.save(new RefreshTokenRecord(RefreshTokenService.hash("expired-token-2"), MEMBER_ID, "old2", past, past.minusDays(7)));
+        assertThat(refreshTokenService.deleteExpired()).isEqualTo(2);
+        assertThat(store.findAllByMemberId(MEMBER_ID)).extracting(RefreshTokenRecord::deviceId).containsExactly("phone");
+    }
+
+    @Test
+    void revokeAllLogsOutEveryDeviceOfMember() {
+        RefreshTokenService.IssuedRefreshToken phone = refreshTokenService.issue(MEMBER_ID, "phone");
+        refreshTokenService.issue(MEMBER_ID, "laptop");
+        refreshTokenService.issue(2L, "phone");
+
+        refreshTokenService.revokeAll(MEMBER_ID);
+
+        assertThat(store.findAllByMemberId(MEMBER_ID)).isEmpty();
+        assertThat(store.findAllByMemberId(2L)).hasSize(1);
+        assertThatThrownBy(() -> refreshTokenService.rotate(phone.token())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,431 @@
+package com.neo.rental.service;
+
+import com.neo.rental.constant.ItemStatus;
+import com.neo.rental.constant.RentalStatus;
+import com.neo.rental.dto.RentalBulkDecisionDto;
+import com.neo.rental.dto.RentalDecisionDto;
+import com.neo.rental.dto.RentalDecisionResultDto;
+import com.neo.rental.entity.ItemEntity;
+import com.neo.rental.entity.MemberEntity;
+import com.neo.rental.entity.RentalEntity;
+import com.neo.rental.repository.ItemRepository;
+import com.neo.rental.repository.MemberRepository;
+import com.neo.rental.repository.RentalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * RentalService 의 상품별 락과 충돌 재시도 로직 검증 (DB 없음, 저장소는 메모리 데이터로 흉내)
+ * - 한 서버 안에서 같은 상품의 승인을 동시에 요청하면 상품별 락으로 정확히 한 건만 승인되는지
+ * - 커밋 시 낙관적 락 예외가 나면 새 트랜잭션에서 다시 시도하고, 횟수 제한이 지켜지는지
+ * - 일괄 승인/거절: 한 요청 안의 겹치는 승인, batch UPDATE 의 version 충돌 재시도, 최대 건수 제한
+ * 실제 @Version 충돌 감지(여러 서버, DB 커밋)는 여기서 검증하지 않음 -> 예외는 가짜 트랜잭션 매니저가 던짐
+ */
+class RentalDecisionLockingTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final LocalDateTime END = START.plusDays(2);
+
+    private final Map<Long, RentalEntity> rentals = new ConcurrentHashMap<>();
+    private final Map<Long, ItemEntity> items = new ConcurrentHashMap<>();
+
+    // 일괄 처리의 테이블별 batch UPDATE 호출 기록 (건별 인자) / version 충돌로 0건 반영을 돌려줄 남은 횟수
+    private final List<List<Object[]>> rentalBatches = new ArrayList<>();
+    private final List<List<Object[]>> itemBatches = new ArrayList<>();
+    private final AtomicInteger conflictsLeft = new AtomicInteger();
+
+    private RentalRepository rentalRepository;
+    private ItemRepository itemRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        rentalRepository = mock(RentalRepository.class);
+        itemRepository = mock(ItemRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+
+        when(rentalRepository.findById(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(rentals.get(inv.<Long>getArgument(0))));
+        when(rentalRepository.findItemIdById(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(rentals.get(inv.<Long>getArgument(0))).map(r -> r.getItem().getId()));
+        when(itemRepository.findByIdForVersionBump(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(items.get(inv.<Long>getArgument(0))));
+        when(rentalRepository.existsOverlapping(anyLong(), any(), any(), anyCollection(), nullable(Long.class)))
+                .thenAnswer(inv -> {
+                    Long itemId = inv.getArgument(0);
+                    LocalDateTime start = inv.getArgument(1);
+                    LocalDateTime end = inv.getArgument(2);
+                    Collection<RentalStatus> statuses = inv.getArgument(3);
+                    Long excludeId = inv.getArgument(4);
+                    return rentals.values().stream().anyMatch(r ->
+                            r.getItem().getId().equals(itemId)
+                                    && statuses.contains(r.getStatus())
+                                    && r.getStartDate().isBefore(end) && r.getEndDate().isAfter(start)
+                                    && !r.getId().equals(excludeId));
+                });
+
+        // 일괄 처리용 IN 조회 + JDBC batch
+        when(rentalRepository.findItemIdsByIdIn(anyCollection()))
+                .thenAnswer(inv -> inv.<Collection<Long>>getArgument(0).stream()
+                        .map(rentals::get).filter(r -> r != null).map(r -> r.getItem().getId()).distinct().toList());
+        when(rentalRepository.findAllWithItemByIdIn(anyCollection()))
+                .thenAnswer(inv -> inv.<Collection<Long>>getArgument(0).stream()
+                        .map(rentals::get).filter(r -> r != null).toList());
+        when(rentalRepository.findIntervals(anyCollection(), any(), any(), anyCollection()))
+                .thenAnswer(inv -> {
+                    Collection<Long> itemIds = inv.getArgument(0);
+                    LocalDateTime from = inv.getArgument(1);
+                    LocalDateTime to = inv.getArgument(2);
+                    Collection<RentalStatus> statuses = inv.getArgument(3);
+                    return rentals.values().stream()
+                            .filter(r -> itemIds.contains(r.getItem().getId()) && statuses.contains(r.getStatus())
+                                    && r.getStartDate().isBefore(to) && r.getEndDate().isAfter(from))
+                            .map(r -> new RentalInterval(r.getId(), r.getItem().getId(), r.getStartDate(), r.getEndDate()))
+                            .toList();
+                });
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenAnswer(inv -> {
+                    String sql = inv.getArgument(0);
+                    List<Object[]> args = inv.getArgument(1);
+                    boolean rentalUpdate = sql.startsWith("UPDATE rental_table");
+                    (rentalUpdate ? rentalBatches : itemBatches).add(args);
+
+                    int[] counts = new int[args.size()];
+                    Arrays.fill(counts, 1);
+                    if (rentalUpdate && conflictsLeft.getAndDecrement() > 0) {
+                        counts[counts.length - 1] = 0; // 다른 서버가 먼저 수정함
+                    }
+                    return counts;
+                });
+    }
+
+    @Test
+    void concurrentApprovalsOnOneServerHaveExactlyOneWinnerPerItem() throws Exception {
+        int itemCount = 50;
+        int rentalsPerItem = 8;
+        for (long itemId = 1; itemId <= itemCount; itemId++) {
+            ItemEntity item = createItem(itemId);
+            for (int i = 0; i < rentalsPerItem; i++) {
+                long rentalId = itemId * 1000 + i;
+                createRental(rentalId, item);
+            }
+        }
+
+        RentalService rentalService = newRentalService(new NoOpTransactionManager());
+        int total = itemCount * rentalsPerItem;
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (Long rentalId : rentals.keySet()) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    rentalService.handleDecision(rentalId, OWNER_ID, approve());
+                    approved.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        ready.countDown();
+        for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(approved.get()).isEqualTo(itemCount);
+        assertThat(rejected.get()).isEqualTo(total - itemCount);
+        for (ItemEntity item : items.values()) {
+            long winners = rentals.values().stream()
+                    .filter(r -> r.getItem() == item && r.getStatus() == RentalStatus.APPROVED)
+                    .count();
+            assertThat(winners).as("item %d", item.getId()).isEqualTo(1);
+            assertThat(item.getItemStatus()).isEqualTo(ItemStatus.RENTED);
+        }
+    }
+
+    @Test
+    void optimisticLockFailureOnCommitIsRetriedInNewTransaction() {
+        ItemEntity item = createItem(1L);
+        RentalEntity rental = createRental(10L, item);
+
+        // 커밋 시 버전 충돌 예외를 흉내: 처음 두 번은 실패 (변경 내용은 롤백)
+        FailingCommitTransactionManager txManager = new FailingCommitTransactionManager(2, rental, item);
+        RentalService rentalService = newRentalService(txManager);
+
+        rentalService.handleDecision(10L, OWNER_ID, approve());
+
+        assertThat(txManager.commits.get()).isEqualTo(3);
+        assertThat(rental.getStatus()).isEqualTo(RentalStatus.APPROVED);
+    }
+
+    @Test
+    void retriesAreBounded() {
+        ItemEntity item = createItem(1L);
+        RentalEntity rental = createRental(10L, item);
+
+        FailingCommitTransactionManager txManager = new FailingCommitTransactionManager(Integer.MAX_VALUE, rental, item);
+        RentalService rentalService = newRentalService(txManager);
+
+        assertThatThrownBy(() -> rentalService.handleDecision(10L, OWNER_ID, approve()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(txManager.commits.get()).isEqualTo(3);
+        assertThat(rental.getStatus()).isEqualTo(RentalStatus.WAITING);
+    }
+
+    @Test
+    void bulkOverlappingApprovalsInOneRequestApproveOnlyTheFirst() {
+        ItemEntity item = createItem(1L);
+        createRental(10L, item);
+        createRental(11L, item, START.plusDays(1), END.plusDays(1)); // 10 과 겹침
+        createRental(12L, item, END, END.plusDays(1));               // 10 바로 뒤 (겹치지 않음)
+        createRental(13L, item);                                     // 겹치지만 거절
+
+        List<RentalDecisionResultDto> results = newRentalService(new NoOpTransactionManager())
+                .handleBulkDecision(OWNER_ID, bulk(approve(10L), approve(11L), approve(12L), reject(13L)));
+
+        assertThat(results).extracting(RentalDecisionResultDto::getRentalId).containsExactly(10L, 11L, 12L, 13L);
+        assertThat(results).extracting(RentalDecisionResultDto::isSuccess).containsExactly(true, false, true, true);
+        assertThat(results).extracting(RentalDecisionResultDto::getStatus)
+                .containsExactly(RentalStatus.APPROVED, RentalStatus.WAITING, RentalStatus.APPROVED, RentalStatus.REJECTED);
+
+        assertThat(rentalBatches).hasSize(1);
+        assertThat(rentalBatches.get(0)).extracting(args -> args[4]).containsExactly(10L, 12L, 13L);
+        // 같은 상품은 한 번만 RENTED 로 변경
+        assertThat(itemBatches).hasSize(1);
+        assertThat(itemBatches.get(0)).extracting(args -> args[2]).containsExactly(1L);
+    }
+
+    @Test
+    void bulkApprovalOverlappingConfirmedRentalFailsWithoutFailingOthers() {
+        ItemEntity item = createItem(1L);
+        createRental(10L, item).setStatus(RentalStatus.PAID);
+        createRental(11L, item);
+        createRental(12L, createItem(2L));
+
+        List<RentalDecisionResultDto> results = newRentalService(new NoOpTransactionManager())
+                .handleBulkDecision(OWNER_ID, bulk(approve(11L), approve(12L), approve(99L)));
+
+        assertThat(results).extracting(RentalDecisionResultDto::isSuccess).containsExactly(false, true, false);
+        assertThat(results.get(2).getMessage()).isEqualTo("신청 정보 없음");
+        assertThat(rentalBatches.get(0)).extracting(args -> args[4]).containsExactly(12L);
+    }
+
+    @Test
+    void bulkVersionConflictRetriesWholeBatchInNewTransaction() {
+        ItemEntity item = createItem(1L);
+        createRental(10L, item);
+        createRental(11L, item, END, END.plusDays(1));
+        conflictsLeft.set(2);
+
+        List<RentalDecisionResultDto> results = newRentalService(new NoOpTransactionManager())
+                .handleBulkDecision(OWNER_ID, bulk(approve(10L), approve(11L)));
+
+        assertThat(results).allMatch(RentalDecisionResultDto::isSuccess);
+        // 처음 두 번은 rental UPDATE 에서 충돌 -> item UPDATE 까지 가지 않고 세 번째에 모두 반영
+        assertThat(rentalBatches).hasSize(3);
+        assertThat(itemBatches).hasSize(1);
+    }
+
+    @Test
+    void bulkVersionConflictRetriesAreBounded() {
+        createRental(10L, createItem(1L));
+        conflictsLeft.set(Integer.MAX_VALUE);
+        RentalService rentalService = newRentalService(new NoOpTransactionManager());
+
+        assertThatThrownBy(() -> rentalService.handleBulkDecision(OWNER_ID, bulk(approve(10L))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(rentalBatches).hasSize(3);
+        assertThat(itemBatches).isEmpty();
+    }
+
+    @Test
+    void bulkOverMaxDecisionsIsRejectedBeforeAnyQuery() {
+        RentalBulkDecisionDto.Decision[] decisions = LongStream.rangeClosed(1, 201)
+                .mapToObj(RentalDecisionLockingTest::approve)
+                .toArray(RentalBulkDecisionDto.Decision[]::new);
+        RentalService rentalService = newRentalService(new NoOpTransactionManager());
+
+        assertThatThrownBy(() -> rentalService.handleBulkDecision(OWNER_ID, bulk(decisions)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(rentalRepository);
+    }
+
+    @Test
+    void bulkMaxDecisionsAreWrittenInOneBatch() {
+        ItemEntity item = createItem(1L);
+        RentalBulkDecisionDto.Decision[] decisions = new RentalBulkDecisionDto.Decision[200];
+        for (int i = 0; i < 200; i++) {
+            long rentalId = 1000L + i;
+            createRental(rentalId, item, START.plusDays(i), START.plusDays(i + 1));
+            decisions[i] = approve(rentalId);
+        }
+
+        List<RentalDecisionResultDto> results = newRentalService(new NoOpTransactionManager())
+                .handleBulkDecision(OWNER_ID, bulk(decisions));
+
+        assertThat(results).hasSize(200).allMatch(RentalDecisionResultDto::isSuccess);
+        assertThat(rentalBatches).hasSize(1);
+        assertThat(rentalBatches.get(0)).hasSize(200);
+    }
+
+    @Test
+    void bulkDuplicateRentalIdsAreRejected() {
+        createRental(10L, createItem(1L));
+        RentalService rentalService = newRentalService(new NoOpTransactionManager());
+
+        assertThatThrownBy(() -> rentalService.handleBulkDecision(OWNER_ID, bulk(approve(10L), reject(10L))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(rentalRepository);
+    }
+
+    private RentalService newRentalService(PlatformTransactionManager transactionManager) {
+        return new RentalService(rentalRepository, itemRepository, mock(MemberRepository.class),
+                mock(ApplicationEventPublisher.class), new TransactionTemplate(transactionManager),
+                jdbcTemplate);
+    }
+
+    private ItemEntity createItem(Long itemId) {
+        MemberEntity owner = new MemberEntity();
+        owner.setId(OWNER_ID);
+        owner.setEmail("owner@test.com");
+        owner.setName("owner");
+
+        ItemEntity item = ItemEntity.builder()
+                .id(itemId)
+                .title("item-" + itemId)
+                .price(1000)
+                .itemStatus(ItemStatus.AVAILABLE)
+                .member(owner)
+                .build();
+        items.put(itemId, item);
+        return item;
+    }
+
+    private RentalEntity createRental(Long rentalId, ItemEntity item) {
+        return createRental(rentalId, item, START, END);
+    }
+
+    private RentalEntity createRental(Long rentalId, ItemEntity item, LocalDateTime start, LocalDateTime end) {
+        MemberEntity renter = new MemberEntity();
+        renter.setId(rentalId + 100_000);
+        renter.setName("renter-" + rentalId);
+
+        RentalEntity rental = RentalEntity.builder()
+                .id(rentalId)
+                .item(item)
+                .renter(renter)
+                .startDate(start)
+                .endDate(end)
+                .status(RentalStatus.WAITING)
+                .build();
+        rentals.put(rentalId, rental);
+        return rental;
+    }
+
+    private static RentalDecisionDto approve() {
+        RentalDecisionDto dto = new RentalDecisionDto();
+        dto.setApproved(true);
+        return dto;
+    }
+
+    private static RentalBulkDecisionDto bulk(RentalBulkDecisionDto.Decision... decisions) {
+        RentalBulkDecisionDto dto = new RentalBulkDecisionDto();
+        dto.setDecisions(List.of(decisions));
+        return dto;
+    }
+
+    private static RentalBulkDecisionDto.Decision approve(long rentalId) {
+        RentalBulkDecisionDto.Decision decision = new RentalBulkDecisionDto.Decision();
+        decision.setRentalId(rentalId);
+        decision.setApproved(true);
+        return decision;
+    }
+
+    private static RentalBulkDecisionDto.Decision reject(long rentalId) {
+        RentalBulkDecisionDto.Decision decision = new RentalBulkDecisionDto.Decision();
+        decision.setRentalId(rentalId);
+        decision.setRejectReason("기간 불가");
+        return decision;
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+    // 커밋 시 낙관적 락 충돌을 failures 번 발생시키고, 그때마다 메모리 상태를 원래대로 되돌림
+    private static class FailingCommitTransactionManager extends NoOpTransactionManager {
+        private final AtomicInteger failuresLeft;
+        private final AtomicInteger commits = new AtomicInteger();
+        private final RentalEntity rental;
+        private final ItemEntity item;
+
+        FailingCommitTransactionManager(int failures, RentalEntity rental, ItemEntity item) {
+            this.failuresLeft = new AtomicInteger(failures);
+            this.rental = rental;
+            this.item = item;
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                rental.setStatus(RentalStatus.WAITING);
+                item.setItemStatus(ItemStatus.AVAILABLE);
+                throw new ObjectOptimisticLockingFailureException(ItemEntity.class, item.getId());
+            }
+        }
+    }
+}
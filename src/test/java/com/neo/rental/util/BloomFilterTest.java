@@ -0,0 +1,56 @@
+package com.neo.rental.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+    private static final double FPP = 0.01;
+
+    @Test
+    void neverReportsAnAddedKeyAsMissing() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, FPP);
+        List<String> keys = randomKeys(INSERTIONS);
+        keys.forEach(filter::put);
+
+        assertThat(keys).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, FPP);
+        randomKeys(INSERTIONS).forEach(filter::put);
+
+        int probes = 100_000;
+        long falsePositives = randomKeys(probes).stream().filter(filter::mightContain).count();
+
+        // 1% 설정 -> 가득 채웠을 때 0.5% ~ 2% 안
+        assertThat((double) falsePositives / probes).isBetween(FPP / 2, FPP * 2);
+    }
+
+    @Test
+    void rebuiltFilterForgetsKeysLeftOut() {
+        // 재구성처럼 남은 키만으로 새 필터를 만들면 빠진 키는 (오탐 외에는) 없음으로 나옴
+        List<String> keys = randomKeys(INSERTIONS);
+        List<String> kept = keys.subList(0, INSERTIONS / 2);
+        List<String> dropped = keys.subList(INSERTIONS / 2, INSERTIONS);
+        BloomFilter rebuilt = new BloomFilter(INSERTIONS, FPP);
+        kept.forEach(rebuilt::put);
+
+        assertThat(kept).allMatch(rebuilt::mightContain);
+        long stillPresent = dropped.stream().filter(rebuilt::mightContain).count();
+        assertThat((double) stillPresent / dropped.size()).isLessThan(FPP * 2);
+    }
+
+    private static List<String> randomKeys(int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) keys.add(UUID.randomUUID().toString());
+        return keys;
+    }
+}
@@ -0,0 +1,60 @@
+package com.neo.rental.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final SlidingWindowLimiter limiter =
+            new SlidingWindowLimiter(3, Duration.ofSeconds(60), 4, 100, clock::get);
+
+    @Test
+    void rejectsAttemptsOverLimitWithRetryAfter() {
+        assertThat(limiter.tryAcquire("a")).isZero();
+        advance(Duration.ofSeconds(10));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        // 첫 시도가 window 를 벗어나기까지 50초 남음
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(50));
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void allowsAgainOnceOldestAttemptLeavesWindow() {
+        for (int i = 0; i < 3; i++) limiter.tryAcquire("a");
+        advance(Duration.ofSeconds(30));
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(30));
+
+        advance(Duration.ofSeconds(30));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        // 거절된 시도는 기록되지 않았으므로 나머지 두 자리도 바로 비어 있음
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isNotEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void resetClearsKey() {
+        for (int i = 0; i < 3; i++) limiter.tryAcquire("a");
+        limiter.reset("a");
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    void trackedKeysAreBounded() {
+        // 스트라이프 4개 x 25개 - 오래된 키는 버려지고 새 키는 계속 허용
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(limiter.tryAcquire("ip-" + i)).isZero();
+        }
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
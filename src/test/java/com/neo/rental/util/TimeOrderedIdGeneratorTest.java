@@ -0,0 +1,56 @@
+package com.neo.rental.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedIdGeneratorTest {
+
+    private final AtomicLong clock = new AtomicLong(1_800_000_000_000L);
+
+    @Test
+    void idsIncreaseEvenWhenSequenceOverflowsOrClockGoesBack() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3, clock::get);
+
+        long previous = generator.next();
+        for (int i = 0; i < 1000; i++) {
+            if (i == 500) clock.addAndGet(-10_000); // 시계가 10초 뒤로
+            long id = generator.next();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void idsFitInJavaScriptSafeIntegerAndCarryWorkerId() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_WORKER_ID, clock::get);
+
+        long id = generator.next();
+        assertThat(id).isLessThan(1L << 53);
+        assertThat(TimeOrderedIdGenerator.workerIdOf(id)).isEqualTo(TimeOrderedIdGenerator.MAX_WORKER_ID);
+    }
+
+    @Test
+    void differentWorkersNeverCollideInSameMillisecond() {
+        TimeOrderedIdGenerator first = new TimeOrderedIdGenerator(0, clock::get);
+        TimeOrderedIdGenerator second = new TimeOrderedIdGenerator(1, clock::get);
+
+        assertThat(first.next()).isNotEqualTo(second.next());
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_WORKER_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void maxIdAtBoundsEveryIdIssuedUpToThatTime() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_WORKER_ID, clock::get);
+        long id = 0;
+        for (int i = 0; i < 256; i++) id = generator.next();
+
+        assertThat(id).isLessThanOrEqualTo(TimeOrderedIdGenerator.maxIdAt(clock.get()));
+        assertThat(generator.next()).isGreaterThan(TimeOrderedIdGenerator.maxIdAt(clock.get())); // 다음 ms 를 빌려 씀
+        assertThat(TimeOrderedIdGenerator.maxIdAt(clock.get() + 1000)).isLessThan(Long.MAX_VALUE);
+    }
+}